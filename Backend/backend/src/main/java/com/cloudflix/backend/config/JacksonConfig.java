@@ -13,7 +13,6 @@ public class JacksonConfig {
     @Bean
     @Primary // Ensures this ObjectMapper is used by default by Spring MVC
     public ObjectMapper objectMapper() {
-    	System.out.println("****** JacksonConfig: Creating primary ObjectMapper bean! ******");
         ObjectMapper mapper = new ObjectMapper();
 
         // Register the JavaTimeModule to handle Java 8 Date & Time API types (LocalDateTime, LocalDate, etc.)
@@ -0,0 +1,29 @@
+// src/main/java/com/cloudflix/backend/config/MetricsConfig.java
+package com.cloudflix.backend.config;
+
+import com.cloudflix.backend.service.storage.CloudStorageService;
+import com.cloudflix.backend.service.storage.MeteredCloudStorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Static so the post-processor is registered before the storage beans it wraps are created;
+    // the registry is looked up lazily for the same reason.
+    @Bean
+    static BeanPostProcessor meteredStoragePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CloudStorageService storage && !(bean instanceof MeteredCloudStorageService)) {
+                    return new MeteredCloudStorageService(storage, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
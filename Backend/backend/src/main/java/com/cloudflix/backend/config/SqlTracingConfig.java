@@ -0,0 +1,54 @@
+// src/main/java/com/cloudflix/backend/config/SqlTracingConfig.java
+package com.cloudflix.backend.config;
+
+import com.cloudflix.backend.service.sqltrace.SqlTraceFilter;
+import com.cloudflix.backend.service.sqltrace.SqlTraceListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL tracing: the DataSource is wrapped in a datasource-proxy that reports every
+ * statement to {@link SqlTraceListener}, and {@link SqlTraceFilter} scopes the numbers to each request.
+ * Disable with sql.tracing.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTracingConfig {
+
+    @Bean
+    static BeanPostProcessor sqlTracingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlTraceListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<SqlTraceFilter> sqlTraceFilter(MeterRegistry meterRegistry,
+                                                          @Value("${sql.tracing.n-plus-one-threshold:10}") int nPlusOneThreshold,
+                                                          @Value("${sql.tracing.debug-header-enabled:false}") boolean debugHeaderEnabled) {
+        FilterRegistrationBean<SqlTraceFilter> registration =
+                new FilterRegistrationBean<>(new SqlTraceFilter(meterRegistry, nPlusOneThreshold, debugHeaderEnabled));
+        // Ahead of Spring Security, so the user lookup done while authenticating is counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
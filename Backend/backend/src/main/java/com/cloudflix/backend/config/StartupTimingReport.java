@@ -0,0 +1,64 @@
+// src/main/java/com/cloudflix/backend/config/StartupTimingReport.java
+package com.cloudflix.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Logs the slowest bean initializations once the application is ready, from the steps recorded by
+ * the BufferingApplicationStartup installed in BackendApplication.main. Durations include the beans
+ * each one pulled in. The full timeline is served by GET /actuator/startup (admin only).
+ */
+@Component
+public class StartupTimingReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimingReport.class);
+
+    private final ApplicationStartup applicationStartup;
+    private final int topBeans;
+
+    public StartupTimingReport(ApplicationStartup applicationStartup,
+                               @Value("${startup.report.top-beans:10}") int topBeans) {
+        this.applicationStartup = applicationStartup;
+        this.topBeans = topBeans;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logSlowestBeans(ApplicationReadyEvent event) {
+        if (topBeans <= 0 || !(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return; // e.g. started from a test or the load-test harness without a buffering startup
+        }
+        List<StartupTimeline.TimelineEvent> slowest = buffering.getBufferedTimeline().getEvents().stream()
+                .filter(e -> "spring.beans.instantiate".equals(e.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(topBeans)
+                .toList();
+        StringBuilder report = new StringBuilder("Started in ")
+                .append(event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1)
+                .append(" ms; slowest bean initializations:");
+        for (StartupTimeline.TimelineEvent e : slowest) {
+            report.append(String.format("%n  %6d ms  %s", e.getDuration().toMillis(), beanName(e.getStartupStep())));
+        }
+        logger.info(report.toString());
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
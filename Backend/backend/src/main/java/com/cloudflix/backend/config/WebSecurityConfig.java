@@ -4,6 +4,7 @@ package com.cloudflix.backend.config;
 import com.cloudflix.backend.security.jwt.AuthEntryPointJwt;
 import com.cloudflix.backend.security.jwt.AuthTokenFilter;
 import com.cloudflix.backend.security.services.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -67,7 +68,10 @@ public class WebSecurityConfig {
             .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth ->
-                auth.requestMatchers("/api/auth/**").permitAll()
+                // Async dispatches (streamed bodies) resume a request that was already authorized; the
+                // stateless JWT filter does not run again for them
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                    .requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/api/test/**").permitAll()
                     .requestMatchers("/api/test-msg").permitAll()
                     .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
@@ -77,6 +81,9 @@ public class WebSecurityConfig {
                     .requestMatchers(HttpMethod.GET, "/api/videos/{videoId}/comments").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/comments/{commentId}/replies").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/videos/{videoId}/ratings/summary").permitAll()
+                    // Scrape and probe endpoints; the rest of /actuator stays admin-only
+                    .requestMatchers(HttpMethod.GET, "/actuator/health/**", "/actuator/prometheus").permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
                     .anyRequest().authenticated()
             );
 
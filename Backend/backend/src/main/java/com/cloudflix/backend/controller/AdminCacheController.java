@@ -0,0 +1,32 @@
+// src/main/java/com/cloudflix/backend/controller/AdminCacheController.java
+package com.cloudflix.backend.controller;
+
+import com.cloudflix.backend.dto.response.CacheStatisticsResponse;
+import com.cloudflix.backend.dto.response.MessageResponse;
+import com.cloudflix.backend.service.CacheStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin/cache")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminCacheController {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    // Second-level and query cache hit/miss counters per region
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStatisticsResponse> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getStatistics());
+    }
+
+    @DeleteMapping("/stats")
+    public ResponseEntity<MessageResponse> resetCacheStatistics() {
+        cacheStatisticsService.resetStatistics();
+        return ResponseEntity.ok(new MessageResponse("Cache statistics reset."));
+    }
+}
@@ -5,16 +5,17 @@ import com.cloudflix.backend.dto.request.UserRoleUpdateRequest;
 import com.cloudflix.backend.dto.request.UserStatusUpdateRequest;
 import com.cloudflix.backend.dto.response.MessageResponse;
 import com.cloudflix.backend.dto.response.UserDetailsAdminResponse;
-import com.cloudflix.backend.dto.response.UserSummaryAdminResponse;
 import com.cloudflix.backend.service.AdminUserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -27,10 +28,12 @@ public class AdminUserController {
 
     // Get a paginated list of all users
     @GetMapping
-    public ResponseEntity<Page<UserSummaryAdminResponse>> getAllUsers(
-            @PageableDefault(size = 20, sort = "createdAt,desc") Pageable pageable) {
-        Page<UserSummaryAdminResponse> usersPage = adminUserService.getAllUsers(pageable);
-        return ResponseEntity.ok(usersPage);
+    public ResponseEntity<StreamingResponseBody> getAllUsers(
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        // Page-shaped JSON streamed from a cursor
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(adminUserService.getAllUsers(pageable));
     }
 
     // Get detailed information about a specific user
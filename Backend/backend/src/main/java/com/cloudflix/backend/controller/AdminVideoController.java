@@ -3,18 +3,28 @@ package com.cloudflix.backend.controller;
 
 import com.cloudflix.backend.dto.request.VideoMetadataRequest;
 import com.cloudflix.backend.dto.response.MessageResponse;
+import com.cloudflix.backend.dto.response.VideoImportJobResponse;
 import com.cloudflix.backend.dto.response.VideoResponse;
+import com.cloudflix.backend.entity.Video;
+import com.cloudflix.backend.security.services.UserDetailsImpl;
 import com.cloudflix.backend.service.VideoService;
+import com.cloudflix.backend.service.importer.VideoImportService;
+import com.cloudflix.backend.service.thumbnail.ThumbnailService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.data.domain.Sort;
 
+import java.io.IOException;
+
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/admin/videos") // Base path for admin video operations
@@ -24,12 +34,36 @@ public class AdminVideoController {
     @Autowired
     private VideoService videoService;
 
+    @Autowired
+    private VideoImportService videoImportService;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
     // Endpoint for Admins to List All Videos (any status)
     @GetMapping
-    public ResponseEntity<Page<VideoResponse>> getAllVideos(
+    public ResponseEntity<StreamingResponseBody> getAllVideos(
     		@PageableDefault(size = 20, sort = "uploadTimestamp", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<VideoResponse> videos = videoService.getAllVideosForAdmin(pageable);
-        return ResponseEntity.ok(videos);
+        // Same JSON shape as a Page, written as rows are read
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(videoService.getAllVideosForAdmin(pageable));
+    }
+
+    // Bulk import of already-uploaded objects from an NDJSON or CSV manifest (one record per line).
+    // The body is streamed to disk and imported in the background; poll the returned job for progress.
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<VideoImportJobResponse> importVideos(HttpServletRequest request,
+                                                               @RequestParam(defaultValue = "AVAILABLE") String status,
+                                                               @AuthenticationPrincipal UserDetailsImpl currentUser) throws IOException {
+        VideoImportJobResponse job = videoImportService.startImport(
+                request.getInputStream(), request.getContentType(), status, currentUser.getId());
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<VideoImportJobResponse> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(videoImportService.getJob(jobId));
     }
 
     // Endpoint for Admins to Change Video Status
@@ -56,6 +90,15 @@ public class AdminVideoController {
         return ResponseEntity.ok(updatedVideo);
     }
 
+    // Re-extracts the poster frame and rewrites every thumbnail size, e.g. for imported videos or after
+    // changing thumbnails.widths. Runs in the background.
+    @PostMapping("/{videoId}/thumbnails")
+    public ResponseEntity<MessageResponse> regenerateThumbnails(@PathVariable Long videoId) {
+        Video video = videoService.getVideoEntityById(videoId);
+        thumbnailService.generateAsync(videoId, video.getStorageObjectKey(), true);
+        return ResponseEntity.accepted().body(new MessageResponse("Thumbnail generation queued for video " + videoId + "."));
+    }
+
     // Note: Deletion might also move here, or stay in VideoController if owners can also delete.
     // If moving Video Deletion for Admins:
     /*
@@ -9,11 +9,14 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -40,16 +43,22 @@ public class CommentController {
     @GetMapping("/videos/{videoId}/comments")
     public ResponseEntity<Page<CommentResponse>> getCommentsForVideo(
             @PathVariable Long videoId,
-            @PageableDefault(size = 10, sort = "createdAt,desc") Pageable pageable) { // Default sort: newest first
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) { // Default sort: newest first
         Page<CommentResponse> commentsPage = commentService.getTopLevelCommentsByVideo(videoId, pageable);
         return ResponseEntity.ok(commentsPage);
     }
 
+    // Live feed of new comments for a video (Server-Sent Events), replaces polling the endpoint above
+    @GetMapping(value = "/videos/{videoId}/comments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCommentsForVideo(@PathVariable Long videoId) {
+        return commentService.subscribeToComments(videoId);
+    }
+
     // Get all replies for a specific parent comment (paginated)
     @GetMapping("/comments/{parentCommentId}/replies")
     public ResponseEntity<List<CommentResponse>> getRepliesForComment( // Consider Page<CommentResponse> if pagination is critical
             @PathVariable Long parentCommentId,
-            @PageableDefault(size = 5, sort = "createdAt,asc") Pageable pageable) { // Default sort: oldest first for replies
+            @PageableDefault(size = 5, sort = "createdAt", direction = Sort.Direction.ASC) Pageable pageable) { // Default sort: oldest first for replies
         List<CommentResponse> replies = commentService.getRepliesForComment(parentCommentId, pageable);
         return ResponseEntity.ok(replies);
     }
@@ -3,10 +3,13 @@ package com.cloudflix.backend.controller;
 
 import com.cloudflix.backend.dto.request.VideoMetadataRequest;
 import com.cloudflix.backend.dto.response.VideoResponse;
-import com.cloudflix.backend.service.storage.CloudStorageService;
+import com.cloudflix.backend.service.storage.ContentAddressedStorageService;
+import com.cloudflix.backend.service.thumbnail.ThumbnailService;
 import com.cloudflix.backend.service.VideoService;
 import com.cloudflix.backend.exception.StorageException;
 import com.fasterxml.jackson.databind.ObjectMapper; // Ensure this is still imported
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -23,17 +26,22 @@ import java.io.IOException;
 @RequestMapping("/api/upload")
 public class FileUploadController {
 
-    private final CloudStorageService cloudStorageService;
+    private static final Logger logger = LoggerFactory.getLogger(FileUploadController.class);
+
+    private final ContentAddressedStorageService contentAddressedStorageService;
     private final VideoService videoService;
+    private final ThumbnailService thumbnailService;
     private final ObjectMapper objectMapper; // Make sure this is autowired
 
     @Autowired
     public FileUploadController(
-            CloudStorageService cloudStorageService,
+            ContentAddressedStorageService contentAddressedStorageService,
             VideoService videoService,
+            ThumbnailService thumbnailService,
             ObjectMapper objectMapper) { // Ensure ObjectMapper is injected
-        this.cloudStorageService = cloudStorageService;
+        this.contentAddressedStorageService = contentAddressedStorageService;
         this.videoService = videoService;
+        this.thumbnailService = thumbnailService;
         this.objectMapper = objectMapper;
     }
 
@@ -43,12 +51,10 @@ public class FileUploadController {
             @RequestPart("videoFile") MultipartFile videoFile,
             @RequestPart("metadata") String metadataJsonString
     ) {
-        System.out.println("---- FileUploadController: inside uploadVideo (metadata as String) ----");
-        System.out.println("Received videoFile part: " + (videoFile != null ? videoFile.getOriginalFilename() : "null"));
-        System.out.println("Received metadataJsonString: " + metadataJsonString);
+        logger.debug("Upload received: file={}, metadata={}",
+                videoFile != null ? videoFile.getOriginalFilename() : null, metadataJsonString);
 
         if (videoFile == null || videoFile.isEmpty()) {
-            System.err.println("FileUploadController: Video file is empty.");
             return ResponseEntity.badRequest().body("Video file cannot be empty.");
         }
 
@@ -58,27 +64,35 @@ public class FileUploadController {
             metadataRequest = objectMapper.readValue(metadataJsonString, VideoMetadataRequest.class);
             // TODO: Manual validation of metadataRequest if needed using Validator
         } catch (IOException e) { // Catch JsonProcessingException more specifically if possible
-            System.err.println("FileUploadController: Failed to parse metadata JSON: " + e.getMessage());
+            logger.warn("Upload rejected, metadata is not valid JSON: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid metadata format: " + e.getMessage());
         }
 
         try {
-            String storedFileName = cloudStorageService.store(videoFile, metadataRequest.getTitle());
-            System.out.println("FileUploadController: File stored as: " + storedFileName);
+            String storedFileName = contentAddressedStorageService.store(videoFile);
 
-            VideoResponse videoResponse = videoService.createVideoMetadata(metadataRequest, storedFileName);
-            System.out.println("FileUploadController: Video metadata created successfully for ID: " + videoResponse.getId());
+            VideoResponse videoResponse;
+            try {
+                videoResponse = videoService.createVideoMetadata(metadataRequest, storedFileName);
+            } catch (RuntimeException e) {
+                // Give back the reference taken by store() so the object does not leak
+                contentAddressedStorageService.release(storedFileName);
+                throw e;
+            }
+            logger.info("Video {} uploaded ({} bytes) as {}", videoResponse.getId(), videoFile.getSize(), storedFileName);
+            // Poster frame and resized thumbnails are produced in the background; an uploader-supplied URL is kept
+            boolean noThumbnailGiven = metadataRequest.getThumbnailUrl() == null || metadataRequest.getThumbnailUrl().isBlank();
+            thumbnailService.generateAsync(videoResponse.getId(), storedFileName, noThumbnailGiven);
             return new ResponseEntity<>(videoResponse, HttpStatus.CREATED);
 
         } catch (IOException | StorageException e) {
-            System.err.println("FileUploadController: Failed to store video file: " + e.getMessage());
+            logger.error("Failed to store uploaded video file", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to store video file: " + e.getMessage());
         } catch (IllegalArgumentException e) {
-            System.err.println("FileUploadController: Illegal argument during upload: " + e.getMessage());
+            logger.warn("Upload rejected: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Illegal argument: " + e.getMessage());
         } catch (Exception e) {
-            System.err.println("FileUploadController: Unexpected error during upload: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Unexpected error during upload", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred during upload.");
         }
     }
@@ -0,0 +1,60 @@
+// src/main/java/com/cloudflix/backend/controller/HttpCaching.java
+package com.cloudflix.backend.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Conditional GET helpers for controllers that know their ETag before loading anything: check
+ * {@link #notModified} first and only build the body when it returns false.
+ */
+final class HttpCaching {
+
+    private HttpCaching() {}
+
+    /** True if If-None-Match lists the ETag (weak comparison, as RFC 9110 requires for GET) or is "*". */
+    static boolean notModified(String ifNoneMatch, String etag) {
+        return matches(ifNoneMatch, etag, true);
+    }
+
+    /**
+     * Like {@link #notModified}, but "*" does not match: for a single resource that may not exist, which
+     * only loading it would tell.
+     */
+    static boolean notModifiedExactly(String ifNoneMatch, String etag) {
+        return matches(ifNoneMatch, etag, false);
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag, boolean wildcard) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if ((wildcard && trimmed.equals("*")) || opaqueTag(trimmed).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> notModifiedResponse(String etag, String cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .build();
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String etag, String cacheControl) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .body(body);
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -5,9 +5,12 @@ import com.cloudflix.backend.dto.request.RatingRequest;
 import com.cloudflix.backend.dto.response.MessageResponse;
 import com.cloudflix.backend.dto.response.RatingResponse;
 import com.cloudflix.backend.dto.response.VideoRatingSummaryResponse;
+import com.cloudflix.backend.service.CatalogVersionService;
 import com.cloudflix.backend.service.RatingService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +26,12 @@ public class RatingController {
     @Autowired
     private RatingService ratingService;
 
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Value("${http.cache-control.rating-summary:public, no-cache}")
+    private String ratingSummaryCacheControl;
+
     // Add or Update a rating for a specific video
     // User must be authenticated to rate.
     @PutMapping("/videos/{videoId}/ratings") // Using PUT as it's often an update or create-if-not-exists
@@ -46,9 +55,15 @@ public class RatingController {
 
     // Get the average rating and count for a specific video (publicly accessible)
     @GetMapping("/videos/{videoId}/ratings/summary")
-    public ResponseEntity<VideoRatingSummaryResponse> getVideoRatingSummary(@PathVariable Long videoId) {
+    public ResponseEntity<VideoRatingSummaryResponse> getVideoRatingSummary(@PathVariable Long videoId,
+                                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // The videos version covers the video being deleted, which turns the summary into a 404
+        String etag = catalogVersionService.etag(CatalogVersionService.ratingsKey(videoId), CatalogVersionService.VIDEOS);
+        if (HttpCaching.notModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModifiedResponse(etag, ratingSummaryCacheControl);
+        }
         VideoRatingSummaryResponse summaryResponse = ratingService.getVideoRatingSummary(videoId);
-        return ResponseEntity.ok(summaryResponse);
+        return HttpCaching.ok(summaryResponse, etag, ratingSummaryCacheControl);
     }
 
     // Delete the current authenticated user's rating for a specific video
@@ -3,10 +3,19 @@ package com.cloudflix.backend.controller;
 
 import com.cloudflix.backend.dto.request.VideoMetadataRequest;
 import com.cloudflix.backend.dto.response.MessageResponse;
+import com.cloudflix.backend.dto.response.SimilarVideoResponse;
+import com.cloudflix.backend.dto.response.TrendingVideoResponse;
 import com.cloudflix.backend.dto.response.VideoResponse;
 import com.cloudflix.backend.exception.ResourceNotFoundException;
+import com.cloudflix.backend.repository.projection.VideoField;
 // import com.cloudflix.backend.entity.Video; // No longer directly used here for streaming logic
+import com.cloudflix.backend.service.CatalogVersionService;
 import com.cloudflix.backend.service.VideoService;
+import com.cloudflix.backend.service.ViewCountRecorder;
+import com.cloudflix.backend.service.thumbnail.Thumbnail;
+import com.cloudflix.backend.service.thumbnail.ThumbnailService;
+import com.cloudflix.backend.service.trending.TrendingService;
+import org.springframework.beans.factory.annotation.Value;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;         // Keep for other potential uses if any
@@ -15,18 +24,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;         // <<< ADD THIS IMPORT
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;        // <<< ADD THIS IMPORT
 import org.springframework.http.HttpStatus;
-// import org.springframework.http.MediaType; // No longer directly used here for streaming
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 // import java.io.IOException; // No longer directly used here
 // import java.net.MalformedURLException; // No longer directly used here
 // import java.nio.file.Files; // No longer directly used here
 // import java.nio.file.Path; // No longer directly used here
 // import java.nio.file.Paths; // No longer directly used here
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -36,6 +49,31 @@ public class VideoController {
     @Autowired
     private VideoService videoService;
 
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private ViewCountRecorder viewCountRecorder;
+
+    // Cache-Control per endpoint; with no-cache clients revalidate every time, which costs a 304 at most
+    @Value("${http.cache-control.catalog:public, no-cache}")
+    private String catalogCacheControl;
+
+    @Value("${http.cache-control.genres:public, max-age=300}")
+    private String genresCacheControl;
+
+    @Value("${http.cache-control.trending:public, max-age=10}")
+    private String trendingCacheControl;
+
+    @Value("${thumbnails.http-cache-max-age:7d}")
+    private Duration thumbnailMaxAge;
+
     // REMOVE THIS - Path logic is now in LocalStorageServiceImpl via CloudStorageService
     // private final Path videoStorageLocation = Paths.get("uploads/videos").toAbsolutePath().normalize();
 
@@ -79,48 +117,138 @@ public class VideoController {
         return ResponseEntity.ok(updatedVideo);
     }
 
+    // Listings accept ?fields=id,title,thumbnailUrl (any VideoResponse properties) or ?view=card|full;
+    // a sparse listing reads only the matching columns and returns only those properties per item
     @GetMapping
-    public ResponseEntity<Page<VideoResponse>> getAllAvailableVideos(
+    public ResponseEntity<Page<?>> getAllAvailableVideos(
             // Corrected @PageableDefault
-            @PageableDefault(size = 20, sort = "uploadTimestamp", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<VideoResponse> videos = videoService.getAllAvailableVideos(pageable);
-        return ResponseEntity.ok(videos);
+            @PageableDefault(size = 20, sort = "uploadTimestamp", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<VideoField> selected = selectedFields(fields, view);
+        String etag = catalogVersionService.etag(CatalogVersionService.VIDEOS);
+        if (HttpCaching.notModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModifiedResponse(etag, catalogCacheControl);
+        }
+        Page<?> videos = selected == null
+                ? videoService.getAllAvailableVideos(pageable)
+                : videoService.getAvailableVideoFields(selected, null, null, null, pageable);
+        return HttpCaching.ok(videos, etag, catalogCacheControl);
     }
 
     @GetMapping("/{videoId}")
-    public ResponseEntity<VideoResponse> getAvailableVideoById(@PathVariable Long videoId) {
+    public ResponseEntity<VideoResponse> getAvailableVideoById(@PathVariable Long videoId,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Per video, so a tag only matches for the id it was served for, while that video was available:
+        // status changes and deletions bump the catalog version
+        String etag = "W/\"videos-" + catalogVersionService.current(CatalogVersionService.VIDEOS) + ".video-" + videoId + "\"";
+        if (HttpCaching.notModifiedExactly(ifNoneMatch, etag)) {
+            viewCountRecorder.recordLater(videoId); // still a view, counted off the request thread
+            return HttpCaching.notModifiedResponse(etag, catalogCacheControl);
+        }
         VideoResponse video = videoService.getAvailableVideoById(videoId);
         videoService.incrementViewCount(videoId); // Increment view count
-        return ResponseEntity.ok(video);
+        return HttpCaching.ok(video, etag, catalogCacheControl);
+    }
+
+    // "More like this": videos watched or rated highly by the same users, best match first. The ETag
+    // follows both the catalog and the recommendation table, which is recomputed in the background.
+    @GetMapping("/{videoId}/similar")
+    public ResponseEntity<List<SimilarVideoResponse>> getSimilarVideos(@PathVariable Long videoId,
+                                                                       @RequestParam(defaultValue = "10") int limit,
+                                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be at least 1");
+        }
+        String etag = "W/\"videos-" + catalogVersionService.current(CatalogVersionService.VIDEOS)
+                + ".similar-" + videoService.getSimilarVideosGeneration() + "\"";
+        if (HttpCaching.notModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModifiedResponse(etag, catalogCacheControl);
+        }
+        return HttpCaching.ok(videoService.getSimilarVideos(videoId, limit), etag, catalogCacheControl);
+    }
+
+    // Ranked from in-memory counters refreshed in the background, so this never queries the database; the
+    // short max-age stands in for an ETag.
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingVideoResponse>> getTrendingVideos(@RequestParam(required = false) String genre,
+                                                                         @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be at least 1");
+        }
+        List<TrendingVideoResponse> videos = trendingService.getTrending(genre, Math.min(limit, trendingService.getTopK()));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, trendingCacheControl)
+                .body(videos);
     }
 
     @GetMapping("/genre/{genreName}")
-    public ResponseEntity<Page<VideoResponse>> getAvailableVideosByGenre(@PathVariable String genreName,
-                                                                       @PageableDefault(size = 20) Pageable pageable) {
-        Page<VideoResponse> videos = videoService.getAvailableVideosByGenre(genreName, pageable);
-        return ResponseEntity.ok(videos);
+    public ResponseEntity<Page<?>> getAvailableVideosByGenre(@PathVariable String genreName,
+                                                           @PageableDefault(size = 20) Pageable pageable,
+                                                           @RequestParam(required = false) String fields,
+                                                           @RequestParam(required = false) String view,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<VideoField> selected = selectedFields(fields, view);
+        String etag = catalogVersionService.etag(CatalogVersionService.VIDEOS);
+        if (HttpCaching.notModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModifiedResponse(etag, catalogCacheControl);
+        }
+        Page<?> videos = selected == null
+                ? videoService.getAvailableVideosByGenre(genreName, pageable)
+                : videoService.getAvailableVideoFields(selected, genreName, null, null, pageable);
+        return HttpCaching.ok(videos, etag, catalogCacheControl);
     }
 
     @GetMapping("/tag/{tagName}")
-    public ResponseEntity<Page<VideoResponse>> getAvailableVideosByTag(@PathVariable String tagName,
-                                                                     @PageableDefault(size = 20) Pageable pageable) {
-        Page<VideoResponse> videos = videoService.getAvailableVideosByTag(tagName, pageable);
-        return ResponseEntity.ok(videos);
+    public ResponseEntity<Page<?>> getAvailableVideosByTag(@PathVariable String tagName,
+                                                         @PageableDefault(size = 20) Pageable pageable,
+                                                         @RequestParam(required = false) String fields,
+                                                         @RequestParam(required = false) String view,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<VideoField> selected = selectedFields(fields, view);
+        String etag = catalogVersionService.etag(CatalogVersionService.VIDEOS);
+        if (HttpCaching.notModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModifiedResponse(etag, catalogCacheControl);
+        }
+        Page<?> videos = selected == null
+                ? videoService.getAvailableVideosByTag(tagName, pageable)
+                : videoService.getAvailableVideoFields(selected, null, tagName, null, pageable);
+        return HttpCaching.ok(videos, etag, catalogCacheControl);
     }
 
     @GetMapping("/genres")
-    public ResponseEntity<List<String>> getDistinctAvailableGenres() {
+    public ResponseEntity<List<String>> getDistinctAvailableGenres(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = catalogVersionService.etag(CatalogVersionService.VIDEOS);
+        if (HttpCaching.notModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModifiedResponse(etag, genresCacheControl);
+        }
         List<String> genres = videoService.getDistinctAvailableGenres();
-        return ResponseEntity.ok(genres);
+        return HttpCaching.ok(genres, etag, genresCacheControl);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<VideoResponse>> searchAvailableVideosByTitle(@RequestParam String title,
-                                                                          @PageableDefault(size = 20) Pageable pageable) {
-        Page<VideoResponse> videos = videoService.searchAvailableVideosByTitle(title, pageable);
+    public ResponseEntity<Page<?>> searchAvailableVideosByTitle(@RequestParam String title,
+                                                              @PageableDefault(size = 20) Pageable pageable,
+                                                              @RequestParam(required = false) String fields,
+                                                              @RequestParam(required = false) String view) {
+        Set<VideoField> selected = selectedFields(fields, view);
+        Page<?> videos = selected == null
+                ? videoService.searchAvailableVideosByTitle(title, pageable)
+                : videoService.getAvailableVideoFields(selected, null, null, title, pageable);
         return ResponseEntity.ok(videos);
     }
 
+    // null selects the full VideoResponse
+    private static Set<VideoField> selectedFields(String fields, String view) {
+        try {
+            return VideoField.select(fields, view);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{videoId}")
     //@PreAuthorize("hasRole('ADMIN') or @videoService.getVideoEntityById(#videoId).uploader.id == principal.id")
     public ResponseEntity<MessageResponse> deleteVideo(@PathVariable Long videoId) {
@@ -160,6 +288,21 @@ public class VideoController {
         }
     }
 
+    // Resized poster frame, e.g. /api/videos/42/thumbnail?w=320. Served from the thumbnail cache without a
+    // database lookup; If-None-Match against the ETag is answered with 304 by Spring's ResponseEntity handling.
+    @GetMapping("/{videoId}/thumbnail")
+    public ResponseEntity<byte[]> getThumbnail(@PathVariable Long videoId,
+                                               @RequestParam(name = "w", required = false) Integer width,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Thumbnail thumbnail = thumbnailService.load(videoId, width, accept);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(thumbnail.getContentType()))
+                .cacheControl(CacheControl.maxAge(thumbnailMaxAge).cachePublic())
+                .eTag(thumbnail.getEtag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(thumbnail.getBytes());
+    }
+
     // Your existing @GetMapping("/stream/{videoId}") that returns ResponseEntity<ResourceRegion>
     // will now PRIMARILY serve local files when the "local" profile is active,
     // or if you decide to stream S3 through your backend (less ideal).
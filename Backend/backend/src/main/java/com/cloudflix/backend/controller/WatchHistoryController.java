@@ -4,17 +4,21 @@ package com.cloudflix.backend.controller;
 import com.cloudflix.backend.dto.request.WatchHistoryRequest;
 import com.cloudflix.backend.dto.response.MessageResponse;
 import com.cloudflix.backend.dto.response.WatchHistoryResponse;
+import com.cloudflix.backend.service.ContinueWatchingIndex;
 import com.cloudflix.backend.service.WatchHistoryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Optional;
 
 @CrossOrigin(origins = "*", maxAge = 3600) // Or configure globally
@@ -26,6 +30,9 @@ public class WatchHistoryController {
     @Autowired
     private WatchHistoryService watchHistoryService;
 
+    @Autowired
+    private ContinueWatchingIndex continueWatchingIndex;
+
     // Endpoint to record or update watch progress for a specific video
     // Using PUT as it's idempotent for updating an existing resource or creating if not present.
     // Alternatively, POST could be used if you always treat it as "adding" an interaction.
@@ -40,11 +47,23 @@ public class WatchHistoryController {
     // Endpoint to get the current authenticated user's watch history (paginated)
     @GetMapping("/user")
     public ResponseEntity<Page<WatchHistoryResponse>> getCurrentUserWatchHistory(
-            @PageableDefault(size = 20, sort = "watchedAt,desc") Pageable pageable) {
+            @PageableDefault(size = 20, sort = "watchedAt", direction = Sort.Direction.DESC) Pageable pageable) {
         Page<WatchHistoryResponse> historyPage = watchHistoryService.getUserWatchHistory(pageable);
         return ResponseEntity.ok(historyPage);
     }
 
+    // "Continue watching" rail: unfinished videos, most recently watched first, ready to render as cards
+    @GetMapping("/continue-watching")
+    public ResponseEntity<List<WatchHistoryResponse>> getContinueWatching(
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be at least 1");
+        }
+        // The rail never holds more than history.continue-watching.rail-size entries
+        int effectiveLimit = Math.min(limit, continueWatchingIndex.getRailSize());
+        return ResponseEntity.ok(watchHistoryService.getContinueWatching(effectiveLimit));
+    }
+
     // Endpoint to get the watch progress for a specific video for the current user
     @GetMapping("/video/{videoId}/progress")
     public ResponseEntity<WatchHistoryResponse> getWatchProgressForVideo(@PathVariable Long videoId) {
@@ -0,0 +1,22 @@
+// src/main/java/com/cloudflix/backend/dto/request/VideoImportRecord.java
+package com.cloudflix.backend.dto.request;
+
+import java.util.Set;
+
+// One line of a bulk import manifest: the usual video metadata plus the key of an object
+// that has already been uploaded to the active storage backend.
+public class VideoImportRecord extends VideoMetadataRequest {
+
+    private String storageKey;
+
+    public VideoImportRecord() {}
+
+    public VideoImportRecord(String storageKey, String title, String description, Integer durationSeconds,
+                             String genre, String thumbnailUrl, Set<String> tags) {
+        super(title, description, durationSeconds, genre, thumbnailUrl, tags);
+        this.storageKey = storageKey;
+    }
+
+    public String getStorageKey() { return storageKey; }
+    public void setStorageKey(String storageKey) { this.storageKey = storageKey; }
+}
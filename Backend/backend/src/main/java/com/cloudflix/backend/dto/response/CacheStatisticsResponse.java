@@ -0,0 +1,80 @@
+// src/main/java/com/cloudflix/backend/dto/response/CacheStatisticsResponse.java
+package com.cloudflix.backend.dto.response;
+
+import java.util.List;
+
+// Hibernate second-level / query cache counters since startup (or the last reset)
+public class CacheStatisticsResponse {
+
+    private long secondLevelHitCount;
+    private long secondLevelMissCount;
+    private long secondLevelPutCount;
+    private long queryCacheHitCount;
+    private long queryCacheMissCount;
+    private long queryCachePutCount;
+    private long queryExecutionCount; // Queries that actually went to the database
+    private List<RegionStats> regions;
+
+    public CacheStatisticsResponse() {}
+
+    public CacheStatisticsResponse(long secondLevelHitCount, long secondLevelMissCount, long secondLevelPutCount,
+                                   long queryCacheHitCount, long queryCacheMissCount, long queryCachePutCount,
+                                   long queryExecutionCount, List<RegionStats> regions) {
+        this.secondLevelHitCount = secondLevelHitCount;
+        this.secondLevelMissCount = secondLevelMissCount;
+        this.secondLevelPutCount = secondLevelPutCount;
+        this.queryCacheHitCount = queryCacheHitCount;
+        this.queryCacheMissCount = queryCacheMissCount;
+        this.queryCachePutCount = queryCachePutCount;
+        this.queryExecutionCount = queryExecutionCount;
+        this.regions = regions;
+    }
+
+    public long getSecondLevelHitCount() { return secondLevelHitCount; }
+    public long getSecondLevelMissCount() { return secondLevelMissCount; }
+    public long getSecondLevelPutCount() { return secondLevelPutCount; }
+    public long getQueryCacheHitCount() { return queryCacheHitCount; }
+    public long getQueryCacheMissCount() { return queryCacheMissCount; }
+    public long getQueryCachePutCount() { return queryCachePutCount; }
+    public long getQueryExecutionCount() { return queryExecutionCount; }
+    public List<RegionStats> getRegions() { return regions; }
+
+    public void setSecondLevelHitCount(long secondLevelHitCount) { this.secondLevelHitCount = secondLevelHitCount; }
+    public void setSecondLevelMissCount(long secondLevelMissCount) { this.secondLevelMissCount = secondLevelMissCount; }
+    public void setSecondLevelPutCount(long secondLevelPutCount) { this.secondLevelPutCount = secondLevelPutCount; }
+    public void setQueryCacheHitCount(long queryCacheHitCount) { this.queryCacheHitCount = queryCacheHitCount; }
+    public void setQueryCacheMissCount(long queryCacheMissCount) { this.queryCacheMissCount = queryCacheMissCount; }
+    public void setQueryCachePutCount(long queryCachePutCount) { this.queryCachePutCount = queryCachePutCount; }
+    public void setQueryExecutionCount(long queryExecutionCount) { this.queryExecutionCount = queryExecutionCount; }
+    public void setRegions(List<RegionStats> regions) { this.regions = regions; }
+
+    public static class RegionStats {
+        private String region;
+        private long hitCount;
+        private long missCount;
+        private long putCount;
+        private long elementCountInMemory; // -1 when the provider does not report it
+
+        public RegionStats() {}
+
+        public RegionStats(String region, long hitCount, long missCount, long putCount, long elementCountInMemory) {
+            this.region = region;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.putCount = putCount;
+            this.elementCountInMemory = elementCountInMemory;
+        }
+
+        public String getRegion() { return region; }
+        public long getHitCount() { return hitCount; }
+        public long getMissCount() { return missCount; }
+        public long getPutCount() { return putCount; }
+        public long getElementCountInMemory() { return elementCountInMemory; }
+
+        public void setRegion(String region) { this.region = region; }
+        public void setHitCount(long hitCount) { this.hitCount = hitCount; }
+        public void setMissCount(long missCount) { this.missCount = missCount; }
+        public void setPutCount(long putCount) { this.putCount = putCount; }
+        public void setElementCountInMemory(long elementCountInMemory) { this.elementCountInMemory = elementCountInMemory; }
+    }
+}
@@ -3,9 +3,11 @@ package com.cloudflix.backend.dto.response;
 
 import com.cloudflix.backend.entity.Comment;
 import com.cloudflix.backend.entity.User; // Needed for UserInfo
+import com.cloudflix.backend.repository.projection.UserSummaryView;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -39,20 +41,24 @@ public class CommentResponse {
 
     // Static factory method
     public static CommentResponse fromEntity(Comment comment, boolean includeReplies, int maxRepliesToInclude) {
+        return fromEntity(comment, includeReplies, maxRepliesToInclude, null);
+    }
+
+    // 'authors' maps user id -> author info resolved up front for a whole page (comments and included replies).
+    // Authors missing from the map (or a null map) fall back to the comment's User entity.
+    public static CommentResponse fromEntity(Comment comment, boolean includeReplies, int maxRepliesToInclude,
+                                             Map<Long, UserInfoResponse> authors) {
         if (comment == null) {
             return null;
         }
 
         UserInfoResponse authorInfo = null;
-        if (comment.getUser() != null) {
-            authorInfo = new UserInfoResponse(
-                    comment.getUser().getId(),
-                    // Display name preference: firstName, or email prefix if firstName is null
-                    comment.getUser().getFirstName() != null && !comment.getUser().getFirstName().isEmpty()
-                            ? comment.getUser().getFirstName()
-                            : (comment.getUser().getEmail() != null ? comment.getUser().getEmail().split("@")[0] : "User"),
-                    null // Placeholder for avatar URL if you add it later
-            );
+        User author = comment.getUser();
+        if (author != null) {
+            authorInfo = authors != null ? authors.get(author.getId()) : null;
+            if (authorInfo == null) {
+                authorInfo = UserInfoResponse.of(author.getId(), author.getFirstName(), author.getEmail());
+            }
         }
 
         Long parentId = (comment.getParentComment() != null) ? comment.getParentComment().getId() : null;
@@ -62,7 +68,7 @@ public class CommentResponse {
             replyDtos = comment.getReplies().stream()
                                .sorted((r1, r2) -> r1.getCreatedAt().compareTo(r2.getCreatedAt())) // Oldest replies first
                                .limit(maxRepliesToInclude) // Limit number of included replies
-                               .map(reply -> CommentResponse.fromEntity(reply, false, 0)) // Don't include nested replies for initial load
+                               .map(reply -> CommentResponse.fromEntity(reply, false, 0, authors)) // Don't include nested replies for initial load
                                .collect(Collectors.toList());
         }
 
@@ -121,6 +127,18 @@ public class CommentResponse {
             this.avatarUrl = avatarUrl;
         }
 
+        public static UserInfoResponse of(Long id, String firstName, String email) {
+            // Display name preference: firstName, or email prefix if firstName is null
+            String displayName = firstName != null && !firstName.isEmpty()
+                    ? firstName
+                    : (email != null ? email.split("@")[0] : "User");
+            return new UserInfoResponse(id, displayName, null); // Placeholder for avatar URL if you add it later
+        }
+
+        public static UserInfoResponse from(UserSummaryView user) {
+            return of(user.getId(), user.getFirstName(), user.getEmail());
+        }
+
         public Long getId() { return id; }
         public void setId(Long id) { this.id = id; }
         public String getDisplayName() { return displayName; }
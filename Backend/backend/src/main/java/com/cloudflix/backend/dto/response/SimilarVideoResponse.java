@@ -0,0 +1,49 @@
+// src/main/java/com/cloudflix/backend/dto/response/SimilarVideoResponse.java
+package com.cloudflix.backend.dto.response;
+
+import com.cloudflix.backend.repository.projection.VideoCardView;
+
+// One entry of GET /api/videos/{videoId}/similar: the video's card fields and how similar it is (0..1)
+public class SimilarVideoResponse {
+
+    private Long id;
+    private String title;
+    private String thumbnailUrl;
+    private Integer durationSeconds;
+    private String genre;
+    private double score;
+
+    public SimilarVideoResponse() {}
+
+    public SimilarVideoResponse(Long id, String title, String thumbnailUrl, Integer durationSeconds, String genre, double score) {
+        this.id = id;
+        this.title = title;
+        this.thumbnailUrl = thumbnailUrl;
+        this.durationSeconds = durationSeconds;
+        this.genre = genre;
+        this.score = score;
+    }
+
+    public static SimilarVideoResponse fromCardView(VideoCardView card, double score) {
+        return new SimilarVideoResponse(card.getId(), card.getTitle(), card.getThumbnailUrl(),
+                card.getDurationSeconds(), card.getGenre(), score);
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
+    public Integer getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(Integer durationSeconds) { this.durationSeconds = durationSeconds; }
+
+    public String getGenre() { return genre; }
+    public void setGenre(String genre) { this.genre = genre; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
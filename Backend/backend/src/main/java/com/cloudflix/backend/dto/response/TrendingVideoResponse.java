@@ -0,0 +1,42 @@
+// src/main/java/com/cloudflix/backend/dto/response/TrendingVideoResponse.java
+package com.cloudflix.backend.dto.response;
+
+// One entry of GET /api/videos/trending: the video's card fields and its decayed activity score
+public class TrendingVideoResponse {
+
+    private Long id;
+    private String title;
+    private String thumbnailUrl;
+    private Integer durationSeconds;
+    private String genre;
+    private double score;
+
+    public TrendingVideoResponse() {}
+
+    public TrendingVideoResponse(Long id, String title, String thumbnailUrl, Integer durationSeconds, String genre, double score) {
+        this.id = id;
+        this.title = title;
+        this.thumbnailUrl = thumbnailUrl;
+        this.durationSeconds = durationSeconds;
+        this.genre = genre;
+        this.score = score;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
+    public Integer getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(Integer durationSeconds) { this.durationSeconds = durationSeconds; }
+
+    public String getGenre() { return genre; }
+    public void setGenre(String genre) { this.genre = genre; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
@@ -0,0 +1,56 @@
+// src/main/java/com/cloudflix/backend/dto/response/VideoImportJobResponse.java
+package com.cloudflix.backend.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class VideoImportJobResponse {
+
+    private String jobId;
+    private String status; // RUNNING, COMPLETED, FAILED
+    private long recordsRead;
+    private long inserted;
+    private long skippedExisting;
+    private long rejected;
+    private List<String> errors; // First few rejected records / failure reasons
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    // --- Constructors ---
+    public VideoImportJobResponse() {}
+
+    public VideoImportJobResponse(String jobId, String status, long recordsRead, long inserted, long skippedExisting,
+                                  long rejected, List<String> errors, LocalDateTime startedAt, LocalDateTime finishedAt) {
+        this.jobId = jobId;
+        this.status = status;
+        this.recordsRead = recordsRead;
+        this.inserted = inserted;
+        this.skippedExisting = skippedExisting;
+        this.rejected = rejected;
+        this.errors = errors;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    // --- Getters ---
+    public String getJobId() { return jobId; }
+    public String getStatus() { return status; }
+    public long getRecordsRead() { return recordsRead; }
+    public long getInserted() { return inserted; }
+    public long getSkippedExisting() { return skippedExisting; }
+    public long getRejected() { return rejected; }
+    public List<String> getErrors() { return errors; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+
+    // --- Setters ---
+    public void setJobId(String jobId) { this.jobId = jobId; }
+    public void setStatus(String status) { this.status = status; }
+    public void setRecordsRead(long recordsRead) { this.recordsRead = recordsRead; }
+    public void setInserted(long inserted) { this.inserted = inserted; }
+    public void setSkippedExisting(long skippedExisting) { this.skippedExisting = skippedExisting; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -12,6 +12,7 @@ import java.util.stream.Collectors;
 import com.cloudflix.backend.entity.Video;
 import com.cloudflix.backend.entity.Tag;
 import com.cloudflix.backend.entity.User; // Make sure User is imported if using uploader directly
+import com.cloudflix.backend.repository.projection.UserSummaryView;
 
 @Data
 @NoArgsConstructor
@@ -64,6 +65,10 @@ public class VideoResponse {
               this.name = name;
           }
 
+          public static UploaderInfo from(UserSummaryView user) {
+              return user == null ? null : new UploaderInfo(user.getId(), user.getFirstName());
+          }
+
           // Manual Getters and Setters for UploaderInfo
           public Long getId() { return id; }
           public void setId(Long id) { this.id = id; }
@@ -78,10 +83,6 @@ public class VideoResponse {
             return null;
         }
 
-        Set<String> tagNames = video.getTags().stream()
-                                   .map(Tag::getName)
-                                   .collect(Collectors.toSet());
-
         UploaderInfo uploaderInfo = null;
         User videoUploader = video.getUploader();
         if (videoUploader != null) {
@@ -90,6 +91,19 @@ public class VideoResponse {
                 videoUploader.getFirstName()
             );
         }
+        return fromEntity(video, uploaderInfo);
+    }
+
+    // For listings: the caller resolves uploaders for the whole page up front (see UserRepository.findSummariesByIdIn),
+    // so the lazy uploader proxy is never initialized here.
+    public static VideoResponse fromEntity(Video video, UploaderInfo uploaderInfo) {
+        if (video == null) {
+            return null;
+        }
+
+        Set<String> tagNames = video.getTags().stream()
+                                   .map(Tag::getName)
+                                   .collect(Collectors.toSet());
 
         // This constructor is automatically generated by @AllArgsConstructor
         return new VideoResponse(
@@ -127,6 +127,15 @@ public class WatchHistoryResponse {
             );
         }
 
+        // Factory method for the card columns selected by VideoRepository.findAvailableCardsByIdIn
+        public static VideoSummaryResponse fromCardView(com.cloudflix.backend.repository.projection.VideoCardView card) {
+            if (card == null) {
+                return null;
+            }
+            return new VideoSummaryResponse(card.getId(), card.getTitle(), card.getThumbnailUrl(),
+                    card.getDurationSeconds(), card.getGenre());
+        }
+
         // --- Getters for VideoSummaryResponse ---
         public Long getId() { return id; }
         public String getTitle() { return title; }
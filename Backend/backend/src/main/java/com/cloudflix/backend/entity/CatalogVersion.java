@@ -0,0 +1,31 @@
+// src/main/java/com/cloudflix/backend/entity/CatalogVersion.java
+package com.cloudflix.backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Change counter behind the catalog ETags (see CatalogVersionService). Rows are created on first
+ * change and bumped with a plain UPDATE in the same transaction as the change they describe.
+ */
+@Entity
+@Table(name = "catalog_versions")
+public class CatalogVersion {
+
+    @Id
+    @Column(name = "version_key", length = 64)
+    private String versionKey;
+
+    @Column(nullable = false)
+    private long version;
+
+    public CatalogVersion() {
+    }
+
+    public String getVersionKey() {
+        return versionKey;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,71 @@
+// src/main/java/com/cloudflix/backend/entity/ContentBlob.java
+package com.cloudflix.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored object in content-addressed storage. refCount is the number of videos whose
+ * storageObjectKey points at storageKey; the object is garbage-collected when it drops to zero.
+ */
+@Entity
+@Table(name = "content_blobs",
+       indexes = @Index(name = "idx_content_blobs_storage_key", columnList = "storage_key"))
+public class ContentBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64, columnDefinition = "CHAR(64)")
+    private String sha256;
+
+    @Column(name = "storage_key", nullable = false, length = 512)
+    private String storageKey;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public ContentBlob() {
+    }
+
+    public ContentBlob(String sha256, String storageKey, long sizeBytes, String contentType) {
+        this.sha256 = sha256;
+        this.storageKey = storageKey;
+        this.sizeBytes = sizeBytes;
+        this.contentType = contentType;
+        this.refCount = 1;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+
+    public String getStorageKey() { return storageKey; }
+    public void setStorageKey(String storageKey) { this.storageKey = storageKey; }
+
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public int getRefCount() { return refCount; }
+    public void setRefCount(int refCount) { this.refCount = refCount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,78 @@
+// src/main/java/com/cloudflix/backend/entity/OutboxEvent.java
+package com.cloudflix.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for a domain event, written in the same transaction as the change it describes. The row is
+ * removed once every DomainEventConsumer has handled the event; rows still present after next_attempt_at
+ * (the instance died, the ring buffer was full or a consumer gave up) are delivered again by DomainEventBus.
+ */
+@Entity
+@Table(name = "domain_event_outbox",
+       indexes = @Index(name = "idx_domain_event_due", columnList = "next_attempt_at"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 40)
+    private String eventType;
+
+    @Column(name = "video_id")
+    private Long videoId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "event_value", nullable = false)
+    private int eventValue;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String eventType, Long videoId, Long userId, int eventValue, LocalDateTime nextAttemptAt) {
+        this.eventType = eventType;
+        this.videoId = videoId;
+        this.userId = userId;
+        this.eventValue = eventValue;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public Long getVideoId() { return videoId; }
+    public void setVideoId(Long videoId) { this.videoId = videoId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public int getEventValue() { return eventValue; }
+    public void setEventValue(int eventValue) { this.eventValue = eventValue; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
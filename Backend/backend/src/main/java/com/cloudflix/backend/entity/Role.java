@@ -2,12 +2,16 @@
 package com.cloudflix.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 // import lombok.Data; // Comment out if adding manually
 import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "roles")
+@Cacheable // Read on every signup and role change; cached in the L2 region of the same name (ehcache.xml)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data // Comment out if adding manually
 @NoArgsConstructor
 public class Role {
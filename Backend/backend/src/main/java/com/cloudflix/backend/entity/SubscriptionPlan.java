@@ -2,12 +2,16 @@
 package com.cloudflix.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
 @Table(name = "subscription_plans")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NoArgsConstructor
 public class SubscriptionPlan {
     @Id
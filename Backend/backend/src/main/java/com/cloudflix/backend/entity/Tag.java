@@ -2,6 +2,8 @@
 package com.cloudflix.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.NoArgsConstructor;
 import lombok.EqualsAndHashCode; // For proper Set behavior
 
@@ -10,6 +12,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "tags") // Matches your SQL schema
+@Cacheable // Tag rows are immutable once created, so L2 entries only leave by eviction
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @NoArgsConstructor
 @EqualsAndHashCode(exclude = "videos") // Important for ManyToMany relationships
 public class Tag {
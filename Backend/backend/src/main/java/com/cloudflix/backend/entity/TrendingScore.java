@@ -0,0 +1,40 @@
+// src/main/java/com/cloudflix/backend/entity/TrendingScore.java
+package com.cloudflix.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last snapshot of a video's decayed trending score (see TrendingService), so a restarted instance
+ * does not start from nothing. Written and read with plain JDBC; scoredAt is when the score was valid.
+ */
+@Entity
+@Table(name = "trending_scores")
+public class TrendingScore {
+
+    @Id
+    @Column(name = "video_id")
+    private Long videoId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "scored_at", nullable = false)
+    private LocalDateTime scoredAt;
+
+    public TrendingScore() {
+    }
+
+    public Long getVideoId() {
+        return videoId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public LocalDateTime getScoredAt() {
+        return scoredAt;
+    }
+}
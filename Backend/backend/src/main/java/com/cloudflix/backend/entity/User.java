@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -52,7 +53,10 @@ public class User {
     
     public User() {}
 
-    @ManyToMany(fetch = FetchType.EAGER) // EAGER for simplicity in auth, consider LAZY for performance
+    // LAZY: most lookups only need the user row. Use UserRepository.findWithRolesBy* where authorities are needed;
+    // @BatchSize covers pages of users (admin listing) with one roles query per page instead of one per user.
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JoinTable(name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id"))
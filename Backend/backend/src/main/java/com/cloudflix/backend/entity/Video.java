@@ -3,6 +3,7 @@ package com.cloudflix.backend.entity;
 
 import jakarta.persistence.*;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -58,7 +59,9 @@ public class Video {
     @Column(name = "view_count", nullable = false, columnDefinition = "BIGINT default 0")
     private Long viewCount = 0L;
 
+    // Tags of up to 100 videos in the persistence context are loaded by one query (listings, streamed admin pages)
     @ManyToMany(fetch = FetchType.LAZY, cascade = { CascadeType.PERSIST, CascadeType.MERGE })
+    @BatchSize(size = 100)
     @JoinTable(name = "video_tags",
                joinColumns = @JoinColumn(name = "video_id"),
                inverseJoinColumns = @JoinColumn(name = "tag_id"))
@@ -71,7 +71,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         body.put("path", request.getDescription(false).substring(4));
         
         // Log the full stack trace for server-side debugging
-        ex.printStackTrace(); 
+        logger.error("Unhandled exception for " + request.getDescription(false), ex); // logger inherited from ResponseEntityExceptionHandler
 
         return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
     }
@@ -0,0 +1,18 @@
+// src/main/java/com/cloudflix/backend/logging/LogSampling.java
+package com.cloudflix.backend.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Marker for log statements that can fire on every request (rejected tokens, N+1 warnings, ...).
+ * Events carrying {@link #SAMPLED} are thinned out by {@link SamplingTurboFilter}: only one in
+ * logging.sampling.rate of them is written per logger. Use it only where losing individual events
+ * is acceptable; the matching metrics still count every occurrence.
+ */
+public final class LogSampling {
+
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogSampling() {}
+}
@@ -0,0 +1,39 @@
+// src/main/java/com/cloudflix/backend/logging/SamplingTurboFilter.java
+package com.cloudflix.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through the first and then every rate-th event marked {@link LogSampling#SAMPLED}, counted
+ * per logger. Runs before the event is created, so dropped events cost a counter increment and
+ * nothing else. Configured in logback-spring.xml.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final ConcurrentHashMap<String, AtomicLong> countersByLogger = new ConcurrentHashMap<>();
+    private int rate = 100;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || rate <= 1 || !marker.contains(LogSampling.SAMPLED) || !logger.isEnabledFor(level)) {
+            return FilterReply.NEUTRAL;
+        }
+        long seen = countersByLogger.computeIfAbsent(logger.getName(), name -> new AtomicLong()).getAndIncrement();
+        return seen % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+}
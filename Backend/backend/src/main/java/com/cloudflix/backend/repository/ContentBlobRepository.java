@@ -0,0 +1,21 @@
+// src/main/java/com/cloudflix/backend/repository/ContentBlobRepository.java
+package com.cloudflix.backend.repository;
+
+import com.cloudflix.backend.entity.ContentBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ContentBlobRepository extends JpaRepository<ContentBlob, Long> {
+
+    // Row locks serialize reference count changes with garbage collection of the same blob
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ContentBlob> findBySha256(String sha256);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ContentBlob> findByStorageKey(String storageKey);
+}
@@ -3,12 +3,17 @@ package com.cloudflix.backend.repository;
 
 import com.cloudflix.backend.entity.ERole;
 import com.cloudflix.backend.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Integer> {
+    // Cached query: the result (a Role id) comes from the query cache, the Role itself from the entity region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(ERole name);
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+// src/main/java/com/cloudflix/backend/repository/StorageDeletionRepository.java
+package com.cloudflix.backend.repository;
+
+import com.cloudflix.backend.entity.StorageDeletion;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StorageDeletionRepository extends JpaRepository<StorageDeletion, Long> {
+
+    // Lock timeout -2 is SKIP LOCKED: concurrent workers (other instances) each claim different rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM StorageDeletion d WHERE d.status = 'PENDING' AND d.nextAttemptAt <= :now ORDER BY d.nextAttemptAt")
+    List<StorageDeletion> claimDue(LocalDateTime now, Pageable pageable);
+
+    long countByStatus(String status);
+}
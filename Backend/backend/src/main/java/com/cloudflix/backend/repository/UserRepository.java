@@ -2,13 +2,37 @@
 package com.cloudflix.backend.repository;
 
 import com.cloudflix.backend.entity.User;
+import com.cloudflix.backend.repository.projection.UserSummaryView;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Roles are LAZY on User; these fetch them in the same query for callers that need authorities
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByEmail(String email);
+
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesById(Long id);
+
+    // Uploader / comment author info for a whole page of results in one query
+    List<UserSummaryView> findSummariesByIdIn(Collection<Long> ids);
+
+    // Cursor over one page of the admin user listing (StreamingPageWriter)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    Stream<User> streamAllBy(Pageable pageable);
+}
@@ -0,0 +1,22 @@
+// src/main/java/com/cloudflix/backend/repository/VideoFieldsRepository.java
+package com.cloudflix.backend.repository;
+
+import com.cloudflix.backend.repository.projection.VideoField;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Set;
+
+// Custom fragment of VideoRepository (implemented by VideoFieldsRepositoryImpl)
+public interface VideoFieldsRepository {
+
+    /**
+     * One page of videos with the given status, selecting only the columns behind the requested fields.
+     * Tuple elements are aliased by {@link VideoField#getJsonName()}; when {@link VideoField#UPLOADER} is
+     * requested the uploader's id is included as "uploaderId" (the foreign key, no join).
+     * genre, tagName and titleContains are optional filters.
+     */
+    Page<Tuple> findFieldsByStatus(Set<VideoField> fields, String status, String genre, String tagName,
+                                   String titleContains, Pageable pageable);
+}
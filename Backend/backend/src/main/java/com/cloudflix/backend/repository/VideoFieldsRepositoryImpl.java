@@ -0,0 +1,82 @@
+// src/main/java/com/cloudflix/backend/repository/VideoFieldsRepositoryImpl.java
+package com.cloudflix.backend.repository;
+
+import com.cloudflix.backend.entity.Tag;
+import com.cloudflix.backend.entity.Video;
+import com.cloudflix.backend.repository.projection.VideoField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+class VideoFieldsRepositoryImpl implements VideoFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Tuple> findFieldsByStatus(Set<VideoField> fields, String status, String genre, String tagName,
+                                          String titleContains, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Video> video = query.from(Video.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (VideoField field : fields) {
+            if (field.isColumn()) {
+                selections.add(video.get(field.getAttribute()).alias(field.getJsonName()));
+            }
+        }
+        if (fields.contains(VideoField.UPLOADER)) {
+            selections.add(video.get("uploader").get("id").alias("uploaderId"));
+        }
+        query.multiselect(selections).where(filters(cb, video, status, genre, tagName, titleContains));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), video, cb));
+        }
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<Video> counted = countQuery.from(Video.class);
+        countQuery.select(cb.count(counted)).where(filters(cb, counted, status, genre, tagName, titleContains));
+        long total = entityManager.createQuery(countQuery).getSingleResult();
+        return new PageImpl<>(rows, pageable, total);
+    }
+
+    // Same conditions as the derived findBy...AndStatus queries used by the full listings
+    private static Predicate[] filters(CriteriaBuilder cb, Root<Video> video, String status, String genre,
+                                       String tagName, String titleContains) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(video.get("status"), status));
+        if (genre != null) {
+            predicates.add(cb.equal(video.get("genre"), genre));
+        }
+        if (tagName != null) {
+            Join<Video, Tag> tag = video.join("tags");
+            predicates.add(cb.equal(tag.get("name"), tagName));
+        }
+        if (titleContains != null) {
+            String pattern = "%" + EscapeCharacter.DEFAULT.escape(titleContains.toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.like(cb.lower(video.get("title")), pattern, EscapeCharacter.DEFAULT.getEscapeCharacter()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
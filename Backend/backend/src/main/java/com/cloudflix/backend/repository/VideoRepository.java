@@ -2,18 +2,28 @@
 package com.cloudflix.backend.repository;
 
 import com.cloudflix.backend.entity.Video;
+import com.cloudflix.backend.repository.projection.VideoCardView;
+import com.cloudflix.backend.repository.projection.VideoTagView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface VideoRepository extends JpaRepository<Video, Long> {
+public interface VideoRepository extends JpaRepository<Video, Long>, VideoFieldsRepository {
 
     Page<Video> findByStatus(String status, Pageable pageable);
 
@@ -30,9 +40,30 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
 
     Optional<Video> findByIdAndStatus(Long id, String status);
 
+    boolean existsByIdAndStatus(Long id, String status);
+
+    // Cursor over one page for StreamingPageWriter; MySQL only streams with useCursorFetch=true and a fetch size
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    Stream<Video> streamAllBy(Pageable pageable);
+
     List<Video> findByUploaderIdAndStatus(Long uploaderId, String status, Pageable pageable);
 
+    // Tag names for a page of sparse (fields=/view=) listings, one query for the page
+    @Query("SELECT v.id AS videoId, t.name AS tagName FROM Video v JOIN v.tags t WHERE v.id IN :videoIds")
+    List<VideoTagView> findTagNamesByVideoIdIn(@Param("videoIds") Collection<Long> videoIds);
+
+    // Card columns of a set of videos (continue-watching rail); videos no longer available are left out
+    @Query("SELECT v.id AS id, v.title AS title, v.thumbnailUrl AS thumbnailUrl, v.durationSeconds AS durationSeconds, " +
+           "v.genre AS genre FROM Video v WHERE v.id IN :ids AND v.status = 'AVAILABLE'")
+    List<VideoCardView> findAvailableCardsByIdIn(@Param("ids") Collection<Long> ids);
+
     // A query to find distinct genres for category listing
     @Query("SELECT DISTINCT v.genre FROM Video v WHERE v.status = 'AVAILABLE' AND v.genre IS NOT NULL AND v.genre <> '' ORDER BY v.genre ASC")
     List<String> findDistinctGenres();
+
+    // Used by thumbnail generation, which runs outside any request; a URL set by the uploader in the meantime wins
+    @Transactional
+    @Modifying
+    @Query("UPDATE Video v SET v.thumbnailUrl = :url WHERE v.id = :id AND (v.thumbnailUrl IS NULL OR v.thumbnailUrl = '')")
+    int setThumbnailUrlIfEmpty(@Param("id") Long id, @Param("url") String url);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ package com.cloudflix.backend.repository;
 import com.cloudflix.backend.entity.User;
 import com.cloudflix.backend.entity.Video;
 import com.cloudflix.backend.entity.WatchHistory;
+import com.cloudflix.backend.repository.projection.ContinueWatchingView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -23,6 +25,12 @@ public interface WatchHistoryRepository extends JpaRepository<WatchHistory, Long
     // This will be used for the user's "Watch History" page
     Page<WatchHistory> findAllByUserOrderByWatchedAtDesc(User user, Pageable pageable);
 
+    // Seeds ContinueWatchingIndex: unfinished videos the user got into, most recently watched first
+    @Query("SELECT w.id AS id, w.video.id AS videoId, w.resumePositionSeconds AS resumePositionSeconds, w.watchedAt AS watchedAt " +
+           "FROM WatchHistory w WHERE w.user.id = :userId AND w.completed = false AND w.resumePositionSeconds > 0 " +
+           "ORDER BY w.watchedAt DESC")
+    List<ContinueWatchingView> findContinueWatchingByUserId(@Param("userId") Long userId, Pageable pageable);
+
     // Check if a watch history entry exists for a user and video
     boolean existsByUserAndVideo(User user, Video video);
 
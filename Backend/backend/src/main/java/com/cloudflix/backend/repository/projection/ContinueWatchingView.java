@@ -0,0 +1,12 @@
+// src/main/java/com/cloudflix/backend/repository/projection/ContinueWatchingView.java
+package com.cloudflix.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+// A watch_history row as the continue-watching rail needs it; the video itself is fetched separately in one batch
+public interface ContinueWatchingView {
+    Long getId();
+    Long getVideoId();
+    int getResumePositionSeconds();
+    LocalDateTime getWatchedAt();
+}
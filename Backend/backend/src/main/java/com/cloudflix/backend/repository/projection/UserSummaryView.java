@@ -0,0 +1,9 @@
+// src/main/java/com/cloudflix/backend/repository/projection/UserSummaryView.java
+package com.cloudflix.backend.repository.projection;
+
+// Closed projection over users: selects only these columns, no roles, no entity in the persistence context
+public interface UserSummaryView {
+    Long getId();
+    String getFirstName();
+    String getEmail();
+}
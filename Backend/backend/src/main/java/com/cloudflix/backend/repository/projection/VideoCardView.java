@@ -0,0 +1,11 @@
+// src/main/java/com/cloudflix/backend/repository/projection/VideoCardView.java
+package com.cloudflix.backend.repository.projection;
+
+// What a video tile shows; selected without the description @Lob or any association
+public interface VideoCardView {
+    Long getId();
+    String getTitle();
+    String getThumbnailUrl();
+    Integer getDurationSeconds();
+    String getGenre();
+}
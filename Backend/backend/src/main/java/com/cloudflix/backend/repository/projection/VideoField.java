@@ -0,0 +1,90 @@
+// src/main/java/com/cloudflix/backend/repository/projection/VideoField.java
+package com.cloudflix.backend.repository.projection;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The VideoResponse properties a listing can be narrowed to with ?fields=title,thumbnailUrl or a named
+ * ?view=. Scalar fields map to one column each, so only the requested columns are selected; tags and
+ * uploader are loaded for the whole page with one extra query each, and only when asked for.
+ */
+public enum VideoField {
+    ID("id", "id"),
+    TITLE("title", "title"),
+    DESCRIPTION("description", "description"),
+    DURATION_SECONDS("durationSeconds", "durationSeconds"),
+    GENRE("genre", "genre"),
+    STORAGE_OBJECT_KEY("storageObjectKey", "storageObjectKey"),
+    THUMBNAIL_URL("thumbnailUrl", "thumbnailUrl"),
+    HLS_MANIFEST_URL("hlsManifestUrl", "hlsManifestUrl"),
+    UPLOAD_TIMESTAMP("uploadTimestamp", "uploadTimestamp"),
+    STATUS("status", "status"),
+    VIEW_COUNT("viewCount", "viewCount"),
+    TAGS("tags", null),
+    UPLOADER("uploader", null);
+
+    public static final String VIEW_CARD = "card";
+    public static final String VIEW_FULL = "full";
+
+    // What a catalog grid tile (VideoCard) shows
+    private static final Set<VideoField> CARD = Collections.unmodifiableSet(
+            EnumSet.of(ID, TITLE, DURATION_SECONDS, GENRE, THUMBNAIL_URL));
+
+    private final String jsonName;
+    private final String attribute; // Video attribute holding the value; null for associations
+
+    VideoField(String jsonName, String attribute) {
+        this.jsonName = jsonName;
+        this.attribute = attribute;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public boolean isColumn() {
+        return attribute != null;
+    }
+
+    /**
+     * The fields selected by a fields= list or a view= name, or null when the full VideoResponse is wanted
+     * (neither given, or view=full). An explicit field list wins over a view; id is always included.
+     *
+     * @throws IllegalArgumentException for an unknown field or view name
+     */
+    public static Set<VideoField> select(String fields, String view) {
+        if (fields != null && !fields.isBlank()) {
+            EnumSet<VideoField> selected = EnumSet.of(ID);
+            for (String name : fields.split(",")) {
+                String trimmed = name.trim();
+                if (!trimmed.isEmpty()) {
+                    selected.add(byJsonName(trimmed));
+                }
+            }
+            return selected.size() == values().length ? null : selected;
+        }
+        if (view == null || view.isBlank() || VIEW_FULL.equalsIgnoreCase(view.trim())) {
+            return null;
+        }
+        if (VIEW_CARD.equalsIgnoreCase(view.trim())) {
+            return CARD;
+        }
+        throw new IllegalArgumentException("Unknown view '" + view + "', expected " + VIEW_CARD + " or " + VIEW_FULL);
+    }
+
+    private static VideoField byJsonName(String name) {
+        for (VideoField field : values()) {
+            if (field.jsonName.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown video field '" + name.toLowerCase(Locale.ROOT) + "'");
+    }
+}
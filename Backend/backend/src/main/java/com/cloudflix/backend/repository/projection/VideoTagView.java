@@ -0,0 +1,8 @@
+// src/main/java/com/cloudflix/backend/repository/projection/VideoTagView.java
+package com.cloudflix.backend.repository.projection;
+
+// One (video, tag name) pair; lets a page of videos get its tags without loading Video or Tag entities
+public interface VideoTagView {
+    Long getVideoId();
+    String getTagName();
+}
@@ -1,6 +1,7 @@
 //src/main/java/com/cloudflix/backend/security/jwt/JwtUtils.java
 package com.cloudflix.backend.security.jwt;
 
+import com.cloudflix.backend.logging.LogSampling;
 import com.cloudflix.backend.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
@@ -60,15 +61,15 @@ public class JwtUtils {
             Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
             return true;
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            logger.warn(LogSampling.SAMPLED, "Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            logger.warn(LogSampling.SAMPLED, "JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            logger.warn(LogSampling.SAMPLED, "JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            logger.warn(LogSampling.SAMPLED, "JWT claims string is empty: {}", e.getMessage());
         } catch (io.jsonwebtoken.security.SignatureException e) { // For modern jjwt versions
-             logger.error("Invalid JWT signature: {}", e.getMessage());
+             logger.warn(LogSampling.SAMPLED, "Invalid JWT signature: {}", e.getMessage());
         }
         return false;
     }
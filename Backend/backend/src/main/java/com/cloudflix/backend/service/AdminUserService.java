@@ -11,11 +11,11 @@ import com.cloudflix.backend.exception.ResourceNotFoundException;
 import com.cloudflix.backend.repository.RoleRepository;
 import com.cloudflix.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize; // For service-level security
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -31,22 +31,25 @@ public class AdminUserService {
     @Autowired
     private RoleRepository roleRepository;
 
-    @Transactional(readOnly = true)
-    public Page<UserSummaryAdminResponse> getAllUsers(Pageable pageable) {
-        Page<User> usersPage = userRepository.findAll(pageable);
-        return usersPage.map(UserSummaryAdminResponse::fromEntity);
+    @Autowired
+    private StreamingPageWriter streamingPageWriter;
+
+    // Streamed from a cursor (StreamingPageWriter); roles are loaded per chunk in batches (@BatchSize on User.roles)
+    public StreamingResponseBody getAllUsers(Pageable pageable) {
+        return streamingPageWriter.write(pageable, userRepository::count, userRepository::streamAllBy,
+                users -> users.stream().map(UserSummaryAdminResponse::fromEntity).collect(Collectors.toList()));
     }
 
     @Transactional(readOnly = true)
     public UserDetailsAdminResponse getUserByIdForAdmin(Long userId) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithRolesById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
         return UserDetailsAdminResponse.fromEntity(user);
     }
 
     @Transactional
     public UserDetailsAdminResponse updateUserRoles(Long userId, UserRoleUpdateRequest roleUpdateRequest) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithRolesById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
         Set<Role> newRoles = new HashSet<>();
@@ -83,7 +86,7 @@ public class AdminUserService {
 
     @Transactional
     public UserDetailsAdminResponse setUserActiveStatus(Long userId, boolean isActive) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithRolesById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
         // Prevent deactivating the last admin if you have such a rule (more complex logic)
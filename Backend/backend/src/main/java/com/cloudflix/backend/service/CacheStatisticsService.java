@@ -0,0 +1,55 @@
+// src/main/java/com/cloudflix/backend/service/CacheStatisticsService.java
+package com.cloudflix.backend.service;
+
+import com.cloudflix.backend.dto.response.CacheStatisticsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheStatisticsService {
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public CacheStatisticsResponse getStatistics() {
+        Statistics stats = statistics();
+        List<CacheStatisticsResponse.RegionStats> regions = new ArrayList<>();
+        for (String regionName : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = stats.getDomainDataRegionStatistics(regionName);
+            if (region != null) {
+                regions.add(toRegionStats(regionName, region));
+            }
+        }
+        CacheRegionStatistics queryRegion = stats.getQueryRegionStatistics(QUERY_RESULTS_REGION);
+        if (queryRegion != null) {
+            regions.add(toRegionStats(QUERY_RESULTS_REGION, queryRegion));
+        }
+        return new CacheStatisticsResponse(
+                stats.getSecondLevelCacheHitCount(), stats.getSecondLevelCacheMissCount(), stats.getSecondLevelCachePutCount(),
+                stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount(), stats.getQueryCachePutCount(),
+                stats.getQueryExecutionCount(), regions);
+    }
+
+    // Zeroes the counters, e.g. after warm-up, so the next reading reflects steady-state traffic only
+    public void resetStatistics() {
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static CacheStatisticsResponse.RegionStats toRegionStats(String name, CacheRegionStatistics region) {
+        return new CacheStatisticsResponse.RegionStats(name, region.getHitCount(), region.getMissCount(),
+                region.getPutCount(), region.getElementCountInMemory());
+    }
+}
@@ -0,0 +1,112 @@
+// src/main/java/com/cloudflix/backend/service/CatalogVersionService.java
+package com.cloudflix.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version counters that catalog responses derive their ETags from, so a conditional GET can be
+ * answered with 304 without querying the data behind the response.
+ *
+ * Counters live in catalog_versions, so every instance sees every change. Reads are cached per
+ * instance for catalog.version-cache-ttl; an instance that makes a change drops its own cached
+ * value on commit, others pick it up within the TTL. View counts deliberately do not bump the
+ * version, which is why the ETags are weak.
+ */
+@Service
+public class CatalogVersionService {
+
+    /** Video metadata and availability: lists, single videos and genres. */
+    public static final String VIDEOS = "videos";
+
+    private static final String SELECT_SQL = "SELECT version FROM catalog_versions WHERE version_key = ?";
+    private static final String BUMP_SQL = "UPDATE catalog_versions SET version = version + 1 WHERE version_key = ?";
+    private static final String INSERT_SQL = "INSERT INTO catalog_versions (version_key, version) VALUES (?, 1)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlNanos;
+    private final int maxCachedKeys;
+
+    private final ConcurrentHashMap<String, CachedVersion> cache = new ConcurrentHashMap<>();
+
+    public CatalogVersionService(JdbcTemplate jdbcTemplate,
+                                 @Value("${catalog.version-cache-ttl:1s}") Duration ttl,
+                                 @Value("${catalog.version-cache-max-keys:10000}") int maxCachedKeys) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlNanos = ttl.toNanos();
+        this.maxCachedKeys = maxCachedKeys;
+    }
+
+    /** Rating summary of one video. */
+    public static String ratingsKey(Long videoId) {
+        return "ratings:" + videoId;
+    }
+
+    /**
+     * Marks the data behind the key as changed. Joins the caller's transaction, so the new version
+     * becomes visible exactly when the change does.
+     */
+    @Transactional
+    public void bump(String key) {
+        if (jdbcTemplate.update(BUMP_SQL, key) == 0) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, key);
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.update(BUMP_SQL, key); // created concurrently
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.remove(key);
+            }
+        });
+    }
+
+    /** Current version of the key (0 if it never changed), at most catalog.version-cache-ttl old. */
+    public long current(String key) {
+        long now = System.nanoTime();
+        CachedVersion cached = cache.get(key);
+        if (cached != null && now - cached.loadedAt < ttlNanos) {
+            return cached.version;
+        }
+        List<Long> rows = jdbcTemplate.queryForList(SELECT_SQL, Long.class, key);
+        long version = rows.isEmpty() ? 0L : rows.get(0);
+        if (cache.size() >= maxCachedKeys) {
+            cache.clear(); // a cold entry only costs one primary-key lookup
+        }
+        cache.put(key, new CachedVersion(version, now));
+        return version;
+    }
+
+    /** Weak ETag for a response built from the data behind the given keys. */
+    public String etag(String... keys) {
+        StringBuilder tag = new StringBuilder("W/\"");
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                tag.append('.');
+            }
+            tag.append(keys[i]).append('-').append(current(keys[i]));
+        }
+        return tag.append('"').toString();
+    }
+
+    private static final class CachedVersion {
+        private final long version;
+        private final long loadedAt;
+
+        private CachedVersion(long version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
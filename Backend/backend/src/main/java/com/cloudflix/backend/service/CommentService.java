@@ -10,7 +10,11 @@ import com.cloudflix.backend.exception.ResourceNotFoundException;
 import com.cloudflix.backend.repository.CommentRepository;
 import com.cloudflix.backend.repository.UserRepository;
 import com.cloudflix.backend.repository.VideoRepository;
+import com.cloudflix.backend.repository.projection.UserSummaryView;
 import com.cloudflix.backend.security.services.UserDetailsImpl;
+import com.cloudflix.backend.service.realtime.CommentBroadcastHub;
+import com.cloudflix.backend.service.event.DomainEventPublisher;
+import com.cloudflix.backend.service.event.DomainEventType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,8 +23,15 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,16 +46,25 @@ public class CommentService {
     @Autowired
     private VideoRepository videoRepository;
 
+    @Autowired
+    private CommentBroadcastHub commentBroadcastHub;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
     private static final int MAX_INITIAL_REPLIES_TO_INCLUDE = 3; // Configurable: How many replies to send with parent
 
-    private User getCurrentAuthenticatedUser() {
+    private UserDetailsImpl getCurrentUserDetails() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
             throw new IllegalStateException("User must be authenticated to perform this action.");
         }
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userDetails.getId()));
+        return (UserDetailsImpl) authentication.getPrincipal();
+    }
+
+    private User getCurrentAuthenticatedUser() {
+        // Only used as the comment's author reference / for id comparisons, so no need to load the row
+        return userRepository.getReferenceById(getCurrentUserDetails().getId());
     }
 
     @Transactional
@@ -69,7 +89,29 @@ public class CommentService {
         }
 
         Comment savedComment = commentRepository.save(comment);
-        return CommentResponse.fromEntity(savedComment, false, 0); // Don't include replies for a newly created comment
+        domainEventPublisher.publish(DomainEventType.COMMENT_CREATED, videoId, currentUser.getId());
+        UserDetailsImpl author = getCurrentUserDetails();
+        Map<Long, CommentResponse.UserInfoResponse> authors = Map.of(author.getId(),
+                CommentResponse.UserInfoResponse.of(author.getId(), author.getFirstName(), author.getUsername()));
+        CommentResponse response = CommentResponse.fromEntity(savedComment, false, 0, authors); // Don't include replies for a newly created comment
+
+        // Push to live subscribers only once the comment is actually committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                commentBroadcastHub.publish(videoId, response);
+            }
+        });
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeToComments(Long videoId) {
+        // Validate once at subscribe time; after that new comments are pushed without touching the DB
+        if (videoRepository.findByIdAndStatus(videoId, "AVAILABLE").isEmpty()) {
+            throw new ResourceNotFoundException("Video", "id", videoId);
+        }
+        return commentBroadcastHub.subscribe(videoId);
     }
 
     @Transactional(readOnly = true)
@@ -78,7 +120,15 @@ public class CommentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Video", "id", videoId));
 
         Page<Comment> commentsPage = commentRepository.findByVideoAndParentCommentIsNullOrderByCreatedAtDesc(video, pageable);
-        return commentsPage.map(comment -> CommentResponse.fromEntity(comment, true, MAX_INITIAL_REPLIES_TO_INCLUDE));
+
+        // Resolve the authors of the page (and of the replies it will include) with one projection query
+        Set<Long> authorIds = new HashSet<>();
+        for (Comment comment : commentsPage.getContent()) {
+            authorIds.add(comment.getUser().getId());
+            comment.getReplies().forEach(reply -> authorIds.add(reply.getUser().getId()));
+        }
+        Map<Long, CommentResponse.UserInfoResponse> authors = loadAuthors(authorIds);
+        return commentsPage.map(comment -> CommentResponse.fromEntity(comment, true, MAX_INITIAL_REPLIES_TO_INCLUDE, authors));
     }
 
     @Transactional(readOnly = true)
@@ -97,11 +147,23 @@ public class CommentService {
         // Page<Comment> repliesPage = commentRepository.findAllByParentCommentOrderByCreatedAtAsc(parentComment, pageable);
         // return repliesPage.map(reply -> CommentResponse.fromEntity(reply, false, 0)).getContent();
 
+        Set<Long> authorIds = replies.stream().map(reply -> reply.getUser().getId()).collect(Collectors.toSet());
+        Map<Long, CommentResponse.UserInfoResponse> authors = loadAuthors(authorIds);
         return replies.stream()
-                      .map(reply -> CommentResponse.fromEntity(reply, false, 0)) // Replies of replies not included by default
+                      .map(reply -> CommentResponse.fromEntity(reply, false, 0, authors)) // Replies of replies not included by default
                       .collect(Collectors.toList());
     }
 
+    private Map<Long, CommentResponse.UserInfoResponse> loadAuthors(Set<Long> authorIds) {
+        Map<Long, CommentResponse.UserInfoResponse> authors = new HashMap<>();
+        if (!authorIds.isEmpty()) {
+            for (UserSummaryView summary : userRepository.findSummariesByIdIn(authorIds)) {
+                authors.put(summary.getId(), CommentResponse.UserInfoResponse.from(summary));
+            }
+        }
+        return authors;
+    }
+
 
     @Transactional
     public CommentResponse updateComment(Long commentId, CommentRequest commentRequest) {
@@ -130,7 +192,8 @@ public class CommentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", commentId));
 
         // Authorization: Author or Admin can delete
-        boolean isAdmin = currentUser.getRoles().stream().anyMatch(role -> role.getName().name().equals("ROLE_ADMIN"));
+        boolean isAdmin = getCurrentUserDetails().getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
         if (!comment.getUser().getId().equals(currentUser.getId()) && !isAdmin) {
             throw new AccessDeniedException("You do not have permission to delete this comment.");
         }
@@ -0,0 +1,202 @@
+// src/main/java/com/cloudflix/backend/service/ContinueWatchingIndex.java
+package com.cloudflix.backend.service;
+
+import com.cloudflix.backend.repository.WatchHistoryRepository;
+import com.cloudflix.backend.repository.projection.ContinueWatchingView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Each user's "continue watching" rail, kept in memory: the most recent unfinished videos
+ * (resume position past 0, not completed), newest first, at most history.continue-watching.rail-size.
+ *
+ * A rail is loaded from watch_history on first access and then kept current by the progress updates
+ * WatchHistoryService makes on this instance (applied after commit). Users beyond
+ * history.continue-watching.max-users are evicted least recently used first, and a rail is reloaded
+ * once it is older than history.continue-watching.ttl, which bounds how long progress recorded through
+ * another instance goes unseen here.
+ */
+@Component
+public class ContinueWatchingIndex {
+
+    private final WatchHistoryRepository watchHistoryRepository;
+    private final int maxUsers;
+    private final int railSize;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    // Access order, so iteration starts at the least recently used user; guarded by this
+    private final LinkedHashMap<Long, Rail> rails = new LinkedHashMap<>(256, 0.75f, true);
+
+    public ContinueWatchingIndex(WatchHistoryRepository watchHistoryRepository,
+                                 @Value("${history.continue-watching.max-users:10000}") int maxUsers,
+                                 @Value("${history.continue-watching.rail-size:20}") int railSize,
+                                 @Value("${history.continue-watching.ttl:10m}") Duration ttl,
+                                 MeterRegistry meterRegistry) {
+        this.watchHistoryRepository = watchHistoryRepository;
+        this.maxUsers = Math.max(1, maxUsers);
+        this.railSize = Math.max(1, railSize);
+        this.ttlNanos = ttl.toNanos();
+        this.hits = Counter.builder("cloudflix.history.continue_watching.lookups")
+                .description("Continue-watching rail lookups, by whether the rail was already in memory")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cloudflix.history.continue_watching.lookups")
+                .description("Continue-watching rail lookups, by whether the rail was already in memory")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("cloudflix.history.continue_watching.users", this, ContinueWatchingIndex::size)
+                .description("Users whose continue-watching rail is held in memory")
+                .register(meterRegistry);
+    }
+
+    public int getRailSize() {
+        return railSize;
+    }
+
+    /** The user's rail, newest first; loads it from the database if it is not in memory (or too old). */
+    public List<Entry> get(Long userId) {
+        long now = System.nanoTime();
+        Rail loading;
+        synchronized (this) {
+            Rail rail = rails.get(userId);
+            if (rail != null && rail.loaded && now - rail.loadedAt < ttlNanos) {
+                hits.increment();
+                return rail.newestFirst();
+            }
+            // Placeholder, so progress recorded while the query runs can mark the result as already stale
+            loading = new Rail(now);
+            rails.put(userId, loading);
+            evictEldest();
+        }
+        misses.increment();
+
+        // One row more than fits tells whether the rail holds every unfinished video of the user
+        List<ContinueWatchingView> rows = watchHistoryRepository.findContinueWatchingByUserId(
+                userId, PageRequest.of(0, railSize + 1));
+        synchronized (this) {
+            loading.load(rows, railSize);
+            if (loading.stale && rails.get(userId) == loading) {
+                rails.remove(userId); // still correct for this caller; the next one reloads
+            }
+            return loading.newestFirst();
+        }
+    }
+
+    /** Progress on an unfinished video: moves it to the front of the user's rail. */
+    public synchronized void recordProgress(Long userId, Entry entry) {
+        Rail rail = rails.get(userId);
+        if (rail == null) {
+            return; // loaded with this change included on first access
+        }
+        if (!rail.loaded) {
+            rail.stale = true;
+            return;
+        }
+        rail.entries.remove(entry.videoId);
+        rail.entries.put(entry.videoId, entry);
+        if (rail.entries.size() > railSize) {
+            Iterator<Long> oldest = rail.entries.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+            rail.truncated = true;
+        }
+    }
+
+    /** The video was completed or its history entry deleted. */
+    public synchronized void remove(Long userId, Long videoId) {
+        Rail rail = rails.get(userId);
+        if (rail == null) {
+            return;
+        }
+        if (!rail.loaded) {
+            rail.stale = true;
+        } else if (rail.entries.remove(videoId) != null && rail.truncated) {
+            rails.remove(userId); // the entry that moves up into the rail is only in the database
+        }
+    }
+
+    public synchronized void invalidate(Long userId) {
+        Rail rail = rails.get(userId);
+        if (rail != null && !rail.loaded) {
+            rail.stale = true;
+        } else {
+            rails.remove(userId);
+        }
+    }
+
+    public synchronized int size() {
+        return rails.size();
+    }
+
+    private void evictEldest() {
+        Iterator<Rail> eldest = rails.values().iterator();
+        while (rails.size() > maxUsers && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    /** One unfinished video on a rail. */
+    public static final class Entry {
+        private final Long watchHistoryId;
+        private final Long videoId;
+        private final int resumePositionSeconds;
+        private final LocalDateTime watchedAt;
+
+        public Entry(Long watchHistoryId, Long videoId, int resumePositionSeconds, LocalDateTime watchedAt) {
+            this.watchHistoryId = watchHistoryId;
+            this.videoId = videoId;
+            this.resumePositionSeconds = resumePositionSeconds;
+            this.watchedAt = watchedAt;
+        }
+
+        public Long getWatchHistoryId() { return watchHistoryId; }
+        public Long getVideoId() { return videoId; }
+        public int getResumePositionSeconds() { return resumePositionSeconds; }
+        public LocalDateTime getWatchedAt() { return watchedAt; }
+    }
+
+    private static final class Rail {
+        // Insertion order: oldest first, the video watched last at the end
+        private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>();
+        private final long loadedAt;
+        private boolean loaded;
+        private boolean stale;
+        private boolean truncated; // older unfinished videos exist beyond the rail
+
+        private Rail(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        private void load(List<ContinueWatchingView> newestFirst, int railSize) {
+            int count = Math.min(railSize, newestFirst.size());
+            for (int i = count - 1; i >= 0; i--) {
+                ContinueWatchingView row = newestFirst.get(i);
+                entries.put(row.getVideoId(), new Entry(row.getId(), row.getVideoId(),
+                        row.getResumePositionSeconds(), row.getWatchedAt()));
+            }
+            truncated = newestFirst.size() > railSize;
+            loaded = true;
+        }
+
+        private List<Entry> newestFirst() {
+            List<Entry> result = new ArrayList<>(entries.values());
+            Collections.reverse(result);
+            return result;
+        }
+    }
+}
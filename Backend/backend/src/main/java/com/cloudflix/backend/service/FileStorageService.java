@@ -1,6 +1,8 @@
 //src/main/java/com/cloudflix/backend/service/FileStorageService.java
 package com.cloudflix.backend.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -16,6 +18,8 @@ import java.util.UUID;
 @Service
 public class FileStorageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
+
     // Define the root location for storing videos
     // This should match the one used in VideoController for streaming
     private final Path videoStorageLocation;
@@ -83,7 +87,7 @@ public class FileStorageService {
             return Files.deleteIfExists(filePath);
         } catch (IOException ex) {
             // Log error: "Failed to delete file " + filename
-            System.err.println("Error deleting file: " + filename + " - " + ex.getMessage());
+            logger.warn("Error deleting file {}: {}", filename, ex.getMessage());
             return false;
         }
     }
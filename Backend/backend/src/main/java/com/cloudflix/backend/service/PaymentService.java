@@ -30,8 +30,7 @@ public class PaymentService {
     @Transactional // Important for multiple DB operations
     public boolean processTestPayment(TestPaymentRequest paymentRequest) {
         UserDetailsImpl userDetails = (UserDetailsImpl) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        User currentUser = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User currentUser = userRepository.getReferenceById(userDetails.getId()); // Only set as the owner of new rows
 
         SubscriptionPlan plan = planRepository.findById(paymentRequest.getPlanId())
                 .orElseThrow(() -> new RuntimeException("Subscription plan not found"));
@@ -12,6 +12,8 @@ import com.cloudflix.backend.repository.RatingRepository;
 import com.cloudflix.backend.repository.UserRepository;
 import com.cloudflix.backend.repository.VideoRepository;
 import com.cloudflix.backend.security.services.UserDetailsImpl;
+import com.cloudflix.backend.service.event.DomainEventPublisher;
+import com.cloudflix.backend.service.event.DomainEventType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -32,14 +34,20 @@ public class RatingService {
     @Autowired
     private VideoRepository videoRepository;
 
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
     private User getCurrentAuthenticatedUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
             throw new IllegalStateException("User must be authenticated to perform this action.");
         }
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userDetails.getId()));
+        // Used as a query parameter / association only
+        return userRepository.getReferenceById(userDetails.getId());
     }
 
     @Transactional
@@ -57,6 +65,8 @@ public class RatingService {
         // createdAt and updatedAt will be handled by annotations
 
         Rating savedRating = ratingRepository.save(rating);
+        catalogVersionService.bump(CatalogVersionService.ratingsKey(videoId));
+        domainEventPublisher.publish(DomainEventType.VIDEO_RATED, videoId, currentUser.getId(), savedRating.getRatingValue());
         return RatingResponse.fromEntity(savedRating);
     }
 
@@ -93,6 +103,7 @@ public class RatingService {
         // No explicit ownership check needed here as findByUserAndVideo already scopes it to the current user.
         // If an admin were to delete any rating, they'd need a different service method taking ratingId.
         ratingRepository.delete(rating);
+        catalogVersionService.bump(CatalogVersionService.ratingsKey(videoId));
     }
 
     // Optional: Admin method to delete any rating by its ID
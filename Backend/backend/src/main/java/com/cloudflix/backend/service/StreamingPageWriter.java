@@ -0,0 +1,118 @@
+// src/main/java/com/cloudflix/backend/service/StreamingPageWriter.java
+package com.cloudflix.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes one page of a listing as JSON straight from a database cursor, so large admin pages are never
+ * held in memory as a List of entities, a List of DTOs and a serialized body at the same time.
+ *
+ * Rows come from a Stream query and are handled in chunks of listing.streaming.chunk-size: each chunk
+ * is mapped (so per-chunk batch lookups still work) and written, then detached from the persistence
+ * context. The JSON keeps the Page fields clients read: content, totalElements,
+ * totalPages, number, size, numberOfElements, first, last and empty.
+ */
+@Component
+public class StreamingPageWriter {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter itemWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public StreamingPageWriter(ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${listing.streaming.chunk-size:200}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        // ObjectMapper flushes after every value by default, which would end a gzip block per row
+        this.itemWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * The returned body runs the count and the cursor query in one read-only transaction when Spring MVC
+     * writes the response (on an async thread), not when this method is called.
+     */
+    public <E, R> StreamingResponseBody write(Pageable pageable, LongSupplier count,
+                                              Function<Pageable, Stream<E>> rows,
+                                              Function<List<E>, List<R>> mapChunk) {
+        return out -> {
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> writePage(out, pageable, count, rows, mapChunk));
+            } catch (UncheckedIOException e) {
+                throw e.getCause(); // client disconnected; let Spring MVC handle it as such
+            }
+        };
+    }
+
+    private <E, R> void writePage(OutputStream out, Pageable pageable, LongSupplier count,
+                                  Function<Pageable, Stream<E>> rows, Function<List<E>, List<R>> mapChunk) {
+        long totalElements = count.getAsLong();
+        int written = 0;
+        // The query runs before anything is written, so a failing query still gets a proper error response.
+        // If the page fails half-way the generator must not close the open array: a truncated body that
+        // is still valid JSON would look like a complete, shorter page.
+        try (Stream<E> stream = rows.apply(pageable);
+             JsonGenerator json = objectMapper.getFactory().createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("content");
+            Iterator<E> cursor = stream.iterator();
+            List<E> chunk = new ArrayList<>(chunkSize);
+            while (cursor.hasNext()) {
+                chunk.add(cursor.next());
+                if (chunk.size() == chunkSize || !cursor.hasNext()) {
+                    for (R item : mapChunk.apply(chunk)) {
+                        itemWriter.writeValue(json, item);
+                        written++;
+                    }
+                    // No flush: the generator and response buffers already spill to the socket as they fill
+                    chunk.clear();
+                    entityManager.clear(); // rows already written are not needed again
+                }
+            }
+            json.writeEndArray();
+
+            int size = pageable.getPageSize();
+            long totalPages = size == 0 ? 1 : (totalElements + size - 1) / size;
+            json.writeNumberField("totalElements", totalElements);
+            json.writeNumberField("totalPages", totalPages);
+            json.writeNumberField("number", pageable.getPageNumber());
+            json.writeNumberField("size", size);
+            json.writeNumberField("numberOfElements", written);
+            json.writeBooleanField("first", pageable.getPageNumber() == 0);
+            json.writeBooleanField("last", pageable.getPageNumber() + 1 >= totalPages);
+            json.writeBooleanField("empty", written == 0);
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+// src/main/java/com/cloudflix/backend/service/TagResolver.java
+package com.cloudflix.backend.service;
+
+import com.cloudflix.backend.entity.Tag;
+import com.cloudflix.backend.repository.TagRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves tag names to Tag rows in bulk, creating missing tags on the way.
+ *
+ * Cached names are loaded by primary key (served from the Tag second-level cache region), the rest with a single IN query, and whatever is still
+ * missing is inserted in one JDBC batch. The insert, and the lookup of the new ids, run in a transaction
+ * of their own: a concurrent request creating the same tag only costs a retry (unique violation on
+ * tags.name) instead of failing the caller's transaction, and the lookup is not bound to the caller's
+ * snapshot, which under MySQL's REPEATABLE READ predates the new rows. Names are matched
+ * case-insensitively.
+ */
+@Service
+public class TagResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagResolver.class);
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+    private static final String INSERT_TAG_SQL = "INSERT INTO tags (name) VALUES (?)";
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNewTransaction;
+    private final int maxCacheEntries;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // normalized (trimmed, lower-cased) name -> tag id, shared across requests
+    private final ConcurrentHashMap<String, Long> idByName = new ConcurrentHashMap<>();
+
+    public TagResolver(TagRepository tagRepository,
+                       JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${tags.cache.max-entries:10000}") int maxCacheEntries) {
+        this.tagRepository = tagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxCacheEntries = maxCacheEntries;
+    }
+
+    /**
+     * Returns managed Tag entities for the given names, creating the ones that do not exist yet.
+     * Must be called inside a transaction so the returned entities can be attached to a Video.
+     */
+    public Set<Tag> resolve(Collection<String> rawNames) {
+        Map<String, Long> ids = resolveIds(rawNames);
+        if (ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<Tag> tags = loadByIds(ids.values());
+        if (tags.size() < ids.size()) {
+            // A cached id no longer exists (tag removed out-of-band); forget the cache entries and resolve again
+            Set<Long> found = new HashSet<>();
+            tags.forEach(t -> found.add(t.getId()));
+            ids.forEach((name, id) -> {
+                if (!found.contains(id)) {
+                    idByName.remove(name, id);
+                }
+            });
+            tags = loadByIds(resolveIds(rawNames).values());
+        }
+        return new HashSet<>(tags);
+    }
+
+    /**
+     * Resolves tag names to ids without loading the entities into the persistence context.
+     * Keys of the returned map are normalized names (see {@link #normalize(String)}).
+     */
+    public Map<String, Long> resolveIds(Collection<String> rawNames) {
+        Map<String, String> displayNameByKey = new LinkedHashMap<>();
+        if (rawNames != null) {
+            for (String raw : rawNames) {
+                String key = normalize(raw);
+                if (key != null) {
+                    displayNameByKey.putIfAbsent(key, raw.trim());
+                }
+            }
+        }
+        Map<String, Long> result = new HashMap<>();
+        if (displayNameByKey.isEmpty()) {
+            return result;
+        }
+
+        Set<String> misses = new HashSet<>();
+        for (String key : displayNameByKey.keySet()) {
+            Long cachedId = idByName.get(key);
+            if (cachedId != null) {
+                result.put(key, cachedId);
+            } else {
+                misses.add(key);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        lookupByName(misses, result);
+
+        for (int attempt = 1; !misses.isEmpty(); attempt++) {
+            if (attempt > MAX_INSERT_ATTEMPTS) {
+                throw new IllegalStateException("Could not create tags: " + misses);
+            }
+            try {
+                Map<String, Long> created = createMissing(misses, displayNameByKey);
+                created.forEach((key, id) -> {
+                    misses.remove(key);
+                    result.put(key, id);
+                });
+            } catch (DuplicateKeyException e) {
+                // Another request created some of these tags concurrently; the next attempt finds them
+                logger.debug("Concurrent tag creation detected for {}, retrying (attempt {})", misses, attempt);
+            }
+        }
+        // Only once the ids are known to be committed
+        result.forEach(this::cache);
+        return result;
+    }
+
+    public static String normalize(String rawName) {
+        if (rawName == null) {
+            return null;
+        }
+        String trimmed = rawName.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    // Unlike findAllById (a JPQL IN query), multiLoad checks the persistence context and L2 cache first.
+    // Tags created after this transaction's snapshot are invisible to a plain read on MySQL, so whatever
+    // is still missing is read again with a shared lock, which sees the latest committed rows.
+    private List<Tag> loadByIds(Collection<Long> ids) {
+        List<Tag> tags = new ArrayList<>(ids.size());
+        Set<Long> missing = new HashSet<>(ids);
+        for (Tag tag : entityManager.unwrap(Session.class).byMultipleIds(Tag.class).multiLoad(new ArrayList<>(ids))) {
+            if (tag != null) {
+                tags.add(tag);
+                missing.remove(tag.getId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            tags.addAll(entityManager.createQuery("SELECT t FROM Tag t WHERE t.id IN :ids", Tag.class)
+                    .setParameter("ids", missing)
+                    .setLockMode(LockModeType.PESSIMISTIC_READ)
+                    .getResultList());
+        }
+        return tags;
+    }
+
+    // Looks up the pending names with one IN query, moving every hit from 'pending' into 'result'
+    private void lookupByName(Set<String> pending, Map<String, Long> result) {
+        for (Tag tag : tagRepository.findByNameInIgnoreCase(new HashSet<>(pending))) {
+            String key = normalize(tag.getName());
+            if (pending.remove(key)) {
+                result.put(key, tag.getId());
+            }
+        }
+    }
+
+    // In a new transaction: finds tags committed since the caller's snapshot, inserts the rest and reads back
+    // their ids. Returns normalized name -> id for everything it found or created.
+    private Map<String, Long> createMissing(Set<String> keys, Map<String, String> displayNameByKey) {
+        return requiresNewTransaction.execute(status -> {
+            Set<String> pending = new HashSet<>(keys);
+            Map<String, Long> found = new HashMap<>();
+            lookupByName(pending, found);
+            if (!pending.isEmpty()) {
+                List<String> names = new ArrayList<>(pending.size());
+                pending.forEach(key -> names.add(displayNameByKey.get(key)));
+                jdbcTemplate.batchUpdate(INSERT_TAG_SQL, names, names.size(), (ps, name) -> ps.setString(1, name));
+                lookupByName(pending, found);
+            }
+            return found;
+        });
+    }
+
+    private void cache(String key, Long id) {
+        if (idByName.size() >= maxCacheEntries) {
+            idByName.clear(); // reference data; a cold cache just means one extra IN query
+        }
+        idByName.put(key, id);
+    }
+}
@@ -0,0 +1,81 @@
+// src/main/java/com/cloudflix/backend/service/ViewCountRecorder.java
+package com.cloudflix.backend.service;
+
+import com.cloudflix.backend.security.services.UserDetailsImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts views for requests that are answered without touching the database, such as a video's details
+ * revalidated with 304. The view is counted on a small pool of its own, and only if the video is still
+ * available by then. When the queue is full the view is dropped and counted in cloudflix.views.dropped.
+ */
+@Component
+public class ViewCountRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewCountRecorder.class);
+
+    private final VideoService videoService;
+    private final ExecutorService executor;
+    private final Counter droppedCounter;
+
+    public ViewCountRecorder(VideoService videoService,
+                             MeterRegistry meterRegistry,
+                             @Value("${views.async.threads:2}") int threads,
+                             @Value("${views.async.queue-capacity:10000}") int queueCapacity) {
+        this.videoService = videoService;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry,
+                new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                            Thread thread = new Thread(runnable, "view-counter-" + threadCount.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }),
+                "view-counter");
+        this.droppedCounter = Counter.builder("cloudflix.views.dropped")
+                .description("Views not counted because the view counter queue was full")
+                .register(meterRegistry);
+    }
+
+    public void recordLater(Long videoId) {
+        // Read here: the security context does not follow the task to the pool
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user ? user.getId() : null;
+        try {
+            executor.execute(() -> record(videoId, userId));
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void record(Long videoId, Long userId) {
+        try {
+            if (!videoService.incrementAvailableViewCount(videoId, userId)) {
+                logger.debug("Video {} is no longer available, view not counted", videoId);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not count a view of video {}: {}", videoId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
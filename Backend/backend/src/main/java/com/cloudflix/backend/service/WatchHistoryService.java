@@ -10,7 +10,10 @@ import com.cloudflix.backend.exception.ResourceNotFoundException;
 import com.cloudflix.backend.repository.UserRepository;
 import com.cloudflix.backend.repository.VideoRepository;
 import com.cloudflix.backend.repository.WatchHistoryRepository;
+import com.cloudflix.backend.repository.projection.VideoCardView;
 import com.cloudflix.backend.security.services.UserDetailsImpl;
+import com.cloudflix.backend.service.event.DomainEventPublisher;
+import com.cloudflix.backend.service.event.DomainEventType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,8 +21,14 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -34,14 +43,20 @@ public class WatchHistoryService {
     @Autowired
     private VideoRepository videoRepository; // To fetch the Video entity
 
+    @Autowired
+    private ContinueWatchingIndex continueWatchingIndex;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
     private User getCurrentAuthenticatedUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated() || authentication.getPrincipal().equals("anonymousUser")) {
             throw new IllegalStateException("User must be authenticated to perform this action.");
         }
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userDetails.getId()));
+        // Only needed as a reference for queries and new WatchHistory rows
+        return userRepository.getReferenceById(userDetails.getId());
     }
 
     @Transactional
@@ -58,6 +73,17 @@ public class WatchHistoryService {
         // watchedAt will be updated automatically by @UpdateTimestamp
 
         WatchHistory savedWatchHistory = watchHistoryRepository.save(watchHistory);
+        Long userId = currentUser.getId();
+        domainEventPublisher.publish(savedWatchHistory.isCompleted() ? DomainEventType.VIDEO_COMPLETED : DomainEventType.WATCH_PROGRESS,
+                videoId, userId, savedWatchHistory.getResumePositionSeconds());
+        // The rail is updated here rather than from the event bus, so a user sees their own progress right away
+        if (!savedWatchHistory.isCompleted() && savedWatchHistory.getResumePositionSeconds() > 0) {
+            afterCommit(() -> continueWatchingIndex.recordProgress(userId, new ContinueWatchingIndex.Entry(
+                    savedWatchHistory.getId(), videoId, savedWatchHistory.getResumePositionSeconds(),
+                    savedWatchHistory.getWatchedAt() != null ? savedWatchHistory.getWatchedAt() : LocalDateTime.now())));
+        } else {
+            afterCommit(() -> continueWatchingIndex.remove(userId, videoId));
+        }
         return WatchHistoryResponse.fromEntity(savedWatchHistory);
     }
 
@@ -68,6 +94,45 @@ public class WatchHistoryService {
         return historyPage.map(WatchHistoryResponse::fromEntity);
     }
 
+    /**
+     * The current user's "continue watching" rail: unfinished videos, most recently watched first.
+     * Entries come from ContinueWatchingIndex and the videos from a single query for their card columns;
+     * videos that are no longer available are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<WatchHistoryResponse> getContinueWatching(int limit) {
+        User currentUser = getCurrentAuthenticatedUser();
+        List<ContinueWatchingIndex.Entry> rail = continueWatchingIndex.get(currentUser.getId());
+        if (rail.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // Fetch a few spare cards in one go, in case some videos were taken down since they were watched
+        List<ContinueWatchingIndex.Entry> candidates = rail.subList(0, Math.min(rail.size(), limit + 5));
+        List<Long> videoIds = new ArrayList<>(candidates.size());
+        for (ContinueWatchingIndex.Entry entry : candidates) {
+            videoIds.add(entry.getVideoId());
+        }
+        Map<Long, VideoCardView> cards = new HashMap<>();
+        for (VideoCardView card : videoRepository.findAvailableCardsByIdIn(videoIds)) {
+            cards.put(card.getId(), card);
+        }
+
+        List<WatchHistoryResponse> responses = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (ContinueWatchingIndex.Entry entry : candidates) {
+            VideoCardView card = cards.get(entry.getVideoId());
+            if (card == null) {
+                continue;
+            }
+            responses.add(new WatchHistoryResponse(entry.getWatchHistoryId(),
+                    WatchHistoryResponse.VideoSummaryResponse.fromCardView(card),
+                    entry.getWatchedAt(), entry.getResumePositionSeconds(), false));
+            if (responses.size() == limit) {
+                break;
+            }
+        }
+        return responses;
+    }
+
     @Transactional(readOnly = true)
     public Optional<WatchHistoryResponse> getWatchProgressForVideo(Long videoId) {
         User currentUser = getCurrentAuthenticatedUser();
@@ -96,6 +161,9 @@ public class WatchHistoryService {
         watchHistory.setCompleted(true);
 
         WatchHistory savedWatchHistory = watchHistoryRepository.save(watchHistory);
+        Long userId = currentUser.getId();
+        domainEventPublisher.publish(DomainEventType.VIDEO_COMPLETED, videoId, userId, savedWatchHistory.getResumePositionSeconds());
+        afterCommit(() -> continueWatchingIndex.remove(userId, videoId));
         return WatchHistoryResponse.fromEntity(savedWatchHistory);
     }
 
@@ -111,6 +179,9 @@ public class WatchHistoryService {
             throw new org.springframework.security.access.AccessDeniedException("You do not have permission to delete this watch history entry.");
         }
         watchHistoryRepository.delete(watchHistory);
+        Long userId = currentUser.getId();
+        Long videoId = watchHistory.getVideo().getId();
+        afterCommit(() -> continueWatchingIndex.remove(userId, videoId));
     }
 
     // Optional: Clear all watch history for the current user
@@ -123,5 +194,17 @@ public class WatchHistoryService {
         // For now, we'll assume a simpler approach: fetch and delete.
         Page<WatchHistory> userHistory = watchHistoryRepository.findAllByUserOrderByWatchedAtDesc(currentUser, Pageable.unpaged());
         watchHistoryRepository.deleteAll(userHistory.getContent());
+        Long userId = currentUser.getId();
+        afterCommit(() -> continueWatchingIndex.invalidate(userId));
+    }
+
+    // The in-memory rail follows the database only once the change is committed
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
\ No newline at end of file
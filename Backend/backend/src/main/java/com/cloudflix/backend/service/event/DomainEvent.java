@@ -0,0 +1,68 @@
+// src/main/java/com/cloudflix/backend/service/event/DomainEvent.java
+package com.cloudflix.backend.service.event;
+
+import com.cloudflix.backend.entity.OutboxEvent;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * A committed change that derived data (counters, caches, indexes) may want to react to. Immutable; the
+ * id is that of its outbox row and stays the same when the event is delivered again.
+ */
+public final class DomainEvent {
+
+    private final long id;
+    private final DomainEventType type;
+    private final Long videoId;
+    private final Long userId;
+    private final int value;
+    private final LocalDateTime occurredAt;
+
+    DomainEvent(long id, DomainEventType type, Long videoId, Long userId, int value, LocalDateTime occurredAt) {
+        this.id = id;
+        this.type = type;
+        this.videoId = videoId;
+        this.userId = userId;
+        this.value = value;
+        this.occurredAt = occurredAt;
+    }
+
+    static DomainEvent fromOutbox(OutboxEvent row) {
+        return new DomainEvent(row.getId(), DomainEventType.valueOf(row.getEventType()), row.getVideoId(),
+                row.getUserId(), row.getEventValue(), row.getCreatedAt());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public DomainEventType getType() {
+        return type;
+    }
+
+    public Long getVideoId() {
+        return videoId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public long getOccurredAtMillis() {
+        return Timestamp.valueOf(occurredAt).getTime();
+    }
+
+    @Override
+    public String toString() {
+        return type + "#" + id + "(video=" + videoId + ", user=" + userId + ", value=" + value + ")";
+    }
+}
@@ -0,0 +1,330 @@
+// src/main/java/com/cloudflix/backend/service/event/DomainEventBus.java
+package com.cloudflix.backend.service.event;
+
+import com.cloudflix.backend.entity.OutboxEvent;
+import com.cloudflix.backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Delivers committed {@link DomainEvent}s to every {@link DomainEventConsumer}, off the request thread.
+ *
+ * Events enter an {@link EventRingBuffer} right after their transaction commits. Each consumer reads the
+ * ring on its own thread, taking everything published since its last batch (up to events.batch-size) at
+ * once. An acknowledger follows behind the slowest consumer and deletes the delivered events' outbox
+ * rows; producers may not overtake it, so when consumers fall a whole ring behind, committing threads wait
+ * up to events.publish-timeout and then leave the event to the outbox.
+ *
+ * Outbox rows still present after events.outbox.redeliver-after (the event did not fit in the ring, the
+ * instance stopped before delivering it, or a consumer gave up on its batch) are claimed by the poller of
+ * any instance and delivered again, each further round waiting twice as long, up to events.outbox.max-backoff.
+ * Consumers therefore see every event at least once, but possibly twice and out of order. The window should
+ * stay well above normal consumer lag, or events still queued in the ring are redelivered as well.
+ */
+@Component
+public class DomainEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventBus.class);
+    private static final long READER_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long RETRY_PAUSE_MS = 200;
+    private static final int MAX_REDELIVERY_BATCHES_PER_RUN = 20;
+
+    private final EventRingBuffer ring;
+    private final List<Processor> processors = new ArrayList<>();
+    private final Processor acknowledger;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long publishTimeoutNanos;
+    private final int maxAttempts;
+    private final Duration redeliverAfter;
+    private final Duration maxRedeliveryBackoff;
+    private final int redeliveryBatchSize;
+    private final Duration shutdownTimeout;
+    private final Counter overflowCounter;
+    private final Counter redeliveredCounter;
+    private final AtomicLong pendingCount = new AtomicLong();
+    // Ids of events some consumer gave up on; the acknowledger leaves their outbox rows for redelivery
+    private final Set<Long> unhandled = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+
+    public DomainEventBus(List<DomainEventConsumer> consumers,
+                          OutboxEventRepository outboxEventRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${events.ring-size:8192}") int ringSize,
+                          @Value("${events.batch-size:256}") int batchSize,
+                          @Value("${events.publish-timeout:50ms}") Duration publishTimeout,
+                          @Value("${events.consumer.max-attempts:3}") int maxAttempts,
+                          @Value("${events.outbox.redeliver-after:1m}") Duration redeliverAfter,
+                          @Value("${events.outbox.max-backoff:6h}") Duration maxRedeliveryBackoff,
+                          @Value("${events.outbox.batch-size:500}") int redeliveryBatchSize,
+                          @Value("${events.shutdown-timeout:5s}") Duration shutdownTimeout) {
+        this.ring = new EventRingBuffer(ringSize);
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.publishTimeoutNanos = publishTimeout.toNanos();
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.redeliverAfter = redeliverAfter;
+        this.maxRedeliveryBackoff = maxRedeliveryBackoff;
+        this.redeliveryBatchSize = Math.max(1, redeliveryBatchSize);
+        this.shutdownTimeout = shutdownTimeout;
+
+        for (DomainEventConsumer consumer : consumers) {
+            processors.add(new Processor(consumer.getName(), consumer::onEvents, ring::highestPublished, true, meterRegistry));
+        }
+        // Acknowledges only what every consumer has finished with
+        EventRingBuffer.Barrier allConsumed = processors.isEmpty() ? ring::highestPublished : next -> {
+            long minimum = Long.MAX_VALUE;
+            for (Processor processor : processors) {
+                minimum = Math.min(minimum, processor.sequence.get());
+            }
+            return minimum;
+        };
+        this.acknowledger = new Processor("outbox", this::acknowledge, allConsumed, false, meterRegistry);
+        ring.setGatingSequences(acknowledger.sequence);
+
+        this.overflowCounter = Counter.builder("cloudflix.events.overflow")
+                .description("Events left to outbox redelivery because the ring buffer stayed full")
+                .register(meterRegistry);
+        this.redeliveredCounter = Counter.builder("cloudflix.events.redelivered")
+                .description("Events delivered again from the outbox")
+                .register(meterRegistry);
+        // Refreshed by the redelivery poller rather than counted on each scrape
+        Gauge.builder("cloudflix.events.outbox.pending", pendingCount, AtomicLong::get)
+                .description("Events in the outbox not yet delivered to every consumer")
+                .register(meterRegistry);
+
+        processors.forEach(Processor::start);
+        acknowledger.start();
+        logger.info("Domain event bus started: ring of {} slots, consumers {}", ring.capacity(),
+                processors.stream().map(p -> p.name).toList());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCommitted(DomainEvent event) {
+        if (!offer(event)) {
+            overflowCounter.increment();
+            logger.debug("Ring buffer full, {} stays in the outbox for redelivery", event);
+        }
+    }
+
+    private boolean offer(DomainEvent event) {
+        return accepting && ring.offer(event, publishTimeoutNanos);
+    }
+
+    private void acknowledge(List<DomainEvent> events) {
+        List<Long> ids = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            if (!unhandled.remove(event.getId())) {
+                ids.add(event.getId());
+            }
+        }
+        if (!ids.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteAllByIdInBatch(ids));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${events.outbox.initial-delay-ms:10000}",
+               fixedDelayString = "${events.outbox.poll-interval-ms:30000}")
+    public void redeliverOverdue() {
+        try {
+            for (int batch = 0; batch < MAX_REDELIVERY_BATCHES_PER_RUN; batch++) {
+                if (redeliverBatch() < redeliveryBatchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Outbox redelivery failed; will retry on the next run", e);
+        } finally {
+            refreshPendingGauge();
+        }
+    }
+
+    /** Claims one batch of overdue rows and puts them back in the ring; returns how many were claimed. */
+    int redeliverBatch() {
+        List<OutboxEvent> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> due = outboxEventRepository.claimDue(now, PageRequest.of(0, redeliveryBatchSize));
+            // Pushed out again, so a row that does not make it through this time is retried later
+            due.forEach(row -> {
+                row.setAttempts(row.getAttempts() + 1);
+                row.setNextAttemptAt(now.plus(redeliveryDelay(row.getAttempts())));
+            });
+            return due;
+        });
+        if (claimed == null) {
+            return 0;
+        }
+        List<Long> unknown = new ArrayList<>();
+        for (OutboxEvent row : claimed) {
+            DomainEvent event;
+            try {
+                event = DomainEvent.fromOutbox(row);
+            } catch (IllegalArgumentException e) {
+                unknown.add(row.getId()); // a type this version no longer has
+                continue;
+            }
+            if (!offer(event)) {
+                logger.warn("Ring buffer full; remaining overdue events wait for their next redelivery");
+                return 0;
+            }
+            redeliveredCounter.increment();
+        }
+        if (!unknown.isEmpty()) {
+            logger.warn("Dropping {} outbox events of unknown type", unknown.size());
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteAllByIdInBatch(unknown));
+        }
+        return claimed.size();
+    }
+
+    // Doubles per round, so an event a consumer keeps failing on costs little while it waits for a fix
+    private Duration redeliveryDelay(int attempts) {
+        long delay = redeliverAfter.toMillis() << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxRedeliveryBackoff.toMillis()));
+    }
+
+    private void refreshPendingGauge() {
+        try {
+            pendingCount.set(outboxEventRepository.count());
+        } catch (RuntimeException e) {
+            logger.debug("Could not refresh the outbox gauge: {}", e.getMessage());
+        }
+    }
+
+    // Lets consumers catch up on what is already in the ring; anything left is redelivered from the outbox
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        while (acknowledger.sequence.get() < ring.cursor() && System.nanoTime() - deadline < 0) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        running = false;
+        ring.signalReaders();
+        processors.forEach(p -> p.thread.interrupt());
+        acknowledger.thread.interrupt();
+    }
+
+    private final class Processor implements Runnable {
+        private final String name;
+        private final Consumer<List<DomainEvent>> handler;
+        private final EventRingBuffer.Barrier barrier;
+        private final boolean consumer;
+        private final AtomicLong sequence = new AtomicLong(-1); // last sequence handled
+        private final Thread thread;
+        private final Timer batchTimer;
+        private final Counter failedCounter;
+
+        Processor(String name, Consumer<List<DomainEvent>> handler, EventRingBuffer.Barrier barrier,
+                  boolean consumer, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.handler = handler;
+            this.barrier = barrier;
+            this.consumer = consumer;
+            this.thread = new Thread(this, "domain-events-" + name);
+            this.thread.setDaemon(true);
+            this.batchTimer = Timer.builder("cloudflix.events.batch")
+                    .description("Time for a consumer to handle one batch of events")
+                    .tag("consumer", name)
+                    .register(meterRegistry);
+            this.failedCounter = Counter.builder("cloudflix.events.failed")
+                    .description("Events a consumer gave up on after exhausting its attempts, left for outbox redelivery")
+                    .tag("consumer", name)
+                    .register(meterRegistry);
+            Gauge.builder("cloudflix.events.lag", this, p -> Math.max(0, ring.cursor() - p.sequence.get()))
+                    .description("Events published to the ring that the consumer has not handled yet")
+                    .tag("consumer", name)
+                    .register(meterRegistry);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (running) {
+                long available;
+                try {
+                    available = ring.waitFor(next, barrier, READER_WAIT_NANOS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (available < next) {
+                    continue;
+                }
+                long end = Math.min(available, next + batchSize - 1);
+                List<DomainEvent> batch = new ArrayList<>((int) (end - next + 1));
+                for (long s = next; s <= end; s++) {
+                    batch.add(ring.get(s));
+                }
+                if (!deliver(batch)) {
+                    return;
+                }
+                sequence.set(end);
+                ring.signalReaders(); // the acknowledger may be waiting for this consumer
+                next = end + 1;
+            }
+        }
+
+        // Returns false only when interrupted while pausing between attempts
+        private boolean deliver(List<DomainEvent> batch) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    batchTimer.record(() -> handler.accept(batch));
+                    return true;
+                } catch (RuntimeException e) {
+                    if (attempt >= maxAttempts) {
+                        // Recorded before the sequence moves past the batch, so the acknowledger keeps the rows
+                        if (consumer) {
+                            batch.forEach(event -> unhandled.add(event.getId()));
+                        }
+                        failedCounter.increment(batch.size());
+                        logger.error("Event consumer '{}' failed {} times on {} events ({} to {}); leaving them for outbox redelivery",
+                                name, attempt, batch.size(), batch.get(0), batch.get(batch.size() - 1), e);
+                        return true;
+                    }
+                    logger.warn("Event consumer '{}' failed on {} events, retrying: {}", name, batch.size(), e.toString());
+                }
+                try {
+                    Thread.sleep(RETRY_PAUSE_MS * attempt);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+// src/main/java/com/cloudflix/backend/service/event/DomainEventConsumer.java
+package com.cloudflix.backend.service.event;
+
+import java.util.List;
+
+/**
+ * Receives every committed {@link DomainEvent}, in batches, on a thread of its own. Any Spring bean
+ * implementing this is subscribed to the {@link DomainEventBus}.
+ *
+ * Delivery is at least once: after a crash, or when the ring buffer was full, an event can arrive again
+ * (with the same id) or out of order, so consumers must tolerate both. A batch that throws is retried up to
+ * events.consumer.max-attempts times; its events then stay in the outbox and are delivered again later, to
+ * every consumer.
+ */
+public interface DomainEventConsumer {
+
+    /** Names the consumer in logs and in the cloudflix.events.* metrics. */
+    String getName();
+
+    void onEvents(List<DomainEvent> events);
+}
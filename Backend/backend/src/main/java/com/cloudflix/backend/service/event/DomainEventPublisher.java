@@ -0,0 +1,47 @@
+// src/main/java/com/cloudflix/backend/service/event/DomainEventPublisher.java
+package com.cloudflix.backend.service.event;
+
+import com.cloudflix.backend.entity.OutboxEvent;
+import com.cloudflix.backend.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Entry point for services that change data: records a {@link DomainEvent} in the outbox, inside the
+ * caller's transaction, and hands it to the {@link DomainEventBus} once that transaction commits. A rolled
+ * back change publishes nothing.
+ */
+@Component
+public class DomainEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final Duration redeliverAfter;
+
+    public DomainEventPublisher(OutboxEventRepository outboxEventRepository,
+                                ApplicationEventPublisher applicationEventPublisher,
+                                @Value("${events.outbox.redeliver-after:1m}") Duration redeliverAfter) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.redeliverAfter = redeliverAfter;
+    }
+
+    @Transactional
+    public void publish(DomainEventType type, Long videoId, Long userId, int value) {
+        LocalDateTime now = LocalDateTime.now();
+        // If the row outlives its delivery window, whoever polls the outbox next delivers it again
+        OutboxEvent row = outboxEventRepository.save(
+                new OutboxEvent(type.name(), videoId, userId, value, now.plus(redeliverAfter)));
+        applicationEventPublisher.publishEvent(new DomainEvent(row.getId(), type, videoId, userId, value, now));
+    }
+
+    @Transactional
+    public void publish(DomainEventType type, Long videoId, Long userId) {
+        publish(type, videoId, userId, 0);
+    }
+}
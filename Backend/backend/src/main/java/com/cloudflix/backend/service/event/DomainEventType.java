@@ -0,0 +1,11 @@
+// src/main/java/com/cloudflix/backend/service/event/DomainEventType.java
+package com.cloudflix.backend.service.event;
+
+/** What a {@link DomainEvent} reports; the meaning of its value depends on the type. */
+public enum DomainEventType {
+    VIDEO_VIEWED,       // value unused
+    WATCH_PROGRESS,     // value: resume position in seconds
+    VIDEO_COMPLETED,    // value unused
+    VIDEO_RATED,        // value: the rating, 1-5
+    COMMENT_CREATED     // value unused
+}
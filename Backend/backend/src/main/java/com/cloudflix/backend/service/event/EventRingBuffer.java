@@ -0,0 +1,165 @@
+// src/main/java/com/cloudflix/backend/service/event/EventRingBuffer.java
+package com.cloudflix.backend.service.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded multi-producer ring of events, in the style of the LMAX Disruptor. Producers claim a sequence
+ * with a CAS, store the event in its slot and mark the slot published; readers track their position as a
+ * sequence of their own and read every slot up to what they may see, in one go. A slot is reused only once
+ * the gating sequence (the slowest reader) has passed it, so a full ring makes producers wait: that is the
+ * back-pressure.
+ *
+ * Readers that find nothing to read block on a condition; producers only take the lock to signal when
+ * someone is waiting.
+ */
+final class EventRingBuffer {
+
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final DomainEvent[] entries;
+    private final int mask;
+    private final int roundShift;
+    // Per slot, the round (sequence / capacity) of the event last published into it
+    private final AtomicIntegerArray publishedRounds;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private volatile AtomicLong[] gatingSequences = new AtomicLong[0];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final AtomicLong waiters = new AtomicLong();
+
+    EventRingBuffer(int requestedCapacity) {
+        int capacity = 2;
+        while (capacity < requestedCapacity && capacity < (1 << 24)) {
+            capacity <<= 1;
+        }
+        this.entries = new DomainEvent[capacity];
+        this.mask = capacity - 1;
+        this.roundShift = Integer.numberOfTrailingZeros(capacity);
+        this.publishedRounds = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            publishedRounds.set(i, -1);
+        }
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    /** Readers whose progress bounds how far producers may run ahead. */
+    void setGatingSequences(AtomicLong... sequences) {
+        this.gatingSequences = sequences;
+    }
+
+    /** The highest sequence claimed so far; slots up to it may still be being written. */
+    long cursor() {
+        return claimed.get();
+    }
+
+    /**
+     * Stores the event in the next free slot, waiting up to timeoutNanos for readers to free one. Returns
+     * false, without publishing, if the ring stayed full that long.
+     */
+    boolean offer(DomainEvent event, long timeoutNanos) {
+        long sequence = claim(timeoutNanos);
+        if (sequence < 0) {
+            return false;
+        }
+        int slot = (int) sequence & mask;
+        entries[slot] = event;
+        publishedRounds.set(slot, (int) (sequence >>> roundShift));
+        signalReaders();
+        return true;
+    }
+
+    private long claim(long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+            if (next - entries.length > minimumGatingSequence()) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return -1;
+                }
+                LockSupport.parkNanos(PRODUCER_PARK_NANOS);
+                continue;
+            }
+            if (claimed.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private long minimumGatingSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (AtomicLong sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum == Long.MAX_VALUE ? claimed.get() : minimum;
+    }
+
+    DomainEvent get(long sequence) {
+        return entries[(int) sequence & mask];
+    }
+
+    /**
+     * The highest sequence from 'from' on up to which every slot is published; from - 1 if 'from' itself
+     * is not. Producers publish out of order, so a later slot may be ready before an earlier one.
+     */
+    long highestPublished(long from) {
+        long upTo = claimed.get();
+        for (long sequence = from; sequence <= upTo; sequence++) {
+            if (publishedRounds.get((int) sequence & mask) != (int) (sequence >>> roundShift)) {
+                return sequence - 1;
+            }
+        }
+        return upTo;
+    }
+
+    /**
+     * Waits until the barrier reports a sequence of at least 'sequence', or until the timeout, and returns
+     * what it last reported.
+     */
+    long waitFor(long sequence, Barrier barrier, long timeoutNanos) throws InterruptedException {
+        long available = barrier.available(sequence);
+        if (available >= sequence) {
+            return available;
+        }
+        lock.lock();
+        waiters.incrementAndGet();
+        try {
+            long remaining = timeoutNanos;
+            // Re-checked after registering as a waiter, so a publish racing with the first check is not missed
+            while ((available = barrier.available(sequence)) < sequence && remaining > 0) {
+                remaining = published.awaitNanos(remaining);
+            }
+            return available;
+        } finally {
+            waiters.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    /** Wakes blocked readers; also called by readers whose progress others wait for. */
+    void signalReaders() {
+        if (waiters.get() > 0) {
+            lock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** How far a reader may read, given the next sequence it wants. */
+    interface Barrier {
+        long available(long next);
+    }
+}
@@ -0,0 +1,357 @@
+// src/main/java/com/cloudflix/backend/service/importer/VideoImportService.java
+package com.cloudflix.backend.service.importer;
+
+import com.cloudflix.backend.dto.request.VideoImportRecord;
+import com.cloudflix.backend.dto.response.VideoImportJobResponse;
+import com.cloudflix.backend.exception.ResourceNotFoundException;
+import com.cloudflix.backend.service.CatalogVersionService;
+import com.cloudflix.backend.service.TagResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports a back-catalog of already-uploaded video objects from an NDJSON or CSV manifest.
+ *
+ * Videos use IDENTITY ids, which makes Hibernate insert them one statement at a time, so rows are
+ * written with plain JDBC batches instead (rewriteBatchedStatements turns each batch into a single
+ * multi-row INSERT) and the generated ids are read back by storage key to link tags. Every batch
+ * commits on its own and skips storage keys that are already in the catalog, so re-submitting the
+ * same manifest after a crash or restart only inserts what is missing.
+ */
+@Service
+public class VideoImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 50;
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final int MAX_STORAGE_KEY_LENGTH = 1024;
+    private static final int MAX_STATUS_LENGTH = 50;
+
+    private static final String INSERT_VIDEO_SQL =
+            "INSERT INTO videos (title, description, duration_seconds, genre, storage_object_key, thumbnail_url, "
+            + "status, uploader_user_id, view_count, upload_timestamp, processed_timestamp, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?)";
+    private static final String INSERT_VIDEO_TAG_SQL = "INSERT INTO video_tags (video_id, tag_id) VALUES (?, ?)";
+    private static final String SELECT_IDS_BY_KEY_SQL =
+            "SELECT id, storage_object_key FROM videos WHERE storage_object_key IN (:keys)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TagResolver tagResolver;
+    private final CatalogVersionService catalogVersionService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+
+    // Imports run one at a time; the batches themselves are what make a single import fast.
+    // Queue depth and task timings are published as executor metrics under name=video-import.
+    private final ExecutorService importExecutor;
+
+    // Most recent jobs, oldest evicted first
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    });
+
+    public VideoImportService(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              TagResolver tagResolver,
+                              CatalogVersionService catalogVersionService,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              MeterRegistry meterRegistry,
+                              @Value("${import.videos.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tagResolver = tagResolver;
+        this.catalogVersionService = catalogVersionService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = Math.max(1, batchSize);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "video-import");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.importExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "video-import");
+    }
+
+    /**
+     * Spools the manifest to a temp file (so the HTTP request can finish straight away) and queues
+     * the import. Progress is available from {@link #getJob(String)}.
+     */
+    public VideoImportJobResponse startImport(InputStream manifest, String contentType, String status, Long uploaderId)
+            throws IOException {
+        if (status == null || status.isBlank() || status.length() > MAX_STATUS_LENGTH) {
+            throw new IllegalArgumentException("Invalid video status for import: " + status);
+        }
+        VideoManifestReader.Format format = VideoManifestReader.formatFor(contentType);
+        Path spooled = Files.createTempFile("video-import-", format == VideoManifestReader.Format.CSV ? ".csv" : ".ndjson");
+        try {
+            Files.copy(manifest, spooled, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        importExecutor.execute(() -> runImport(job, spooled, format, status, uploaderId));
+        logger.info("Queued video import {} ({}, {} bytes)", job.id, format, Files.size(spooled));
+        return job.toResponse();
+    }
+
+    public VideoImportJobResponse getJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job", "id", jobId);
+        }
+        return job.toResponse();
+    }
+
+    private void runImport(ImportJob job, Path manifest, VideoManifestReader.Format format, String status, Long uploaderId) {
+        try (VideoManifestReader reader = new VideoManifestReader(
+                Files.newBufferedReader(manifest, StandardCharsets.UTF_8), format, objectMapper)) {
+            List<VideoManifestReader.Entry> batch = new ArrayList<>(batchSize);
+            VideoManifestReader.Entry entry;
+            while ((entry = reader.next()) != null) {
+                job.recordsRead++;
+                String problem = entry.error != null ? entry.error : validate(entry.record);
+                if (problem != null) {
+                    job.reject(entry.lineNumber, problem);
+                    continue;
+                }
+                batch.add(entry);
+                if (batch.size() >= batchSize) {
+                    importBatch(batch, status, uploaderId, job);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                importBatch(batch, status, uploaderId, job);
+            }
+            job.finish("COMPLETED");
+            logger.info("Video import {} completed: {} read, {} inserted, {} skipped, {} rejected",
+                    job.id, job.recordsRead, job.inserted, job.skippedExisting, job.rejected);
+        } catch (Exception e) {
+            // Batches committed so far stay; re-submitting the manifest picks up where this one stopped
+            logger.error("Video import {} failed after {} records", job.id, job.recordsRead, e);
+            job.addError("Import aborted: " + e.getMessage());
+            job.finish("FAILED");
+        } finally {
+            try {
+                Files.deleteIfExists(manifest);
+            } catch (IOException e) {
+                logger.warn("Could not delete spooled import manifest {}", manifest, e);
+            }
+        }
+    }
+
+    private void importBatch(List<VideoManifestReader.Entry> batch, String status, Long uploaderId, ImportJob job) {
+        // The first occurrence of a storage key wins, including duplicates inside the manifest itself
+        Map<String, VideoImportRecord> byKey = new LinkedHashMap<>();
+        int duplicatesInBatch = 0;
+        for (VideoManifestReader.Entry entry : batch) {
+            if (byKey.putIfAbsent(entry.record.getStorageKey().trim(), entry.record) != null) {
+                duplicatesInBatch++;
+            }
+        }
+
+        // Outside the batch transaction: new tags are created in a transaction of their own, which would
+        // otherwise wait on a second connection and, under REPEATABLE READ, not be visible to this one
+        Map<String, Long> tagIdByName = resolveTagIds(byKey.values());
+
+        int[] insertedAndSkipped = transactionTemplate.execute(tx -> {
+            Set<String> existing = findIdsByStorageKey(byKey.keySet()).keySet();
+            byKey.keySet().removeAll(existing);
+            if (byKey.isEmpty()) {
+                return new int[] {0, existing.size()};
+            }
+            insertVideos(byKey, status, uploaderId);
+            linkTags(byKey, findIdsByStorageKey(byKey.keySet()), tagIdByName);
+            catalogVersionService.bump(CatalogVersionService.VIDEOS);
+            return new int[] {byKey.size(), existing.size()};
+        });
+
+        job.inserted += insertedAndSkipped[0];
+        job.skippedExisting += insertedAndSkipped[1] + duplicatesInBatch;
+    }
+
+    private void insertVideos(Map<String, VideoImportRecord> byKey, String status, Long uploaderId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp processedAt = "AVAILABLE".equals(status) ? now : null;
+        List<Map.Entry<String, VideoImportRecord>> rows = new ArrayList<>(byKey.entrySet());
+        jdbcTemplate.batchUpdate(INSERT_VIDEO_SQL, rows, rows.size(), (ps, row) -> {
+            VideoImportRecord record = row.getValue();
+            ps.setString(1, record.getTitle().trim());
+            ps.setString(2, record.getDescription());
+            if (record.getDurationSeconds() != null) {
+                ps.setInt(3, record.getDurationSeconds());
+            } else {
+                ps.setNull(3, Types.INTEGER);
+            }
+            ps.setString(4, record.getGenre());
+            ps.setString(5, row.getKey());
+            ps.setString(6, record.getThumbnailUrl());
+            ps.setString(7, status);
+            ps.setLong(8, uploaderId);
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, processedAt);
+            ps.setTimestamp(11, now);
+            ps.setTimestamp(12, now);
+        });
+    }
+
+    // One lookup (plus one insert for new tags) for the whole batch
+    private Map<String, Long> resolveTagIds(Collection<VideoImportRecord> records) {
+        Set<String> tagNames = new HashSet<>();
+        records.forEach(record -> {
+            if (record.getTags() != null) {
+                tagNames.addAll(record.getTags());
+            }
+        });
+        return tagResolver.resolveIds(tagNames);
+    }
+
+    private void linkTags(Map<String, VideoImportRecord> byKey, Map<String, Long> videoIdByKey,
+                          Map<String, Long> tagIdByName) {
+        if (tagIdByName.isEmpty()) {
+            return;
+        }
+        List<long[]> links = new ArrayList<>();
+        byKey.forEach((key, record) -> {
+            Long videoId = videoIdByKey.get(key);
+            if (videoId == null || record.getTags() == null) {
+                return;
+            }
+            Set<Long> tagIds = new HashSet<>();
+            for (String name : record.getTags()) {
+                Long tagId = tagIdByName.get(TagResolver.normalize(name));
+                if (tagId != null && tagIds.add(tagId)) {
+                    links.add(new long[] {videoId, tagId});
+                }
+            }
+        });
+        jdbcTemplate.batchUpdate(INSERT_VIDEO_TAG_SQL, links, links.size(), (ps, link) -> {
+            ps.setLong(1, link[0]);
+            ps.setLong(2, link[1]);
+        });
+    }
+
+    private Map<String, Long> findIdsByStorageKey(Collection<String> keys) {
+        Map<String, Long> idByKey = new HashMap<>();
+        if (keys.isEmpty()) {
+            return idByKey;
+        }
+        namedJdbcTemplate.query(SELECT_IDS_BY_KEY_SQL, new MapSqlParameterSource("keys", keys),
+                rs -> { idByKey.putIfAbsent(rs.getString("storage_object_key"), rs.getLong("id")); });
+        return idByKey;
+    }
+
+    // Returns a description of the first problem with the record, or null if it can be imported
+    private String validate(VideoImportRecord record) {
+        String key = record.getStorageKey();
+        if (key == null || key.isBlank()) {
+            return "storageKey is required";
+        }
+        if (key.trim().length() > MAX_STORAGE_KEY_LENGTH) {
+            return "storageKey cannot exceed " + MAX_STORAGE_KEY_LENGTH + " characters";
+        }
+        Set<ConstraintViolation<VideoImportRecord>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<VideoImportRecord> first = violations.iterator().next();
+            return first.getPropertyPath() + ": " + first.getMessage();
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdownNow();
+    }
+
+    // Progress of one import; written only by the import thread, read by status requests
+    private static final class ImportJob {
+        private final String id;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile String status = "RUNNING";
+        private volatile long recordsRead;
+        private volatile long inserted;
+        private volatile long skippedExisting;
+        private volatile long rejected;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(String id) {
+            this.id = id;
+        }
+
+        private void reject(long lineNumber, String reason) {
+            rejected++;
+            addError("Line " + lineNumber + ": " + reason);
+        }
+
+        private void addError(String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(message);
+            }
+        }
+
+        private void finish(String finalStatus) {
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        private VideoImportJobResponse toResponse() {
+            List<String> errorSnapshot;
+            synchronized (errors) {
+                errorSnapshot = new ArrayList<>(errors);
+            }
+            return new VideoImportJobResponse(id, status, recordsRead, inserted, skippedExisting, rejected,
+                    errorSnapshot, startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+// src/main/java/com/cloudflix/backend/service/importer/VideoManifestReader.java
+package com.cloudflix.backend.service.importer;
+
+import com.cloudflix.backend.dto.request.VideoImportRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Pulls VideoImportRecords one at a time from an NDJSON or CSV manifest, so a 100k-line file
+ * never has to be held in memory.
+ *
+ * CSV manifests need a header row naming the columns (storageKey, title, description,
+ * durationSeconds, genre, thumbnailUrl, tags); tags are separated by '|'. Quoted fields may
+ * contain commas, doubled quotes and line breaks.
+ */
+class VideoManifestReader implements Closeable {
+
+    enum Format { NDJSON, CSV }
+
+    /** A parsed record, or the reason the line could not be parsed. */
+    static final class Entry {
+        final long lineNumber;
+        final VideoImportRecord record;
+        final String error;
+
+        private Entry(long lineNumber, VideoImportRecord record, String error) {
+            this.lineNumber = lineNumber;
+            this.record = record;
+            this.error = error;
+        }
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectReader jsonReader;
+    private List<String> csvHeader;
+    private long lineNumber = 0;
+
+    VideoManifestReader(BufferedReader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        // Unknown properties are ignored, same as unknown CSV columns
+        this.jsonReader = objectMapper.readerFor(VideoImportRecord.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /** Returns the next entry, or null at the end of the manifest. Blank lines are skipped. */
+    Entry next() throws IOException {
+        return format == Format.NDJSON ? nextJson() : nextCsv();
+    }
+
+    private Entry nextJson() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                return new Entry(lineNumber, jsonReader.readValue(line), null);
+            } catch (JsonProcessingException e) {
+                return new Entry(lineNumber, null, "invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    private Entry nextCsv() throws IOException {
+        if (csvHeader == null) {
+            List<String> header = readCsvRow();
+            if (header == null) {
+                return null;
+            }
+            csvHeader = new ArrayList<>(header.size());
+            header.forEach(h -> csvHeader.add(h.trim()));
+            if (!csvHeader.contains("storageKey") || !csvHeader.contains("title")) {
+                throw new IOException("CSV header must contain at least 'storageKey' and 'title' columns");
+            }
+        }
+        List<String> row;
+        long startLine;
+        do {
+            startLine = lineNumber + 1;
+            row = readCsvRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0).isBlank());
+
+        if (row.size() > csvHeader.size()) {
+            return new Entry(startLine, null, "expected " + csvHeader.size() + " columns but found " + row.size());
+        }
+        VideoImportRecord record = new VideoImportRecord();
+        try {
+            for (int i = 0; i < row.size(); i++) {
+                applyColumn(record, csvHeader.get(i), row.get(i));
+            }
+        } catch (NumberFormatException e) {
+            return new Entry(startLine, null, "durationSeconds is not a number");
+        }
+        return new Entry(startLine, record, null);
+    }
+
+    private static void applyColumn(VideoImportRecord record, String column, String rawValue) {
+        String value = rawValue.isEmpty() ? null : rawValue;
+        switch (column) {
+            case "storageKey" -> record.setStorageKey(value);
+            case "title" -> record.setTitle(value);
+            case "description" -> record.setDescription(value);
+            case "durationSeconds" -> record.setDurationSeconds(value == null ? null : Integer.valueOf(value.trim()));
+            case "genre" -> record.setGenre(value);
+            case "thumbnailUrl" -> record.setThumbnailUrl(value);
+            case "tags" -> record.setTags(splitTags(value));
+            default -> { } // Unknown columns are ignored so manifests can carry extra bookkeeping fields
+        }
+    }
+
+    private static Set<String> splitTags(String value) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (value != null) {
+            for (String tag : value.split("\\|")) {
+                if (!tag.isBlank()) {
+                    tags.add(tag.trim());
+                }
+            }
+        }
+        return tags;
+    }
+
+    // Reads one CSV record (RFC 4180 quoting); returns null at end of input
+    private List<String> readCsvRow() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean sawAnything = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            sawAnything = true;
+            char ch = (char) c;
+            if (inQuotes) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int peek = reader.read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (peek != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (ch == '\n') {
+                        lineNumber++;
+                    }
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                inQuotes = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                lineNumber++;
+                fields.add(stripCarriageReturn(field));
+                return fields;
+            } else {
+                field.append(ch);
+            }
+        }
+        if (!sawAnything) {
+            return null;
+        }
+        lineNumber++;
+        fields.add(stripCarriageReturn(field));
+        return fields;
+    }
+
+    private static String stripCarriageReturn(StringBuilder field) {
+        int len = field.length();
+        if (len > 0 && field.charAt(len - 1) == '\r') {
+            field.setLength(len - 1);
+        }
+        return field.toString();
+    }
+
+    static Format formatFor(String contentType) {
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")) {
+            return Format.CSV;
+        }
+        return Format.NDJSON;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
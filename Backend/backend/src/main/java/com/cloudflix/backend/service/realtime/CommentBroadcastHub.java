@@ -0,0 +1,233 @@
+// src/main/java/com/cloudflix/backend/service/realtime/CommentBroadcastHub.java
+package com.cloudflix.backend.service.realtime;
+
+import com.cloudflix.backend.dto.response.CommentResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of newly created comments to Server-Sent Event subscribers, one channel per video.
+ *
+ * Each subscriber owns a small bounded queue. Publishing never blocks the caller: when a subscriber's
+ * queue is full the oldest pending event is dropped. Queues are drained by a small shared dispatcher
+ * pool (not a thread per connection), and idle connections receive a periodic heartbeat comment so
+ * proxies do not close them.
+ */
+@Component
+public class CommentBroadcastHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentBroadcastHub.class);
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> channels = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeatScheduler;
+    private final int queueCapacity;
+    private final long emitterTimeoutMs;
+
+    public CommentBroadcastHub(@Value("${comments.sse.queue-capacity:64}") int queueCapacity,
+                               @Value("${comments.sse.heartbeat-seconds:15}") long heartbeatSeconds,
+                               @Value("${comments.sse.timeout-ms:1800000}") long emitterTimeoutMs,
+                               @Value("${comments.sse.dispatcher-threads:2}") int dispatcherThreads,
+                               MeterRegistry meterRegistry) {
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.dispatcher = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(Math.max(1, dispatcherThreads), namedDaemonThreads("comment-sse-dispatch")),
+                "comment-sse-dispatch");
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(namedDaemonThreads("comment-sse-heartbeat"));
+        if (heartbeatSeconds > 0) {
+            this.heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        } else {
+            logger.info("Comment SSE heartbeats disabled (comments.sse.heartbeat-seconds={})", heartbeatSeconds);
+        }
+        Gauge.builder("cloudflix.comments.sse.subscribers", this, CommentBroadcastHub::totalSubscriberCount)
+                .description("Open comment SSE connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a new SSE subscriber for the given video. The returned emitter is handed straight
+     * back to Spring MVC, which keeps the request open asynchronously.
+     */
+    public SseEmitter subscribe(Long videoId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(videoId, emitter);
+
+        // compute() keeps the add atomic with unsubscribe() dropping an emptied channel
+        channels.compute(videoId, (id, subscribers) -> {
+            Set<Subscriber> target = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        logger.debug("SSE subscriber added for video {} ({} active)", videoId, subscriberCount(videoId));
+        return emitter;
+    }
+
+    /**
+     * Queues a comment for every subscriber of the video. Safe to call from any thread;
+     * it only enqueues and schedules a drain, so it never waits on a slow client.
+     */
+    public void publish(Long videoId, CommentResponse comment) {
+        Set<Subscriber> subscribers = channels.get(videoId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(comment);
+            scheduleDrain(subscriber);
+        }
+    }
+
+    public int subscriberCount(Long videoId) {
+        Set<Subscriber> subscribers = channels.get(videoId);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    public int totalSubscriberCount() {
+        return channels.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Subscriber> subscribers : channels.values()) {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.offerHeartbeat()) {
+                    scheduleDrain(subscriber);
+                }
+            }
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.drainScheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (Exception e) { // RejectedExecutionException during shutdown
+                subscriber.drainScheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Object next;
+            while (!subscriber.closed && (next = subscriber.poll()) != null) {
+                if (next == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    CommentResponse comment = (CommentResponse) next;
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name("comment")
+                            .id(String.valueOf(comment.getId()))
+                            .data(comment, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            logger.debug("Dropping SSE subscriber for video {}: {}", subscriber.videoId, e.getMessage());
+            subscriber.emitter.completeWithError(e);
+            unsubscribe(subscriber);
+        } finally {
+            subscriber.drainScheduled.set(false);
+        }
+        // An event may have arrived between the last poll and clearing the flag
+        if (!subscriber.closed && subscriber.hasPending()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.closed = true;
+        channels.computeIfPresent(subscriber.videoId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        dispatcher.shutdownNow();
+        channels.values().forEach(subscribers -> subscribers.forEach(s -> {
+            s.closed = true;
+            s.emitter.complete();
+        }));
+        channels.clear();
+    }
+
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Subscriber {
+        private final Long videoId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Object> queue = new ArrayDeque<>();
+        private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+        private volatile boolean closed = false;
+        private long dropped = 0;
+
+        private Subscriber(Long videoId, SseEmitter emitter) {
+            this.videoId = videoId;
+            this.emitter = emitter;
+        }
+
+        private synchronized void offer(Object event) {
+            if (queue.size() >= queueCapacity) {
+                queue.pollFirst(); // drop-oldest back-pressure
+                dropped++;
+                if (dropped % queueCapacity == 1) {
+                    logger.debug("SSE subscriber for video {} is slow, {} events dropped so far", videoId, dropped);
+                }
+            }
+            queue.addLast(event);
+        }
+
+        // Heartbeats are only needed when nothing else is waiting to go out
+        private synchronized boolean offerHeartbeat() {
+            if (!queue.isEmpty()) {
+                return false;
+            }
+            queue.addLast(HEARTBEAT);
+            return true;
+        }
+
+        private synchronized Object poll() {
+            return queue.pollFirst();
+        }
+
+        private synchronized boolean hasPending() {
+            return !queue.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+// src/main/java/com/cloudflix/backend/service/recommendation/InteractionMatrix.java
+package com.cloudflix.backend.service.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Sparse user x video matrix of interaction weights, held in primitive arrays in compressed sparse row
+ * form twice over: by user (each user's videos) and by video (each video's users). Videos are numbered
+ * densely in the order they first appear; users only exist as row numbers.
+ */
+public final class InteractionMatrix {
+
+    // Dense video index -> video id, and back
+    final long[] videoIds;
+    final LongIntHashMap videoIndex;
+
+    // Row u spans userOffsets[u] until userOffsets[u + 1] of userVideos / userWeights
+    final int[] userOffsets;
+    final int[] userVideos;
+    final float[] userWeights;
+
+    // Row v spans videoOffsets[v] until videoOffsets[v + 1] of videoUsers / videoWeights
+    final int[] videoOffsets;
+    final int[] videoUsers;
+    final float[] videoWeights;
+
+    // Sum of squared weights per video: the squared length of its column, for cosine similarity
+    final float[] squaredNorms;
+
+    private InteractionMatrix(long[] videoIds, LongIntHashMap videoIndex, int[] userOffsets, int[] userVideos,
+                              float[] userWeights) {
+        this.videoIds = videoIds;
+        this.videoIndex = videoIndex;
+        this.userOffsets = userOffsets;
+        this.userVideos = userVideos;
+        this.userWeights = userWeights;
+
+        int videoCount = videoIds.length;
+        int userCount = userOffsets.length - 1;
+        this.videoOffsets = new int[videoCount + 1];
+        for (int p = 0; p < userVideos.length; p++) {
+            videoOffsets[userVideos[p] + 1]++;
+        }
+        for (int v = 0; v < videoCount; v++) {
+            videoOffsets[v + 1] += videoOffsets[v];
+        }
+        this.videoUsers = new int[userVideos.length];
+        this.videoWeights = new float[userVideos.length];
+        this.squaredNorms = new float[videoCount];
+        int[] next = Arrays.copyOf(videoOffsets, videoCount);
+        for (int u = 0; u < userCount; u++) {
+            for (int p = userOffsets[u]; p < userOffsets[u + 1]; p++) {
+                int v = userVideos[p];
+                float weight = userWeights[p];
+                int q = next[v]++;
+                videoUsers[q] = u;
+                videoWeights[q] = weight;
+                squaredNorms[v] += weight * weight;
+            }
+        }
+    }
+
+    public int videoCount() {
+        return videoIds.length;
+    }
+
+    public int userCount() {
+        return userOffsets.length - 1;
+    }
+
+    public int interactionCount() {
+        return userVideos.length;
+    }
+
+    /** Dense index of the video, or -1 if no user interacted with it. */
+    int indexOf(long videoId) {
+        return videoIndex.get(videoId, -1);
+    }
+
+    /**
+     * Collects (user, video, weight) rows grouped by user, as the interaction query returns them.
+     * Of each user only the first maxVideosPerUser rows are kept (the query sorts them newest first),
+     * which bounds the quadratic cost of very active accounts.
+     */
+    public static final class Builder {
+
+        private final int maxVideosPerUser;
+        private final LongIntHashMap videoIndex = new LongIntHashMap(1024);
+        private long[] videoIds = new long[1024];
+        private int videoCount;
+
+        private int[] userOffsets = new int[1024];
+        private int userCount;
+        private int[] videos = new int[8192];
+        private float[] weights = new float[8192];
+        private int size;
+
+        private long currentUser = Long.MIN_VALUE;
+        private int currentUserVideos;
+
+        public Builder(int maxVideosPerUser) {
+            this.maxVideosPerUser = Math.max(1, maxVideosPerUser);
+        }
+
+        public Builder add(long userId, long videoId, float weight) {
+            if (userId != currentUser) {
+                closeUser();
+                currentUser = userId;
+            }
+            if (weight <= 0f || currentUserVideos >= maxVideosPerUser) {
+                return this;
+            }
+            int video = videoIndex.putIfAbsent(videoId, videoCount);
+            if (video == videoCount) {
+                if (videoCount == videoIds.length) {
+                    videoIds = Arrays.copyOf(videoIds, videoCount * 2);
+                }
+                videoIds[videoCount++] = videoId;
+            }
+            if (size == videos.length) {
+                videos = Arrays.copyOf(videos, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            videos[size] = video;
+            weights[size] = weight;
+            size++;
+            currentUserVideos++;
+            return this;
+        }
+
+        public InteractionMatrix build() {
+            closeUser();
+            return new InteractionMatrix(Arrays.copyOf(videoIds, videoCount), videoIndex,
+                    Arrays.copyOf(userOffsets, userCount + 1), Arrays.copyOf(videos, size), Arrays.copyOf(weights, size));
+        }
+
+        private void closeUser() {
+            if (currentUserVideos == 0) {
+                return;
+            }
+            if (userCount + 2 > userOffsets.length) {
+                userOffsets = Arrays.copyOf(userOffsets, userOffsets.length * 2);
+            }
+            userOffsets[++userCount] = size;
+            currentUserVideos = 0;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+// src/main/java/com/cloudflix/backend/service/recommendation/ItemSimilarity.java
+package com.cloudflix.backend.service.recommendation;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Item-item cosine similarity over an {@link InteractionMatrix}: two videos are similar when the same
+ * users watched (or rated highly) both. For each target video the dot products with every co-watched
+ * video are accumulated through the users who watched it, then the best K are kept.
+ *
+ * Targets are split across a fork/join pool; each worker accumulates into its own dense scratch arrays
+ * (one slot per video, reset through the list of touched slots), so rows are computed without locks,
+ * hashing or boxing.
+ */
+public final class ItemSimilarity {
+
+    // Rows per leaf task; small enough for work stealing to even out rows of very different cost
+    private static final int ROWS_PER_TASK = 16;
+
+    private ItemSimilarity() {}
+
+    /** Top-K neighbours of every video in the matrix. */
+    public static SimilarityTable computeAll(InteractionMatrix matrix, int neighboursPerRow, int minCoUsers,
+                                             ForkJoinPool pool) {
+        int[] targets = new int[matrix.videoCount()];
+        for (int v = 0; v < targets.length; v++) {
+            targets[v] = v;
+        }
+        return SimilarityTable.of(compute(matrix, targets, matrix.squaredNorms, neighboursPerRow, minCoUsers, pool));
+    }
+
+    /**
+     * Recomputes the rows of the given videos and merges them into the base table.
+     *
+     * The matrix must hold every interaction of every user who interacted with one of the videos, so the
+     * videos' own norms and dot products are exact. Any other video in the matrix is only partially
+     * present; its norm is taken from its row in the base table. Videos without interactions any more are
+     * dropped from the table.
+     */
+    static SimilarityTable recompute(SimilarityTable base, InteractionMatrix matrix, long[] videoIds,
+                                     int minCoUsers, ForkJoinPool pool) {
+        float[] squaredNorms = matrix.squaredNorms.clone();
+        for (int v = 0; v < squaredNorms.length; v++) {
+            float previous = base.squaredNorm(matrix.videoIds[v]);
+            if (!Float.isNaN(previous)) {
+                squaredNorms[v] = previous;
+            }
+        }
+        int[] targets = new int[videoIds.length];
+        long[] removed = new long[videoIds.length];
+        int targetCount = 0;
+        int removedCount = 0;
+        for (long videoId : videoIds) {
+            int v = matrix.indexOf(videoId);
+            if (v < 0) {
+                removed[removedCount++] = videoId;
+            } else {
+                targets[targetCount++] = v;
+                squaredNorms[v] = matrix.squaredNorms[v];
+            }
+        }
+        SimilarityTable.Rows rows = compute(matrix, Arrays.copyOf(targets, targetCount), squaredNorms,
+                base.getNeighboursPerRow(), minCoUsers, pool);
+        return SimilarityTable.merge(base, rows, Arrays.copyOf(removed, removedCount));
+    }
+
+    private static SimilarityTable.Rows compute(InteractionMatrix matrix, int[] targets, float[] squaredNorms,
+                                                int neighboursPerRow, int minCoUsers, ForkJoinPool pool) {
+        SimilarityTable.Rows rows = new SimilarityTable.Rows(targets.length, neighboursPerRow);
+        Job job = new Job(matrix, targets, squaredNorms, Math.max(1, minCoUsers), rows);
+        pool.invoke(new RowTask(job, 0, targets.length));
+        return rows;
+    }
+
+    private static final class Job {
+        final InteractionMatrix matrix;
+        final int[] targets;
+        final float[] squaredNorms;
+        final int minCoUsers;
+        final SimilarityTable.Rows rows;
+        // Per worker thread; the pool is discarded after the build, and the scratch arrays with it
+        final ThreadLocal<Scratch> scratch;
+
+        Job(InteractionMatrix matrix, int[] targets, float[] squaredNorms, int minCoUsers, SimilarityTable.Rows rows) {
+            this.matrix = matrix;
+            this.targets = targets;
+            this.squaredNorms = squaredNorms;
+            this.minCoUsers = minCoUsers;
+            this.rows = rows;
+            this.scratch = ThreadLocal.withInitial(() -> new Scratch(matrix.videoCount(), rows.neighboursPerRow));
+        }
+
+        void computeRow(int r) {
+            InteractionMatrix m = matrix;
+            Scratch s = scratch.get();
+            int target = targets[r];
+
+            for (int p = m.videoOffsets[target]; p < m.videoOffsets[target + 1]; p++) {
+                int user = m.videoUsers[p];
+                float targetWeight = m.videoWeights[p];
+                for (int q = m.userOffsets[user]; q < m.userOffsets[user + 1]; q++) {
+                    int other = m.userVideos[q];
+                    if (other == target) {
+                        continue;
+                    }
+                    if (s.coUsers[other]++ == 0) {
+                        s.touched[s.touchedCount++] = other;
+                    }
+                    s.dots[other] += targetWeight * m.userWeights[q];
+                }
+            }
+
+            float targetNorm = squaredNorms[target];
+            s.heapSize = 0;
+            for (int t = 0; t < s.touchedCount; t++) {
+                int other = s.touched[t];
+                if (s.coUsers[other] >= minCoUsers) {
+                    float score = (float) (s.dots[other] / Math.sqrt((double) targetNorm * squaredNorms[other]));
+                    s.offer(other, score);
+                }
+                s.dots[other] = 0f;
+                s.coUsers[other] = 0;
+            }
+            s.touchedCount = 0;
+
+            int k = rows.neighboursPerRow;
+            int count = s.heapSize;
+            rows.videoIds[r] = m.videoIds[target];
+            rows.squaredNorms[r] = targetNorm;
+            rows.counts[r] = count;
+            // Popping the min-heap yields the worst first; fill the row from the back
+            for (int n = count - 1; n >= 0; n--) {
+                rows.neighbourIds[r * k + n] = m.videoIds[s.heapVideos[0]];
+                rows.scores[r * k + n] = s.heapScores[0];
+                s.pop();
+            }
+        }
+    }
+
+    private static final class RowTask extends RecursiveAction {
+        private final Job job;
+        private final int from;
+        private final int to;
+
+        RowTask(Job job, int from, int to) {
+            this.job = job;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                for (int r = from; r < to; r++) {
+                    job.computeRow(r);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowTask(job, from, mid), new RowTask(job, mid, to));
+        }
+    }
+
+    // Dense accumulators over all videos plus a bounded min-heap of the best K (video index, score) pairs
+    private static final class Scratch {
+        final float[] dots;
+        final int[] coUsers;
+        final int[] touched;
+        int touchedCount;
+
+        final int[] heapVideos;
+        final float[] heapScores;
+        int heapSize;
+
+        Scratch(int videoCount, int neighboursPerRow) {
+            this.dots = new float[videoCount];
+            this.coUsers = new int[videoCount];
+            this.touched = new int[videoCount];
+            this.heapVideos = new int[neighboursPerRow];
+            this.heapScores = new float[neighboursPerRow];
+        }
+
+        void offer(int video, float score) {
+            if (heapSize < heapVideos.length) {
+                int i = heapSize++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (heapScores[parent] <= score) {
+                        break;
+                    }
+                    heapVideos[i] = heapVideos[parent];
+                    heapScores[i] = heapScores[parent];
+                    i = parent;
+                }
+                heapVideos[i] = video;
+                heapScores[i] = score;
+            } else if (heapVideos.length > 0 && score > heapScores[0]) {
+                siftDown(video, score);
+            }
+        }
+
+        void pop() {
+            int last = --heapSize;
+            if (last > 0) {
+                siftDown(heapVideos[last], heapScores[last]);
+            }
+        }
+
+        // Places (video, score) at the root and restores heap order over the first heapSize slots
+        private void siftDown(int video, float score) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heapScores[child + 1] < heapScores[child]) {
+                    child++;
+                }
+                if (heapScores[child] >= score) {
+                    break;
+                }
+                heapVideos[i] = heapVideos[child];
+                heapScores[i] = heapScores[child];
+                i = child;
+            }
+            heapVideos[i] = video;
+            heapScores[i] = score;
+        }
+    }
+}
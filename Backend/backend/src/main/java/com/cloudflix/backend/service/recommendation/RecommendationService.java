@@ -0,0 +1,229 @@
+// src/main/java/com/cloudflix/backend/service/recommendation/RecommendationService.java
+package com.cloudflix.backend.service.recommendation;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * "Similar videos" from item-item co-occurrence: videos are similar when the same users watched or rated
+ * them highly (cosine over per-user interaction weights, see {@link ItemSimilarity}).
+ *
+ * Every instance holds its own {@link SimilarityTable} and swaps it atomically, so lookups never wait for
+ * a build. The table is rebuilt from scratch on recommendations.rebuild-cron (and shortly after startup);
+ * in between, recommendations.refresh-interval-ms recomputes the rows of the videos touched by users who
+ * have been active since the last run. A refresh keeps the rows of untouched videos, whose scores against
+ * touched videos drift slightly until the next full rebuild, and deleted history entries are only noticed
+ * by the full rebuild.
+ */
+@Service
+public class RecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+
+    // Rows stamped slightly before a run may commit after it; they are picked up again by the next one
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(2);
+
+    // Per (user, available video): 1 for a completed video, 0.5 for a started one, plus (rating - 3) / 2.
+    // Pairs whose total is not positive (started, then rated 1 or 2) do not count as interest.
+    private static final String INTERACTIONS_SQL =
+            "SELECT i.user_id, i.video_id, SUM(i.w) AS weight, MAX(i.at) AS last_at FROM (" +
+            " SELECT user_id, video_id, CASE WHEN completed THEN 1.0 WHEN resume_position_seconds > 0 THEN 0.5 ELSE 0.0 END AS w," +
+            " watched_at AS at FROM watch_history" +
+            " UNION ALL" +
+            " SELECT user_id, video_id, (rating_value - 3) * 0.5 AS w, updated_at AS at FROM ratings" +
+            ") i JOIN videos v ON v.id = i.video_id AND v.status = 'AVAILABLE' %s" +
+            "GROUP BY i.user_id, i.video_id HAVING SUM(i.w) > 0 ORDER BY i.user_id, last_at DESC";
+    private static final String USERS_OF_VIDEOS_FILTER =
+            "WHERE i.user_id IN (SELECT user_id FROM watch_history WHERE video_id IN (:videoIds)" +
+            " UNION SELECT user_id FROM ratings WHERE video_id IN (:videoIds)) ";
+    private static final String ACTIVE_USERS_SQL =
+            "SELECT user_id FROM watch_history WHERE watched_at > :since" +
+            " UNION SELECT user_id FROM ratings WHERE updated_at > :since LIMIT :limit";
+    private static final String VIDEOS_OF_USERS_SQL =
+            "SELECT video_id FROM watch_history WHERE user_id IN (:userIds)" +
+            " UNION SELECT video_id FROM ratings WHERE user_id IN (:userIds) LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final int neighbours;
+    private final int minCoUsers;
+    private final int maxVideosPerUser;
+    private final int parallelism;
+    private final int refreshMaxUsers;
+    private final int refreshMaxVideos;
+    private final Timer fullBuildTimer;
+    private final Timer refreshTimer;
+
+    private final Object buildLock = new Object();
+    private volatile SimilarityTable table; // null until the first build has finished
+    private volatile long generation;       // bumped whenever table is replaced
+    private LocalDateTime refreshedUpTo;     // guarded by buildLock
+
+    public RecommendationService(JdbcTemplate jdbcTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${recommendations.neighbors:20}") int neighbours,
+                                 @Value("${recommendations.min-co-users:2}") int minCoUsers,
+                                 @Value("${recommendations.max-items-per-user:500}") int maxVideosPerUser,
+                                 @Value("${recommendations.parallelism:0}") int parallelism,
+                                 @Value("${recommendations.refresh.max-users:5000}") int refreshMaxUsers,
+                                 @Value("${recommendations.refresh.max-videos:2000}") int refreshMaxVideos,
+                                 @Value("${recommendations.fetch-size:1000}") int fetchSize) {
+        // Interactions are read row by row through a cursor (useCursorFetch=true on MySQL), never as one list
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(fetchSize);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+        this.neighbours = Math.max(1, neighbours);
+        this.minCoUsers = Math.max(1, minCoUsers);
+        this.maxVideosPerUser = Math.max(1, maxVideosPerUser);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.refreshMaxUsers = Math.max(1, refreshMaxUsers);
+        this.refreshMaxVideos = Math.max(1, refreshMaxVideos);
+
+        this.fullBuildTimer = Timer.builder("cloudflix.recommendations.build")
+                .description("Time to compute the similar-videos table")
+                .tag("type", "full")
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("cloudflix.recommendations.build")
+                .description("Time to compute the similar-videos table")
+                .tag("type", "incremental")
+                .register(meterRegistry);
+        Gauge.builder("cloudflix.recommendations.table.videos", this, s -> s.table == null ? 0 : s.table.getRowCount())
+                .description("Videos with a row in the similar-videos table")
+                .register(meterRegistry);
+        Gauge.builder("cloudflix.recommendations.table.bytes", this, s -> s.table == null ? 0 : s.table.getSizeInBytes())
+                .description("Off-heap memory held by the similar-videos table")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Copies the video's most similar videos, best first, into the arrays and returns how many were
+     * copied; -1 if the video has no row (no interactions, or no table built yet).
+     */
+    public int similar(long videoId, long[] videoIds, float[] scores) {
+        SimilarityTable current = table;
+        return current == null ? -1 : current.neighbours(videoId, videoIds, scores);
+    }
+
+    /** Changes whenever the table is replaced; part of the /similar ETag. */
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int getNeighbours() {
+        return neighbours;
+    }
+
+    @Scheduled(cron = "${recommendations.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        synchronized (buildLock) {
+            try {
+                rebuildAll();
+            } catch (RuntimeException e) {
+                logger.error("Similar-videos rebuild failed; keeping the previous table", e);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${recommendations.initial-delay-ms:30000}",
+               fixedDelayString = "${recommendations.refresh-interval-ms:900000}")
+    public void refresh() {
+        synchronized (buildLock) {
+            try {
+                if (table == null || refreshedUpTo == null) {
+                    rebuildAll();
+                } else {
+                    refreshActiveUsers();
+                }
+            } catch (RuntimeException e) {
+                logger.error("Similar-videos refresh failed; will retry on the next run", e);
+            }
+        }
+    }
+
+    private void rebuildAll() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        InteractionMatrix matrix = loadInteractions(String.format(INTERACTIONS_SQL, ""), new MapSqlParameterSource());
+        SimilarityTable rebuilt = withPool(pool -> ItemSimilarity.computeAll(matrix, neighbours, minCoUsers, pool));
+        publish(rebuilt, startedAt);
+        long elapsed = System.nanoTime() - started;
+        fullBuildTimer.record(Duration.ofNanos(elapsed));
+        logger.info("Similar-videos table rebuilt: {} videos, {} users, {} interactions, {} KB off-heap in {} ms",
+                rebuilt.getRowCount(), matrix.userCount(), matrix.interactionCount(),
+                rebuilt.getSizeInBytes() / 1024, elapsed / 1_000_000);
+    }
+
+    private void refreshActiveUsers() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        List<Long> userIds = namedJdbcTemplate.queryForList(ACTIVE_USERS_SQL, new MapSqlParameterSource()
+                .addValue("since", Timestamp.valueOf(refreshedUpTo))
+                .addValue("limit", refreshMaxUsers + 1), Long.class);
+        if (userIds.isEmpty()) {
+            refreshedUpTo = startedAt.minus(REFRESH_OVERLAP);
+            return;
+        }
+        if (userIds.size() > refreshMaxUsers) {
+            rebuildAll(); // recomputing that much piecemeal costs more than starting over
+            return;
+        }
+        List<Long> videoIds = namedJdbcTemplate.queryForList(VIDEOS_OF_USERS_SQL, new MapSqlParameterSource()
+                .addValue("userIds", userIds)
+                .addValue("limit", refreshMaxVideos + 1), Long.class);
+        if (videoIds.size() > refreshMaxVideos) {
+            rebuildAll();
+            return;
+        }
+
+        // Every interaction of everyone who interacted with one of the touched videos
+        InteractionMatrix matrix = loadInteractions(String.format(INTERACTIONS_SQL, USERS_OF_VIDEOS_FILTER),
+                new MapSqlParameterSource("videoIds", videoIds));
+        long[] touched = new long[videoIds.size()];
+        for (int i = 0; i < touched.length; i++) {
+            touched[i] = videoIds.get(i);
+        }
+        SimilarityTable base = table;
+        SimilarityTable refreshed = withPool(pool -> ItemSimilarity.recompute(base, matrix, touched, minCoUsers, pool));
+        publish(refreshed, startedAt);
+        refreshTimer.record(Duration.ofNanos(System.nanoTime() - started));
+        logger.debug("Similar-videos table refreshed for {} active users, {} videos", userIds.size(), touched.length);
+    }
+
+    private InteractionMatrix loadInteractions(String sql, MapSqlParameterSource parameters) {
+        InteractionMatrix.Builder builder = new InteractionMatrix.Builder(maxVideosPerUser);
+        namedJdbcTemplate.query(sql, parameters, (RowCallbackHandler) rs ->
+                builder.add(rs.getLong(1), rs.getLong(2), rs.getFloat(3)));
+        return builder.build();
+    }
+
+    private SimilarityTable withPool(Function<ForkJoinPool, SimilarityTable> computation) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return computation.apply(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void publish(SimilarityTable next, LocalDateTime startedAt) {
+        table = next;
+        generation++;
+        refreshedUpTo = startedAt.minus(REFRESH_OVERLAP);
+    }
+}
@@ -0,0 +1,166 @@
+// src/main/java/com/cloudflix/backend/service/recommendation/SimilarityTable.java
+package com.cloudflix.backend.service.recommendation;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Immutable top-K neighbour lists for every video with interactions, in one direct (off-heap) buffer,
+ * so a large table costs the garbage collector nothing to trace.
+ *
+ * Rows have a fixed size and are sorted by video id, so a lookup is a binary search over the buffer:
+ * [videoId long][squaredNorm float][count int] followed by K slots of [neighbourId long][score float],
+ * best neighbour first. The buffer is only read with absolute gets, which is safe from any thread.
+ */
+public final class SimilarityTable {
+
+    private static final int HEADER_BYTES = 16;
+    private static final int NEIGHBOUR_BYTES = 12;
+
+    private final ByteBuffer buffer;
+    private final int neighboursPerRow;
+    private final int rowBytes;
+    private final int rowCount;
+
+    private SimilarityTable(ByteBuffer buffer, int neighboursPerRow, int rowCount) {
+        this.buffer = buffer;
+        this.neighboursPerRow = neighboursPerRow;
+        this.rowBytes = HEADER_BYTES + neighboursPerRow * NEIGHBOUR_BYTES;
+        this.rowCount = rowCount;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getNeighboursPerRow() {
+        return neighboursPerRow;
+    }
+
+    public long getSizeInBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Copies the video's neighbours, best first, into the arrays (as many as fit) and returns how many
+     * were copied, or -1 if the table has no row for the video.
+     */
+    public int neighbours(long videoId, long[] neighbourIds, float[] scores) {
+        int row = find(videoId);
+        if (row < 0) {
+            return -1;
+        }
+        int base = row * rowBytes;
+        int count = Math.min(buffer.getInt(base + 12), Math.min(neighbourIds.length, scores.length));
+        for (int n = 0, offset = base + HEADER_BYTES; n < count; n++, offset += NEIGHBOUR_BYTES) {
+            neighbourIds[n] = buffer.getLong(offset);
+            scores[n] = buffer.getFloat(offset + 8);
+        }
+        return count;
+    }
+
+    /** Squared norm the video's row was computed with, or NaN without a row. */
+    float squaredNorm(long videoId) {
+        int row = find(videoId);
+        return row < 0 ? Float.NaN : buffer.getFloat(row * rowBytes + 8);
+    }
+
+    private int find(long videoId) {
+        int low = 0;
+        int high = rowCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = buffer.getLong(mid * rowBytes);
+            if (id < videoId) {
+                low = mid + 1;
+            } else if (id > videoId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    static SimilarityTable of(Rows rows) {
+        return merge(null, rows, new long[0]);
+    }
+
+    /**
+     * A new table with the base's rows, except that those in {@code rows} replace (or add to) them and
+     * the videos in {@code removed} are dropped.
+     */
+    static SimilarityTable merge(SimilarityTable base, Rows rows, long[] removed) {
+        int k = rows.neighboursPerRow;
+        if (base != null && base.neighboursPerRow != k) {
+            base = null; // recommendations.neighbors changed; the next full rebuild fills in the rest
+        }
+        LongIntHashMap replacements = new LongIntHashMap(rows.size + removed.length);
+        for (int r = 0; r < rows.size; r++) {
+            replacements.putIfAbsent(rows.videoIds[r], r);
+        }
+        for (long videoId : removed) {
+            replacements.putIfAbsent(videoId, -1);
+        }
+
+        long[] ids = new long[rows.size + (base == null ? 0 : base.rowCount)];
+        int count = 0;
+        for (int r = 0; r < rows.size; r++) {
+            ids[count++] = rows.videoIds[r];
+        }
+        if (base != null) {
+            for (int row = 0; row < base.rowCount; row++) {
+                long id = base.buffer.getLong(row * base.rowBytes);
+                if (replacements.get(id, Integer.MIN_VALUE) == Integer.MIN_VALUE) {
+                    ids[count++] = id;
+                }
+            }
+        }
+        Arrays.sort(ids, 0, count);
+
+        int rowBytes = HEADER_BYTES + k * NEIGHBOUR_BYTES;
+        if ((long) count * rowBytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Similarity table of " + count + " rows x " + k
+                    + " neighbours does not fit in one buffer; lower recommendations.neighbors");
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(count * rowBytes);
+        for (int i = 0; i < count; i++) {
+            int offset = i * rowBytes;
+            int r = replacements.get(ids[i], Integer.MIN_VALUE);
+            if (r >= 0) {
+                buffer.putLong(offset, rows.videoIds[r]);
+                buffer.putFloat(offset + 8, rows.squaredNorms[r]);
+                buffer.putInt(offset + 12, rows.counts[r]);
+                int slot = offset + HEADER_BYTES;
+                for (int n = 0; n < rows.counts[r]; n++, slot += NEIGHBOUR_BYTES) {
+                    buffer.putLong(slot, rows.neighbourIds[r * k + n]);
+                    buffer.putFloat(slot + 8, rows.scores[r * k + n]);
+                }
+            } else {
+                buffer.put(offset, base.buffer, base.find(ids[i]) * rowBytes, rowBytes);
+            }
+        }
+        return new SimilarityTable(buffer, k, count);
+    }
+
+    /** Freshly computed rows, on heap, before they are merged into a table. Row r is written by one thread. */
+    static final class Rows {
+        final int neighboursPerRow;
+        final int size;
+        final long[] videoIds;
+        final float[] squaredNorms;
+        final int[] counts;
+        final long[] neighbourIds;
+        final float[] scores;
+
+        Rows(int size, int neighboursPerRow) {
+            this.neighboursPerRow = neighboursPerRow;
+            this.size = size;
+            this.videoIds = new long[size];
+            this.squaredNorms = new float[size];
+            this.counts = new int[size];
+            this.neighbourIds = new long[size * neighboursPerRow];
+            this.scores = new float[size * neighboursPerRow];
+        }
+    }
+}
@@ -0,0 +1,72 @@
+// src/main/java/com/cloudflix/backend/service/sqltrace/SqlRequestStats.java
+package com.cloudflix.backend.service.sqltrace;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC statements executed on behalf of one HTTP request. Bound to the request thread by
+ * {@link SqlTraceFilter}; statements run on other threads (async jobs, schedulers) are not attributed.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statementCount;
+    private long totalNanos;
+    private long startedAt;
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /** Stats of the request being served on this thread, or null outside a traced request. */
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void statementStarted() {
+        startedAt = System.nanoTime();
+    }
+
+    void statementFinished(String sql) {
+        totalNanos += System.nanoTime() - startedAt;
+        statementCount++;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    /** Executions that repeated a statement already run in this request (same SQL text). */
+    public int getDuplicateCount() {
+        return statementCount - executionsBySql.size();
+    }
+
+    /** The statement executed most often in this request, or null when nothing ran. */
+    public Map.Entry<String, Integer> getMostRepeated() {
+        Map.Entry<String, Integer> top = null;
+        for (Map.Entry<String, Integer> entry : executionsBySql.entrySet()) {
+            if (top == null || entry.getValue() > top.getValue()) {
+                top = entry;
+            }
+        }
+        return top;
+    }
+}
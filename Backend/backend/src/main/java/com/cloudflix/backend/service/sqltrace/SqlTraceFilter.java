@@ -0,0 +1,140 @@
+// src/main/java/com/cloudflix/backend/service/sqltrace/SqlTraceFilter.java
+package com.cloudflix.backend.service.sqltrace;
+
+import com.cloudflix.backend.logging.LogSampling;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes JDBC statements to the HTTP request that caused them (see {@link SqlTraceListener}).
+ *
+ * Per request it records the statement count and DB time by endpoint (cloudflix.sql.statements,
+ * cloudflix.sql.time), and when one statement repeats at least n-plus-one-threshold times (the usual
+ * shape of lazy loading in a loop) it logs a warning and increments cloudflix.sql.n_plus_one.
+ *
+ * A request carrying "X-Debug-SQL: true" gets X-SQL-Count, X-SQL-Time-Ms, X-SQL-Duplicates and
+ * X-SQL-Most-Repeated response headers. Lazy loads can still happen while the body is written
+ * (open-in-view), so those responses are buffered to report the final numbers.
+ */
+public class SqlTraceFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlTraceFilter.class);
+
+    public static final String DEBUG_HEADER = "X-Debug-SQL";
+    private static final int MAX_SQL_IN_HEADER = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    private final boolean debugHeaderEnabled;
+
+    public SqlTraceFilter(MeterRegistry meterRegistry, int nPlusOneThreshold, boolean debugHeaderEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = Math.max(2, nPlusOneThreshold);
+        this.debugHeaderEnabled = debugHeaderEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean debug = debugHeaderEnabled && "true".equalsIgnoreCase(request.getHeader(DEBUG_HEADER));
+        if (isAsyncDispatch(request)) {
+            // Streamed and other async bodies are written after the first dispatch returned; the buffered
+            // body (and the headers set then) can only be released once the async part has finished
+            filterChain.doFilter(request, response);
+            ContentCachingResponseWrapper buffered = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (buffered != null && !isAsyncStarted(request)) {
+                buffered.copyBodyToResponse();
+            }
+            return;
+        }
+        ContentCachingResponseWrapper buffered = debug ? new ContentCachingResponseWrapper(response) : null;
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            filterChain.doFilter(request, debug ? buffered : response);
+        } finally {
+            SqlRequestStats.end();
+            record(request, stats);
+            if (debug) {
+                writeDebugHeaders(buffered, stats);
+                if (!isAsyncStarted(request)) {
+                    buffered.copyBodyToResponse();
+                }
+            }
+        }
+    }
+
+    // SSE and other async requests outlive the first filter call; statements run after it are not attributed.
+    // The async dispatch is still filtered so a debug request's buffered body is released at the end.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void record(HttpServletRequest request, SqlRequestStats stats) {
+        if (stats.getStatementCount() == 0) {
+            return;
+        }
+        String uri = endpoint(request);
+        DistributionSummary.builder("cloudflix.sql.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        Timer.builder("cloudflix.sql.time")
+                .description("Time spent in JDBC statements per HTTP request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getTotalNanos(), TimeUnit.NANOSECONDS);
+
+        Map.Entry<String, Integer> top = stats.getMostRepeated();
+        if (top != null && top.getValue() >= nPlusOneThreshold) {
+            Counter.builder("cloudflix.sql.n_plus_one")
+                    .description("Requests in which a single statement repeated at least the N+1 threshold")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn(LogSampling.SAMPLED, "Possible N+1 on {} {}: {} statements ({} ms), one repeated {} times: {}",
+                    request.getMethod(), uri, stats.getStatementCount(), String.format("%.1f", stats.getTotalMillis()),
+                    top.getValue(), top.getKey());
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("{} {}: {} statements, {} ms, {} duplicates", request.getMethod(), uri,
+                    stats.getStatementCount(), String.format("%.1f", stats.getTotalMillis()), stats.getDuplicateCount());
+        }
+    }
+
+    private static void writeDebugHeaders(HttpServletResponse response, SqlRequestStats stats) {
+        response.setHeader("X-SQL-Count", String.valueOf(stats.getStatementCount()));
+        response.setHeader("X-SQL-Time-Ms", String.format("%.2f", stats.getTotalMillis()));
+        response.setHeader("X-SQL-Duplicates", String.valueOf(stats.getDuplicateCount()));
+        Map.Entry<String, Integer> top = stats.getMostRepeated();
+        if (top != null && top.getValue() > 1) {
+            String sql = top.getKey().replaceAll("\\s+", " ");
+            if (sql.length() > MAX_SQL_IN_HEADER) {
+                sql = sql.substring(0, MAX_SQL_IN_HEADER) + "...";
+            }
+            response.setHeader("X-SQL-Most-Repeated", top.getValue() + "x " + sql);
+        }
+    }
+
+    // The mapped pattern (/api/videos/{videoId}) rather than the raw path, to keep metric cardinality bounded
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,31 @@
+// src/main/java/com/cloudflix/backend/service/sqltrace/SqlTraceListener.java
+package com.cloudflix.backend.service.sqltrace;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * datasource-proxy listener that adds every statement to the current request's {@link SqlRequestStats}.
+ * A JDBC batch counts as one statement, since it is one round trip to the database.
+ */
+public class SqlTraceListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.statementStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null && !queryInfoList.isEmpty()) {
+            stats.statementFinished(queryInfoList.get(0).getQuery());
+        }
+    }
+}
@@ -1,25 +1,36 @@
 // src/main/java/com/cloudflix/backend/service/storage/AzureBlobStorageServiceImpl.java
 package com.cloudflix.backend.service.storage;
 
+import com.azure.core.http.rest.Response;
+import com.azure.core.util.BinaryData;
+import com.azure.core.util.Context;
 import com.azure.identity.DefaultAzureCredentialBuilder;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.batch.BlobBatch;
+import com.azure.storage.blob.batch.BlobBatchClient;
+import com.azure.storage.blob.batch.BlobBatchClientBuilder;
 import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
 import com.azure.storage.blob.sas.BlobSasPermission;
 import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
 import com.cloudflix.backend.exception.StorageException;
 import com.cloudflix.backend.exception.StorageFileNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -27,35 +38,69 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path; // For interface compatibility, not directly used for Azure paths
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.Locale;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Set;
 
 @Service("azureBlobStorageService")
 @Profile("azure") // This bean will be active when the 'azure' Spring profile is active
-public class AzureBlobStorageServiceImpl implements CloudStorageService {
+public class AzureBlobStorageServiceImpl implements CloudStorageService, DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(AzureBlobStorageServiceImpl.class);
+    private static final int MAX_BLOBS_PER_BATCH = 256;
+    // How long an upload waits for the container check to finish before giving up
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(30);
 
     private final String containerName;
     private final BlobContainerClient blobContainerClient;
+    private final BlobBatchClient blobBatchClient;
     private final long sasTokenDurationHours;
     private final String storageAccountUrl;
+    private final SignedUrlCache signedUrls;
+    private final StorageInitialization initialization;
+    private final long blockSize;
+    private final long maxSingleUploadSize;
+    private final int uploadConcurrency;
+    private final boolean computeMd5;
 
 
     public AzureBlobStorageServiceImpl(
             @Value("${azure.storage.account-name}") String accountName,
             @Value("${azure.storage.container-name}") String containerName,
             @Value("${azure.storage.connection-string:#{null}}") String connectionString, // Optional, for fallback
-            @Value("${azure.storage.sas-token.duration-hours:1}") long sasTokenDurationHours) {
+            @Value("${azure.storage.sas-token.duration-hours:1}") long sasTokenDurationHours,
+            @Value("${storage.signed-url.min-remaining-fraction:0.5}") double minRemainingFraction,
+            @Value("${storage.signed-url.refresh-ahead-fraction:0.75}") double refreshAheadFraction,
+            @Value("${storage.signed-url.max-entries:10000}") int maxCachedUrls,
+            @Value("${storage.init.initial-backoff:1s}") Duration initInitialBackoff,
+            @Value("${storage.init.max-backoff:30s}") Duration initMaxBackoff,
+            @Value("${azure.storage.upload.block-size:8MB}") DataSize blockSize,
+            @Value("${azure.storage.upload.max-single-upload-size:16MB}") DataSize maxSingleUploadSize,
+            @Value("${azure.storage.upload.max-concurrency:4}") int uploadConcurrency,
+            @Value("${azure.storage.upload.compute-md5:true}") boolean computeMd5) {
     	
-    	logger.info("AzureBlobStorageServiceImpl CONSTRUCTOR - Received connectionString: '{}'", connectionString);
+    	// Never log the connection string itself, it carries the account key
+    	logger.debug("AzureBlobStorageServiceImpl: connection string {}", connectionString != null && !connectionString.isBlank() ? "provided" : "not set");
 
         if (containerName == null || containerName.trim().isEmpty()) {
             throw new StorageException("Azure Blob container name cannot be empty.");
         }
         this.containerName = containerName;
         this.sasTokenDurationHours = sasTokenDurationHours;
+        this.blockSize = blockSize.toBytes();
+        this.maxSingleUploadSize = maxSingleUploadSize.toBytes();
+        this.uploadConcurrency = Math.max(1, uploadConcurrency);
+        this.computeMd5 = computeMd5;
+        // A cached SAS URL also stands in for the exists() check made when it was signed
+        this.signedUrls = new SignedUrlCache("azure", this::signSasUrl, minRemainingFraction, refreshAheadFraction, maxCachedUrls);
         this.storageAccountUrl = String.format("https://%s.blob.core.windows.net", accountName);
 
         BlobServiceClientBuilder builder = new BlobServiceClientBuilder();
@@ -71,12 +116,17 @@ public class AzureBlobStorageServiceImpl implements CloudStorageService {
         
         BlobServiceClient blobServiceClient = builder.buildClient();
         this.blobContainerClient = blobServiceClient.getBlobContainerClient(this.containerName);
+        this.blobBatchClient = new BlobBatchClientBuilder(blobServiceClient).buildClient();
 
-        if (!this.blobContainerClient.exists()) {
-            logger.info("Blob container {} does not exist, creating it.", this.containerName);
-            this.blobContainerClient.create();
+        // Building the clients is local; the container check is the first network call, so it runs in the background
+        this.initialization = StorageInitialization.inBackground("azure", this::ensureContainerExists, initInitialBackoff, initMaxBackoff);
+        logger.info("AzureBlobStorageService created for container: {} in account: {}, checking the container in the background", this.containerName, accountName);
+    }
+
+    private void ensureContainerExists() {
+        if (this.blobContainerClient.createIfNotExists()) {
+            logger.info("Blob container {} did not exist and was created.", this.containerName);
         }
-        logger.info("AzureBlobStorageService initialized for container: {} in account: {}", this.containerName, accountName);
     }
 
 
@@ -85,44 +135,15 @@ public class AzureBlobStorageServiceImpl implements CloudStorageService {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Failed to store empty or null file.");
         }
-        if (desiredBaseName == null || desiredBaseName.trim().isEmpty()) {
-            desiredBaseName = "video";
-        }
-
         String originalFileName = StringUtils.cleanPath(Objects.requireNonNull(file.getOriginalFilename()));
-        String fileExtension = "";
-        int lastDot = originalFileName.lastIndexOf('.');
-        if (lastDot > 0 && lastDot < originalFileName.length() - 1) {
-            fileExtension = originalFileName.substring(lastDot).toLowerCase();
-        }
-
-        String sanitizedTitlePart = desiredBaseName.replaceAll("\\s+", "_")
-                .replaceAll("[^a-zA-Z0-9._-]", "");
-        if (sanitizedTitlePart.length() > 100) {
-            sanitizedTitlePart = sanitizedTitlePart.substring(0, 100);
-        }
-        if (sanitizedTitlePart.isEmpty()) {
-            sanitizedTitlePart = "file";
-        }
 
         // Azure blob names can include "paths" like S3 object keys
-        String blobName = "videos/" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8) + "_" + sanitizedTitlePart + fileExtension;
+        String blobName = "videos/" + StorageKeys.uniqueFileName(desiredBaseName, originalFileName);
 
-        BlobClient blobClient = blobContainerClient.getBlobClient(blobName);
+        initialization.awaitReady(READY_TIMEOUT);
 
         try (InputStream inputStream = file.getInputStream()) {
-            blobClient.upload(inputStream, file.getSize(), true); // true to overwrite if exists
-
-            // Set Content-Type metadata on the blob
-            String contentType = file.getContentType();
-            if (contentType == null || contentType.equals("application/octet-stream") || contentType.isEmpty()) {
-                if (blobName.toLowerCase().endsWith(".mp4")) contentType = "video/mp4";
-                else if (blobName.toLowerCase().endsWith(".webm")) contentType = "video/webm";
-                else contentType = "application/octet-stream";
-            }
-            BlobHttpHeaders headers = new BlobHttpHeaders().setContentType(contentType);
-            blobClient.setHttpHeaders(headers);
-
+            upload(blobName, inputStream, file.getSize(), resolveContentType(file.getContentType(), blobName));
             logger.info("Successfully uploaded {} to Azure Blob container {} as blob {}", originalFileName, containerName, blobName);
             return blobName; // Return the blob name (which acts as the storageKey)
         } catch (Exception e) { // Catch Azure SDK specific exceptions too if needed
@@ -131,6 +152,48 @@ public class AzureBlobStorageServiceImpl implements CloudStorageService {
         }
     }
 
+    @Override
+    public void storeObject(String storageKey, InputStream content, long size, String contentType) throws IOException {
+        initialization.awaitReady(READY_TIMEOUT);
+        try {
+            upload(storageKey, content, size, resolveContentType(contentType, storageKey));
+            logger.info("Uploaded {} bytes to Azure Blob container {} as blob {}", size, containerName, storageKey);
+        } catch (Exception e) {
+            logger.error("Error uploading blob {} to Azure Blob Storage: {}", storageKey, e.getMessage(), e);
+            throw new StorageException("Failed to store blob " + storageKey + " to Azure Blob. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Uploads in one request up to max-single-upload-size; larger blobs are staged as blocks, up to
+     * max-concurrency at a time, and committed with a single Put Block List that also sets the
+     * Content-Type, so no separate Set Blob Properties call is needed. With compute-md5 each request
+     * carries a Content-MD5 the service verifies (per block for staged uploads). The SDK buffers up to
+     * max-concurrency blocks of the stream in memory. No request conditions means overwrite.
+     */
+    private void upload(String blobName, InputStream content, long size, String contentType) {
+        ParallelTransferOptions transferOptions = new ParallelTransferOptions()
+                .setBlockSizeLong(blockSize)
+                .setMaxSingleUploadSizeLong(maxSingleUploadSize)
+                .setMaxConcurrency(uploadConcurrency);
+        BlobParallelUploadOptions options = new BlobParallelUploadOptions(BinaryData.fromStream(content, size))
+                .setParallelTransferOptions(transferOptions)
+                .setHeaders(new BlobHttpHeaders().setContentType(contentType))
+                .setComputeMd5(computeMd5);
+        blobContainerClient.getBlobClient(blobName).uploadWithResponse(options, null, Context.NONE);
+    }
+
+    // Browsers often send application/octet-stream for video files; fall back to the extension
+    private static String resolveContentType(String contentType, String blobName) {
+        if (contentType != null && !contentType.isEmpty() && !contentType.equals("application/octet-stream")) {
+            return contentType;
+        }
+        String name = blobName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".mp4")) return "video/mp4";
+        if (name.endsWith(".webm")) return "video/webm";
+        return "application/octet-stream";
+    }
+
     @Override
     public Resource loadAsResource(String storageKey) {
         // Similar to S3, getFileUrl (for SAS URL) is preferred for player.
@@ -150,6 +213,10 @@ public class AzureBlobStorageServiceImpl implements CloudStorageService {
         if (storageKey == null || storageKey.trim().isEmpty()) {
             throw new IllegalArgumentException("Storage key (blob name) cannot be null or empty for generating SAS URL.");
         }
+        return signedUrls.get(storageKey);
+    }
+
+    private SignedUrlCache.SignedUrl signSasUrl(String storageKey) {
         try {
             BlobClient blobClient = blobContainerClient.getBlobClient(storageKey);
 
@@ -158,8 +225,9 @@ public class AzureBlobStorageServiceImpl implements CloudStorageService {
                 throw new StorageFileNotFoundException("Blob not found: " + storageKey);
             }
 
+            OffsetDateTime expiresAt = OffsetDateTime.now().plusHours(this.sasTokenDurationHours);
             BlobServiceSasSignatureValues sasValues = new BlobServiceSasSignatureValues(
-                    OffsetDateTime.now().plusHours(this.sasTokenDurationHours),
+                    expiresAt,
                     new BlobSasPermission().setReadPermission(true)
             );
 
@@ -168,8 +236,10 @@ public class AzureBlobStorageServiceImpl implements CloudStorageService {
             String urlWithSas = blobClient.getBlobUrl() + "?" + sasToken;
 
             logger.debug("Generated SAS URL for blob {} in container {}: {}", storageKey, this.containerName, urlWithSas);
-            return urlWithSas;
+            return new SignedUrlCache.SignedUrl(urlWithSas, expiresAt.toInstant());
 
+        } catch (StorageFileNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error generating SAS URL for blob {} in container {}: {}", storageKey, this.containerName, e.getMessage(), e);
             throw new StorageException("Could not generate SAS URL for blob: " + storageKey, e);
@@ -181,6 +251,7 @@ public class AzureBlobStorageServiceImpl implements CloudStorageService {
         if (storageKey == null || storageKey.trim().isEmpty()) {
             return false;
         }
+        signedUrls.invalidate(storageKey);
         try {
             BlobClient blobClient = blobContainerClient.getBlobClient(storageKey);
             blobClient.deleteIfExistsWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null);
@@ -192,9 +263,54 @@ public class AzureBlobStorageServiceImpl implements CloudStorageService {
         }
     }
 
+    // Blob batch requests carry at most 256 sub-requests; a 404 means the blob is already gone
+    @Override
+    public Set<String> deleteBatch(Collection<String> storageKeys) {
+        Set<String> failed = new HashSet<>();
+        List<String> keys = new ArrayList<>(storageKeys);
+        keys.forEach(signedUrls::invalidate);
+        for (int from = 0; from < keys.size(); from += MAX_BLOBS_PER_BATCH) {
+            List<String> chunk = keys.subList(from, Math.min(keys.size(), from + MAX_BLOBS_PER_BATCH));
+            BlobBatch batch = blobBatchClient.getBlobBatch();
+            Map<String, Response<Void>> responses = new LinkedHashMap<>();
+            chunk.forEach(key -> responses.put(key, batch.deleteBlob(containerName, key, DeleteSnapshotsOptionType.INCLUDE, null)));
+            try {
+                blobBatchClient.submitBatchWithResponse(batch, false, null, Context.NONE);
+            } catch (Exception e) {
+                logger.warn("Blob batch delete of {} blobs in container {} failed: {}", chunk.size(), containerName, e.getMessage());
+                failed.addAll(chunk);
+                continue;
+            }
+            responses.forEach((key, response) -> {
+                try {
+                    int status = response.getStatusCode();
+                    if (status >= 300 && status != 404) {
+                        failed.add(key);
+                    }
+                } catch (BlobStorageException e) {
+                    if (e.getStatusCode() != 404) {
+                        logger.warn("Could not delete blob {} from container {}: {}", key, containerName, e.getErrorCode());
+                        failed.add(key);
+                    }
+                }
+            });
+        }
+        return failed;
+    }
+
     @Override
     public Path getRootLocation() {
         // Not directly applicable to Azure Blob Storage in the same way as local file system.
         return null;
     }
+
+    @Override
+    public StorageInitialization initialization() {
+        return initialization;
+    }
+
+    @Override
+    public void destroy() {
+        signedUrls.shutdown();
+    }
 }
\ No newline at end of file
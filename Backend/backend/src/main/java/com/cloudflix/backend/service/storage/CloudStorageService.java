@@ -5,7 +5,11 @@ import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 public interface CloudStorageService {
 
@@ -22,6 +26,18 @@ public interface CloudStorageService {
      */
     String store(MultipartFile file, String desiredBaseName) throws IOException, IllegalArgumentException;
 
+    /**
+     * Stores content under exactly the given key, replacing any existing object with that key.
+     * Used by content-addressed uploads, where the caller derives the key from the content hash.
+     *
+     * @param storageKey The key to store the content under.
+     * @param content The content; read to the end but not closed.
+     * @param size The content length in bytes.
+     * @param contentType The MIME type to record with the object, where the backend supports it.
+     * @throws IOException If an error occurs during file storage.
+     */
+    void storeObject(String storageKey, InputStream content, long size, String contentType) throws IOException;
+
     /**
      * Loads a file as a Spring Resource.
      * This is suitable for streaming the file content.
@@ -51,6 +67,23 @@ public interface CloudStorageService {
      */
     boolean delete(String storageKey);
 
+    /**
+     * Deletes several files, using the backend's bulk API where it has one.
+     * Keys that no longer exist count as deleted.
+     *
+     * @param storageKeys The keys to delete.
+     * @return The keys that could not be deleted; empty when all deletions succeeded.
+     */
+    default Set<String> deleteBatch(Collection<String> storageKeys) {
+        Set<String> failed = new HashSet<>();
+        for (String storageKey : storageKeys) {
+            if (!delete(storageKey)) {
+                failed.add(storageKey);
+            }
+        }
+        return failed;
+    }
+
     /**
      * Gets the root path where files are stored for this service.
      * Mainly useful for local storage implementation or for constructing full URLs.
@@ -59,4 +92,13 @@ public interface CloudStorageService {
      * @return The root storage path.
      */
     Path getRootLocation(); // Optional, might be specific to local storage
+
+    /**
+     * Initialization state of the backend. Backends that need remote calls before they can serve
+     * (credential discovery, container checks) do them in the background so startup does not block;
+     * the readiness health group reports the instance as not ready until this completes.
+     */
+    default StorageInitialization initialization() {
+        return StorageInitialization.COMPLETED;
+    }
 }
\ No newline at end of file
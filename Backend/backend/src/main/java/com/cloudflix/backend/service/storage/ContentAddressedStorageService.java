@@ -0,0 +1,163 @@
+// src/main/java/com/cloudflix/backend/service/storage/ContentAddressedStorageService.java
+package com.cloudflix.backend.service.storage;
+
+import com.cloudflix.backend.entity.ContentBlob;
+import com.cloudflix.backend.exception.StorageException;
+import com.cloudflix.backend.repository.ContentBlobRepository;
+import com.cloudflix.backend.service.VideoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Deduplicating uploads on top of whichever CloudStorageService is active.
+ *
+ * The upload is hashed with SHA-256 first (it is already spooled to local disk by the multipart
+ * resolver, so this pass is cheap compared to the upload). If content_blobs already has that hash, the
+ * existing object gains a reference and nothing is uploaded; otherwise the content is stored under a
+ * key derived from the hash and registered with one reference. Deleting a video releases its
+ * reference, and the object goes to the storage deletion outbox once no video uses it.
+ */
+@Service
+public class ContentAddressedStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentAddressedStorageService.class);
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final ContentBlobRepository contentBlobRepository;
+    private final CloudStorageService cloudStorageService;
+    private final StorageDeletionService storageDeletionService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter dedupeHits;
+    private final Counter dedupeMisses;
+    private final Counter bytesSaved;
+
+    public ContentAddressedStorageService(ContentBlobRepository contentBlobRepository,
+                                          CloudStorageService cloudStorageService,
+                                          StorageDeletionService storageDeletionService,
+                                          PlatformTransactionManager transactionManager,
+                                          MeterRegistry meterRegistry) {
+        this.contentBlobRepository = contentBlobRepository;
+        this.cloudStorageService = cloudStorageService;
+        this.storageDeletionService = storageDeletionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dedupeHits = Counter.builder("cloudflix.storage.dedupe").tag("result", "hit")
+                .description("Uploads whose content was already stored").register(meterRegistry);
+        this.dedupeMisses = Counter.builder("cloudflix.storage.dedupe").tag("result", "miss")
+                .description("Uploads whose content was not stored yet and had to be uploaded").register(meterRegistry);
+        this.bytesSaved = Counter.builder("cloudflix.storage.dedupe.bytes.saved").baseUnit("bytes")
+                .description("Upload bytes not sent to storage because the content already existed").register(meterRegistry);
+    }
+
+    /**
+     * Stores the upload, or reuses an identical stored object, and takes one reference on it.
+     *
+     * @return The storage key to record on the video.
+     */
+    public String store(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Failed to store empty or null file.");
+        }
+        String sha256 = sha256Hex(file);
+        long size = file.getSize();
+
+        String existingKey = transactionTemplate.execute(status -> contentBlobRepository.findBySha256(sha256)
+                .map(blob -> {
+                    blob.setRefCount(blob.getRefCount() + 1);
+                    return blob.getStorageKey();
+                })
+                .orElse(null));
+        if (existingKey != null) {
+            dedupeHits.increment();
+            bytesSaved.increment(size);
+            logger.info("Upload {} matches stored object {} ({} bytes), skipping upload", file.getOriginalFilename(), existingKey, size);
+            return existingKey;
+        }
+
+        String originalFileName = StringUtils.cleanPath(file.getOriginalFilename() == null ? "" : file.getOriginalFilename());
+        String storageKey = StorageKeys.contentAddressedKey(sha256, StorageKeys.fileExtension(originalFileName));
+        String contentType = contentType(file, storageKey);
+        try (InputStream content = file.getInputStream()) {
+            cloudStorageService.storeObject(storageKey, content, size, contentType);
+        }
+        dedupeMisses.increment();
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    contentBlobRepository.saveAndFlush(new ContentBlob(sha256, storageKey, size, contentType)));
+            return storageKey;
+        } catch (DataIntegrityViolationException e) {
+            // The same content was uploaded concurrently and registered first: use that copy, drop ours
+            return transactionTemplate.execute(status -> {
+                ContentBlob winner = contentBlobRepository.findBySha256(sha256)
+                        .orElseThrow(() -> new StorageException("Could not register stored object " + storageKey, e));
+                winner.setRefCount(winner.getRefCount() + 1);
+                storageDeletionService.enqueue(storageKey);
+                return winner.getStorageKey();
+            });
+        }
+    }
+
+    /**
+     * Gives back one reference on the object behind storageKey, scheduling its deletion when none are
+     * left. Call it in the transaction that stops referencing the key. Keys that were never registered
+     * (uploads from before deduplication, bulk imports) belong to a single video and are deleted directly.
+     */
+    @Transactional
+    public void release(String storageKey) {
+        if (storageKey == null || storageKey.isBlank()) {
+            return;
+        }
+        ContentBlob blob = contentBlobRepository.findByStorageKey(storageKey).orElse(null);
+        if (blob == null) {
+            storageDeletionService.enqueue(storageKey);
+            return;
+        }
+        int remaining = blob.getRefCount() - 1;
+        if (remaining > 0) {
+            blob.setRefCount(remaining);
+            return;
+        }
+        contentBlobRepository.delete(blob);
+        storageDeletionService.enqueue(storageKey);
+    }
+
+    private static String sha256Hex(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // required of every JRE
+        }
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String contentType(MultipartFile file, String storageKey) {
+        String contentType = file.getContentType();
+        if (contentType == null || contentType.isEmpty() || contentType.equals("application/octet-stream")) {
+            return VideoService.videoContentType(storageKey);
+        }
+        return contentType;
+    }
+}
@@ -0,0 +1,154 @@
+// src/main/java/com/cloudflix/backend/service/storage/LocalFileResource.java
+package com.cloudflix.backend.service.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * A file in local storage, read through OpenFileCache.
+ *
+ * exists(), contentLength() and lastModified() answer from the metadata captured by loadAsResource
+ * instead of stat'ing the file again. Each getInputStream() borrows the shared channel and reads it
+ * positionally in readAheadBytes blocks: the region writer's skip() to the range start costs nothing,
+ * and the kernel sees large sequential reads it can prefetch for.
+ */
+final class LocalFileResource extends AbstractResource {
+
+    private final OpenFileCache openFiles;
+    private final Path path;
+    private final long size;
+    private final long lastModified;
+    private final int readAheadBytes;
+
+    LocalFileResource(OpenFileCache openFiles, OpenFileCache.Handle handle, int readAheadBytes) {
+        this.openFiles = openFiles;
+        this.path = handle.path;
+        this.size = handle.size;
+        this.lastModified = handle.lastModified;
+        this.readAheadBytes = readAheadBytes;
+    }
+
+    @Override
+    public boolean exists() {
+        return true; // checked by loadAsResource
+    }
+
+    @Override
+    public long contentLength() {
+        return size;
+    }
+
+    @Override
+    public long lastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public String getFilename() {
+        return path.getFileName().toString();
+    }
+
+    @Override
+    public URI getURI() {
+        return path.toUri();
+    }
+
+    @Override
+    public String getDescription() {
+        return "local storage file [" + path + "]";
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new ChannelInputStream(openFiles, openFiles.acquire(path), readAheadBytes);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof LocalFileResource that && path.equals(that.path));
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    // Not thread-safe, like any InputStream; the shared channel underneath is only read positionally
+    private static final class ChannelInputStream extends InputStream {
+        private final OpenFileCache openFiles;
+        private final OpenFileCache.Handle handle;
+        private final ByteBuffer buffer;
+        private long position; // file offset of the next byte handed to the caller
+        private boolean closed;
+
+        private ChannelInputStream(OpenFileCache openFiles, OpenFileCache.Handle handle, int readAheadBytes) {
+            this.openFiles = openFiles;
+            this.handle = handle;
+            this.buffer = ByteBuffer.allocate(Math.max(8192, readAheadBytes));
+            this.buffer.limit(0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!buffer.hasRemaining() && !fill()) {
+                return -1;
+            }
+            position++;
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining() && !fill()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(target, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, handle.size - position));
+            if (skipped <= buffer.remaining()) {
+                buffer.position(buffer.position() + (int) skipped);
+            } else {
+                buffer.limit(0);
+            }
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                openFiles.release(handle);
+            }
+        }
+
+        private boolean fill() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            buffer.clear();
+            int read = handle.channel.read(buffer, position);
+            buffer.flip();
+            return read > 0;
+        }
+    }
+}
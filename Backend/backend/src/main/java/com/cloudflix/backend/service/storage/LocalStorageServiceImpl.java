@@ -3,10 +3,12 @@ package com.cloudflix.backend.service.storage; // Assuming this package
 
 import com.cloudflix.backend.exception.StorageException; // Custom exception for storage issues
 import com.cloudflix.backend.exception.StorageFileNotFoundException; // Custom exception for file not found
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value; // For injecting configuration
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.FileSystemUtils;
 import org.springframework.util.StringUtils;
@@ -16,35 +18,43 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.Objects;
-import java.util.UUID;
 import java.util.stream.Stream;
 
 @Service("localStorageService") // Give it a qualifier name if you plan to have multiple impls
 @Profile({"local", "default"}) // Active if 'local' or 'default' profile is active, or if no profile is active
-public class LocalStorageServiceImpl implements CloudStorageService {
+public class LocalStorageServiceImpl implements CloudStorageService, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalStorageServiceImpl.class);
 
     private final Path rootLocation;
     private final String baseUrlForFiles; // For constructing URLs
+    private final OpenFileCache openFiles;
+    private final int readAheadBytes;
 
     // Constructor to initialize the storage location
     // You can inject this path from application.properties if you want it to be configurable
     public LocalStorageServiceImpl(@Value("${storage.local.root-path:uploads/videos}") String rootPath,
-                                   @Value("${storage.local.base-url:/media-files}") String baseUrl) { // Base URL for accessing files via HTTP
+                                   @Value("${storage.local.base-url:/media-files}") String baseUrl, // Base URL for accessing files via HTTP
+                                   @Value("${storage.local.max-open-files:256}") int maxOpenFiles,
+                                   @Value("${storage.local.metadata-ttl-ms:2000}") long metadataTtlMs,
+                                   @Value("${storage.local.read-ahead-bytes:65536}") int readAheadBytes) {
         if (rootPath == null || rootPath.trim().isEmpty()) {
             throw new StorageException("Local storage root path cannot be empty.");
         }
         this.rootLocation = Paths.get(rootPath).toAbsolutePath().normalize();
         this.baseUrlForFiles = baseUrl; // e.g. /api/files or /media-files
+        this.openFiles = new OpenFileCache(maxOpenFiles, metadataTtlMs);
+        this.readAheadBytes = readAheadBytes;
 
         try {
             Files.createDirectories(this.rootLocation);
-            System.out.println("Initialized local storage at: " + this.rootLocation.toString());
+            logger.info("Initialized local storage at {}", this.rootLocation);
         } catch (Exception ex) {
             throw new StorageException("Could not create the directory where the uploaded files will be stored: " + this.rootLocation.toString(), ex);
         }
@@ -55,27 +65,8 @@ public class LocalStorageServiceImpl implements CloudStorageService {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Failed to store empty or null file.");
         }
-        if (desiredBaseName == null || desiredBaseName.trim().isEmpty()) {
-            desiredBaseName = "video"; // Default base name if none provided
-        }
-
         String originalFileName = StringUtils.cleanPath(Objects.requireNonNull(file.getOriginalFilename()));
-        String fileExtension = "";
-        int lastDot = originalFileName.lastIndexOf('.');
-        if (lastDot > 0 && lastDot < originalFileName.length() - 1) {
-            fileExtension = originalFileName.substring(lastDot).toLowerCase();
-        }
-
-        String sanitizedTitlePart = desiredBaseName.replaceAll("\\s+", "_")
-                                                .replaceAll("[^a-zA-Z0-9._-]", "");
-        if (sanitizedTitlePart.length() > 100) { // Limit sanitized part length
-            sanitizedTitlePart = sanitizedTitlePart.substring(0, 100);
-        }
-        if (sanitizedTitlePart.isEmpty()) {
-            sanitizedTitlePart = "file";
-        }
-
-        String uniqueFileName = System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8) + "_" + sanitizedTitlePart + fileExtension;
+        String uniqueFileName = StorageKeys.uniqueFileName(desiredBaseName, originalFileName);
         Path targetLocation = this.rootLocation.resolve(uniqueFileName).normalize();
 
         // Ensure the target location is within the root storage location (security check)
@@ -85,7 +76,8 @@ public class LocalStorageServiceImpl implements CloudStorageService {
 
         try (InputStream inputStream = file.getInputStream()) {
             Files.copy(inputStream, targetLocation, StandardCopyOption.REPLACE_EXISTING);
-            System.out.println("Stored file: " + uniqueFileName + " at: " + targetLocation.toString());
+            openFiles.invalidate(targetLocation);
+            logger.debug("Stored file {} at {}", uniqueFileName, targetLocation);
         } catch (IOException e) {
             throw new StorageException("Failed to store file " + uniqueFileName, e);
         }
@@ -93,22 +85,49 @@ public class LocalStorageServiceImpl implements CloudStorageService {
         return uniqueFileName;
     }
 
+    // Written to a temp file first and moved into place, so readers never see a partial object
+    @Override
+    public void storeObject(String storageKey, InputStream content, long size, String contentType) throws IOException {
+        Path targetLocation = this.rootLocation.resolve(storageKey).normalize();
+        if (!targetLocation.startsWith(this.rootLocation) || targetLocation.equals(this.rootLocation)) {
+            throw new StorageException("Cannot store file outside current directory structure: " + storageKey);
+        }
+        Files.createDirectories(targetLocation.getParent());
+        Path tempFile = Files.createTempFile(targetLocation.getParent(), ".upload-", ".tmp");
+        try {
+            Files.copy(content, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, targetLocation, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            openFiles.invalidate(targetLocation);
+            logger.debug("Stored object {} at {}", storageKey, targetLocation);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
     @Override
     public Resource loadAsResource(String storageKey) {
         if (storageKey == null || storageKey.trim().isEmpty()) {
             throw new StorageFileNotFoundException("Storage key cannot be empty.");
         }
+        Path file = this.rootLocation.resolve(storageKey).normalize();
+        if (!file.startsWith(this.rootLocation)) {
+            throw new StorageFileNotFoundException("Could not read file: " + storageKey);
+        }
+        // Served from the open-file cache; repeated Range requests for a video reuse one channel
+        OpenFileCache.Handle handle;
         try {
-            Path file = this.rootLocation.resolve(storageKey).normalize();
-            Resource resource = new UrlResource(file.toUri());
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                System.err.println("Could not read file (loadAsResource): " + file.toString());
-                throw new StorageFileNotFoundException("Could not read file: " + storageKey);
-            }
-        } catch (MalformedURLException e) {
-            throw new StorageFileNotFoundException("Could not read file (Malformed URL): " + storageKey, e);
+            handle = openFiles.acquire(file);
+        } catch (NoSuchFileException e) {
+            logger.warn("Could not read file (loadAsResource): {}", file);
+            throw new StorageFileNotFoundException("Could not read file: " + storageKey, e);
+        } catch (IOException e) {
+            logger.warn("Could not read file (loadAsResource): {}: {}", file, e.getMessage());
+            throw new StorageFileNotFoundException("Could not read file: " + storageKey, e);
+        }
+        try {
+            return new LocalFileResource(openFiles, handle, readAheadBytes);
+        } finally {
+            openFiles.release(handle);
         }
     }
 
@@ -131,12 +150,16 @@ public class LocalStorageServiceImpl implements CloudStorageService {
             Path filePath = this.rootLocation.resolve(storageKey).normalize();
             // Security check: ensure file is within root location
             if (!filePath.startsWith(this.rootLocation)) {
-                 System.err.println("Attempt to delete file outside storage root: " + filePath);
+                 logger.warn("Attempt to delete file outside storage root: {}", filePath);
                 return false;
             }
-            return Files.deleteIfExists(filePath);
+            // Streams still reading the file keep their channel; the cache just stops handing it out
+            openFiles.invalidate(filePath);
+            // A file that is already gone counts as deleted, as on the S3 and Azure backends
+            Files.deleteIfExists(filePath);
+            return true;
         } catch (IOException ex) {
-            System.err.println("Error deleting file from local storage: " + storageKey + " - " + ex.getMessage());
+            logger.warn("Error deleting file {} from local storage: {}", storageKey, ex.getMessage());
             // Depending on policy, you might want to throw StorageException here
             return false;
         }
@@ -147,8 +170,14 @@ public class LocalStorageServiceImpl implements CloudStorageService {
         return this.rootLocation;
     }
 
+    @Override
+    public void destroy() {
+        openFiles.clear();
+    }
+
     // Optional: Method to delete all files (useful for cleanup in dev/test)
     public void deleteAll() {
+        openFiles.clear();
         FileSystemUtils.deleteRecursively(rootLocation.toFile());
     }
 
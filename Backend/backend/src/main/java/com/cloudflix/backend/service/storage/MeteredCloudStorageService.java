@@ -0,0 +1,168 @@
+// src/main/java/com/cloudflix/backend/service/storage/MeteredCloudStorageService.java
+package com.cloudflix.backend.service.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Decorates the active CloudStorageService with Micrometer meters, so every backend reports the same
+ * series: cloudflix.storage.operations (timer, tagged backend/operation/outcome/exception) and
+ * cloudflix.storage.bytes.stored. Applied to whichever implementation the profile selects by
+ * {@link com.cloudflix.backend.config.MetricsConfig}.
+ */
+public class MeteredCloudStorageService implements CloudStorageService, DisposableBean {
+
+    static final String OPERATIONS_METER = "cloudflix.storage.operations";
+    static final String STORED_BYTES_METER = "cloudflix.storage.bytes.stored";
+    static final String DELETED_OBJECTS_METER = "cloudflix.storage.objects.deleted";
+
+    @FunctionalInterface
+    private interface StorageCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final CloudStorageService delegate;
+    private final MeterRegistry registry;
+    private final String backend;
+    private final Counter storedBytes;
+
+    public MeteredCloudStorageService(CloudStorageService delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.backend = backendName(delegate);
+        this.storedBytes = Counter.builder(STORED_BYTES_METER)
+                .description("Bytes written to video storage")
+                .baseUnit("bytes")
+                .tag("backend", backend)
+                .register(registry);
+    }
+
+    public CloudStorageService getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String store(MultipartFile file, String desiredBaseName) throws IOException, IllegalArgumentException {
+        return record("store", () -> {
+            String key = delegate.store(file, desiredBaseName);
+            storedBytes.increment(file.getSize());
+            return key;
+        });
+    }
+
+    @Override
+    public void storeObject(String storageKey, InputStream content, long size, String contentType) throws IOException {
+        record("storeObject", () -> {
+            delegate.storeObject(storageKey, content, size, contentType);
+            storedBytes.increment(size);
+            return null;
+        });
+    }
+
+    @Override
+    public Resource loadAsResource(String storageKey) {
+        return record("load", () -> delegate.loadAsResource(storageKey));
+    }
+
+    @Override
+    public String getFileUrl(String storageKey) {
+        return record("url", () -> delegate.getFileUrl(storageKey));
+    }
+
+    @Override
+    public boolean delete(String storageKey) {
+        // delete() reports "could not delete" as false rather than throwing, so count that as an error too
+        Timer.Sample sample = Timer.start(registry);
+        boolean deleted = false;
+        String exception = "none";
+        try {
+            deleted = delegate.delete(storageKey);
+            return deleted;
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(timer("delete", deleted ? "success" : "error", exception));
+        }
+    }
+
+    @Override
+    public Set<String> deleteBatch(Collection<String> storageKeys) {
+        Set<String> failed = record("deleteBatch", () -> delegate.deleteBatch(storageKeys));
+        Counter.builder(DELETED_OBJECTS_METER)
+                .description("Objects removed from video storage by batch deletes")
+                .tag("backend", backend)
+                .tag("outcome", "success")
+                .register(registry)
+                .increment(storageKeys.size() - failed.size());
+        Counter.builder(DELETED_OBJECTS_METER)
+                .tag("backend", backend)
+                .tag("outcome", "error")
+                .register(registry)
+                .increment(failed.size());
+        return failed;
+    }
+
+    @Override
+    public Path getRootLocation() {
+        return delegate.getRootLocation();
+    }
+
+    @Override
+    public StorageInitialization initialization() {
+        return delegate.initialization();
+    }
+
+    // The container only sees this wrapper, so shutdown callbacks have to be passed on
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
+    private <T, E extends Exception> T record(String operation, StorageCall<T, E> call) throws E {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            T result = call.call();
+            sample.stop(timer(operation, "success", "none"));
+            return result;
+        } catch (Exception e) {
+            sample.stop(timer(operation, "error", e.getClass().getSimpleName()));
+            throw e;
+        }
+    }
+
+    private Timer timer(String operation, String outcome, String exception) {
+        return Timer.builder(OPERATIONS_METER)
+                .description("Latency of video storage operations")
+                .tag("backend", backend)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(registry);
+    }
+
+    static String backendName(CloudStorageService service) {
+        if (service instanceof LocalStorageServiceImpl) {
+            return "local";
+        }
+        if (service instanceof S3StorageServiceImpl) {
+            return "s3";
+        }
+        if (service instanceof AzureBlobStorageServiceImpl) {
+            return "azure";
+        }
+        return service.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,180 @@
+// src/main/java/com/cloudflix/backend/service/storage/OpenFileCache.java
+package com.cloudflix.backend.service.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded LRU cache of open read-only FileChannels, plus the size and modification time of each file,
+ * for LocalStorageServiceImpl.
+ *
+ * A player fetches a video as a long series of Range requests, and each used to open, stat and close
+ * the file again. Channels here are shared between requests and only read positionally
+ * (FileChannel.read(dst, position)), so concurrent streams never move a shared file pointer.
+ *
+ * Handles are reference counted: eviction or invalidation removes a handle from the cache, but its
+ * channel is closed only when the last reader releases it. A cached handle is re-checked against the
+ * file's size, modification time and file key once it is older than the metadata TTL, so a file that
+ * was replaced or deleted outside the application is reopened or reported missing. Changes made
+ * through LocalStorageServiceImpl call invalidate() and take effect immediately.
+ */
+final class OpenFileCache {
+
+    static final class Handle {
+        final Path path;
+        final FileChannel channel;
+        final long size;
+        final long lastModified;
+        private final Object fileKey;
+        private long verifiedAtNanos;
+        private int references;
+        private boolean retired;
+
+        private Handle(Path path, FileChannel channel, BasicFileAttributes attributes, long now) {
+            this.path = path;
+            this.channel = channel;
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.fileKey = attributes.fileKey();
+            this.verifiedAtNanos = now;
+        }
+
+        private boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size()
+                    && lastModified == attributes.lastModifiedTime().toMillis()
+                    && Objects.equals(fileKey, attributes.fileKey());
+        }
+    }
+
+    private final int maxOpenFiles;
+    private final long metadataTtlNanos;
+    // Access-ordered, so iteration starts at the least recently used handle
+    private final LinkedHashMap<Path, Handle> handles = new LinkedHashMap<>(64, 0.75f, true);
+
+    OpenFileCache(int maxOpenFiles, long metadataTtlMillis) {
+        this.maxOpenFiles = Math.max(1, maxOpenFiles);
+        this.metadataTtlNanos = Math.max(0, metadataTtlMillis) * 1_000_000L;
+    }
+
+    /**
+     * Returns an open handle on path, holding one reference that the caller must give back with
+     * release(). Throws NoSuchFileException when the file does not exist.
+     */
+    Handle acquire(Path path) throws IOException {
+        synchronized (this) {
+            Handle cached = handles.get(path);
+            if (cached != null && System.nanoTime() - cached.verifiedAtNanos < metadataTtlNanos) {
+                cached.references++;
+                return cached;
+            }
+        }
+
+        // Stat and open outside the lock; a slow disk should only stall the requests that need it
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        synchronized (this) {
+            Handle cached = handles.get(path);
+            if (cached != null && cached.matches(attributes)) {
+                cached.verifiedAtNanos = System.nanoTime();
+                cached.references++;
+                return cached;
+            }
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        Handle opened = new Handle(path, channel, attributes, System.nanoTime());
+        List<Handle> evicted = new ArrayList<>();
+        Handle result;
+        synchronized (this) {
+            Handle cached = handles.get(path);
+            if (cached != null && cached.matches(attributes)) {
+                // Another request opened the same file meanwhile
+                cached.references++;
+                result = cached;
+                evicted.add(opened);
+            } else {
+                if (cached != null) {
+                    handles.remove(path);
+                    retire(cached, evicted);
+                }
+                opened.references = 1;
+                handles.put(path, opened);
+                Iterator<Handle> eldest = handles.values().iterator();
+                while (handles.size() > maxOpenFiles && eldest.hasNext()) {
+                    Handle victim = eldest.next();
+                    eldest.remove();
+                    retire(victim, evicted);
+                }
+                result = opened;
+            }
+        }
+        closeAll(evicted);
+        return result;
+    }
+
+    void release(Handle handle) {
+        boolean close;
+        synchronized (this) {
+            handle.references--;
+            close = handle.retired && handle.references == 0;
+        }
+        if (close) {
+            closeQuietly(handle.channel);
+        }
+    }
+
+    /** Drops the cached handle for path, e.g. because the file was replaced or is about to be deleted. */
+    void invalidate(Path path) {
+        List<Handle> toClose = new ArrayList<>(1);
+        synchronized (this) {
+            Handle cached = handles.remove(path);
+            if (cached != null) {
+                retire(cached, toClose);
+            }
+        }
+        closeAll(toClose);
+    }
+
+    synchronized int openFileCount() {
+        return handles.size();
+    }
+
+    void clear() {
+        List<Handle> toClose = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<Path, Handle> entry : handles.entrySet()) {
+                retire(entry.getValue(), toClose);
+            }
+            handles.clear();
+        }
+        closeAll(toClose);
+    }
+
+    // Caller holds the lock; channels are collected and closed after it is released
+    private static void retire(Handle handle, List<Handle> toClose) {
+        handle.retired = true;
+        if (handle.references == 0) {
+            toClose.add(handle);
+        }
+    }
+
+    private static void closeAll(List<Handle> handles) {
+        handles.forEach(handle -> closeQuietly(handle.channel));
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Read-only channel; nothing was written that could be lost
+        }
+    }
+}
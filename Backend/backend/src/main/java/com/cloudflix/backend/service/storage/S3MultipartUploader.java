@@ -0,0 +1,287 @@
+// src/main/java/com/cloudflix/backend/service/storage/S3MultipartUploader.java
+package com.cloudflix.backend.service.storage;
+
+import com.cloudflix.backend.exception.StorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsRequest;
+import software.amazon.awssdk.services.s3.model.MultipartUpload;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Uploads large objects to S3 as a multipart upload, with several parts in flight at once.
+ *
+ * The caller's stream is read sequentially into part buffers and each filled part is sent on a
+ * shared, fixed-size pool. Buffers come from a pool of concurrency + 1 (one being filled while the
+ * others upload), so memory stays at (concurrency + 1) x partSize however many uploads run at the
+ * same time: a reader that finds no free buffer waits for a part to finish. A failed part is retried
+ * on its own; if it still fails, the remaining parts are not sent and the multipart upload is
+ * aborted so S3 does not keep (and bill for) the parts already stored. Uploads that were never
+ * completed or aborted, e.g. because the process died, are cleaned up by abortStaleUploads().
+ */
+public class S3MultipartUploader {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3MultipartUploader.class);
+
+    /** S3 limits: parts are 5 MiB to 5 GiB (except the last), at most 10,000 per upload. */
+    public static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    private static final int MAX_PARTS = 10_000;
+    private static final long RETRY_BASE_DELAY_MS = 200;
+
+    private final Supplier<S3Client> s3Client;
+    private final String bucketName;
+    private final int partSize;
+    private final int maxPartAttempts;
+    private final ExecutorService partUploads;
+    private final BlockingQueue<byte[]> freeBuffers = new LinkedBlockingQueue<>();
+    private final AtomicInteger allocatedBuffers = new AtomicInteger();
+    private final int maxBuffers;
+
+    public S3MultipartUploader(Supplier<S3Client> s3Client, String bucketName, long partSize, int concurrency, int maxPartAttempts) {
+        if (partSize < MIN_PART_SIZE || partSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Multipart part size must be between 5 MiB and 2 GiB, was " + partSize);
+        }
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+        this.partSize = (int) partSize;
+        this.maxPartAttempts = Math.max(1, maxPartAttempts);
+        int threads = Math.max(1, concurrency);
+        this.maxBuffers = threads + 1;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.partUploads = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "s3-part-upload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Uploads exactly size bytes from content to key. The stream is read to the end but not closed.
+     *
+     * @throws StorageException if a part still fails after its retries; the upload has been aborted by then.
+     */
+    public void upload(String key, InputStream content, long size, String contentType) throws IOException {
+        if ((size + partSize - 1) / partSize > MAX_PARTS) {
+            throw new StorageException("Object " + key + " (" + size + " bytes) needs more than " + MAX_PARTS
+                    + " parts of " + partSize + " bytes; increase the part size");
+        }
+        String uploadId = s3Client.get().createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        List<Future<CompletedPart>> parts = new ArrayList<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long started = System.nanoTime();
+        try {
+            long remaining = size;
+            // Stops reading further parts as soon as one part has failed for good
+            for (int partNumber = 1; remaining > 0 && failure.get() == null; partNumber++) {
+                int length = (int) Math.min(partSize, remaining);
+                byte[] buffer = takeBuffer();
+                int read;
+                try {
+                    read = content.readNBytes(buffer, 0, length);
+                } catch (IOException | RuntimeException e) {
+                    returnBuffer(buffer);
+                    throw e;
+                }
+                if (read < length) {
+                    returnBuffer(buffer);
+                    throw new IOException("Upload stream for " + key + " ended after " + (size - remaining + read) + " of " + size + " bytes");
+                }
+                remaining -= length;
+                int number = partNumber;
+                parts.add(partUploads.submit(() -> uploadPart(key, uploadId, number, buffer, length, failure)));
+            }
+
+            List<CompletedPart> completed = new ArrayList<>(parts.size());
+            for (Future<CompletedPart> part : parts) {
+                CompletedPart done = part.get();
+                if (done != null) {
+                    completed.add(done);
+                }
+            }
+            Throwable failed = failure.get();
+            if (failed != null) {
+                throw new StorageException("Failed to upload " + key + " to S3: " + failed.getMessage(), failed);
+            }
+            completed.sort(Comparator.comparing(CompletedPart::partNumber));
+            s3Client.get().completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                    .build());
+            logger.debug("Multipart upload of {} ({} bytes, {} parts) took {} ms", key, size, completed.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (InterruptedException e) {
+            abort(key, uploadId, parts, failure, e);
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while uploading " + key, e);
+        } catch (ExecutionException e) {
+            abort(key, uploadId, parts, failure, e.getCause());
+            throw new StorageException("Failed to upload " + key + " to S3: " + e.getCause().getMessage(), e.getCause());
+        } catch (IOException | RuntimeException e) {
+            abort(key, uploadId, parts, failure, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Aborts multipart uploads under prefix that were started before now - olderThan. Such uploads were
+     * left behind by a crashed or killed instance; their parts are billed until aborted.
+     *
+     * @return the number of uploads aborted.
+     */
+    public int abortStaleUploads(String prefix, Duration olderThan) {
+        Instant cutoff = Instant.now().minus(olderThan);
+        int aborted = 0;
+        for (MultipartUpload upload : s3Client.get().listMultipartUploadsPaginator(ListMultipartUploadsRequest.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .build()).uploads()) {
+            if (upload.initiated() != null && upload.initiated().isBefore(cutoff)) {
+                try {
+                    s3Client.get().abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                            .bucket(bucketName)
+                            .key(upload.key())
+                            .uploadId(upload.uploadId())
+                            .build());
+                    aborted++;
+                } catch (SdkException e) {
+                    logger.warn("Could not abort stale multipart upload {} of {}: {}", upload.uploadId(), upload.key(), e.getMessage());
+                }
+            }
+        }
+        return aborted;
+    }
+
+    public void shutdown() {
+        partUploads.shutdownNow();
+        freeBuffers.clear();
+    }
+
+    private CompletedPart uploadPart(String key, String uploadId, int partNumber, byte[] buffer, int length,
+                                     AtomicReference<Throwable> failure) {
+        try {
+            if (failure.get() != null) {
+                return null; // the upload is being aborted; don't send more parts
+            }
+            UploadPartRequest request = UploadPartRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .contentLength((long) length)
+                    .build();
+            // A content provider (not fromBytes) so the SDK streams from our buffer instead of copying it
+            RequestBody body = RequestBody.fromContentProvider(() -> new ByteArrayInputStream(buffer, 0, length), length, "application/octet-stream");
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    String eTag = s3Client.get().uploadPart(request, body).eTag();
+                    return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+                } catch (SdkException e) {
+                    if (attempt >= maxPartAttempts || !isRetryable(e) || failure.get() != null) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    }
+                    long delay = RETRY_BASE_DELAY_MS << (attempt - 1);
+                    logger.debug("Part {} of {} failed (attempt {}), retrying in {} ms: {}", partNumber, key, attempt, delay, e.getMessage());
+                    Thread.sleep(delay);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            StorageException interrupted = new StorageException("Interrupted while uploading part " + partNumber + " of " + key, e);
+            failure.compareAndSet(null, interrupted);
+            throw interrupted;
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+            throw e;
+        } finally {
+            returnBuffer(buffer);
+        }
+    }
+
+    // Client errors (other than throttling and timeouts) will not succeed on a retry, e.g. NoSuchUpload
+    private static boolean isRetryable(SdkException e) {
+        if (e instanceof S3Exception s3) {
+            int status = s3.statusCode();
+            return status >= 500 || status == 408 || status == 429;
+        }
+        return true;
+    }
+
+    // Parts still queued see the failure and return without uploading; waiting for them keeps a part
+    // from landing after the abort and hands every buffer back to the pool
+    private void abort(String key, String uploadId, List<Future<CompletedPart>> parts, AtomicReference<Throwable> failure, Throwable cause) {
+        failure.compareAndSet(null, cause);
+        for (Future<CompletedPart> part : parts) {
+            try {
+                part.get();
+            } catch (ExecutionException ignored) {
+                // already reported through the first failure
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        try {
+            s3Client.get().abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            logger.info("Aborted multipart upload {} of {}", uploadId, key);
+        } catch (SdkException e) {
+            // Left for abortStaleUploads (or a bucket lifecycle rule) to clean up
+            logger.warn("Could not abort multipart upload {} of {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    private byte[] takeBuffer() throws InterruptedException {
+        byte[] buffer = freeBuffers.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+        if (allocatedBuffers.incrementAndGet() <= maxBuffers) {
+            return new byte[partSize];
+        }
+        allocatedBuffers.decrementAndGet();
+        return freeBuffers.take();
+    }
+
+    private void returnBuffer(byte[] buffer) {
+        freeBuffers.offer(buffer);
+    }
+}
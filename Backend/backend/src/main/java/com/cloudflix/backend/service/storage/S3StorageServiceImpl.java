@@ -5,18 +5,24 @@ import com.cloudflix.backend.exception.StorageException;
 import com.cloudflix.backend.exception.StorageFileNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.core.io.UrlResource; // Used for pre-signed URLs
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
@@ -26,27 +32,53 @@ import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequ
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URL;
 import java.nio.file.Path; // Not directly used for S3 paths, but for interface
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Set;
 
 @Service("s3StorageService")
 @Profile("aws") // This bean will be active when the 'aws' Spring profile is active
-public class S3StorageServiceImpl implements CloudStorageService {
+public class S3StorageServiceImpl implements CloudStorageService, DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(S3StorageServiceImpl.class);
+    private static final int MAX_KEYS_PER_DELETE = 1000;
+    // Key prefixes this service writes under (store() and content-addressed storeObject())
+    private static final String[] UPLOAD_PREFIXES = {"videos/", "cas/"};
 
     private final String bucketName;
-    private final S3Client s3Client;
-    private final S3Presigner s3Presigner;
+    // Built on first use (or by the background initialization), not in the constructor
+    private final SingletonSupplier<S3Client> s3Client;
+    private final SingletonSupplier<S3Presigner> s3Presigner;
+    private final StorageInitialization initialization;
     private final long presignedUrlDurationMinutes;
+    private final SignedUrlCache signedUrls;
+    private final S3MultipartUploader multipartUploader;
+    private final long multipartThresholdBytes;
+    private final Duration orphanedUploadMaxAge;
 
     public S3StorageServiceImpl(
             @Value("${aws.s3.bucket-name}") String bucketName,
             @Value("${aws.s3.region}") String region,
-            @Value("${aws.s3.presigned-url.duration-minutes:15}") long presignedUrlDurationMinutes) {
+            @Value("${aws.s3.presigned-url.duration-minutes:15}") long presignedUrlDurationMinutes,
+            @Value("${storage.signed-url.min-remaining-fraction:0.5}") double minRemainingFraction,
+            @Value("${storage.signed-url.refresh-ahead-fraction:0.75}") double refreshAheadFraction,
+            @Value("${storage.signed-url.max-entries:10000}") int maxCachedUrls,
+            @Value("${storage.init.initial-backoff:1s}") Duration initInitialBackoff,
+            @Value("${storage.init.max-backoff:30s}") Duration initMaxBackoff,
+            @Value("${aws.s3.endpoint:}") String endpoint,
+            @Value("${aws.s3.path-style-access:false}") boolean pathStyleAccess,
+            @Value("${aws.s3.multipart.threshold:16MB}") DataSize multipartThreshold,
+            @Value("${aws.s3.multipart.part-size:8MB}") DataSize multipartPartSize,
+            @Value("${aws.s3.multipart.concurrency:4}") int multipartConcurrency,
+            @Value("${aws.s3.multipart.max-part-attempts:3}") int maxPartAttempts,
+            @Value("${aws.s3.multipart.orphan-max-age:24h}") Duration orphanedUploadMaxAge) {
 
         if (bucketName == null || bucketName.trim().isEmpty()) {
             throw new StorageException("AWS S3 bucket name cannot be empty.");
@@ -57,6 +89,7 @@ public class S3StorageServiceImpl implements CloudStorageService {
 
         this.bucketName = bucketName;
         this.presignedUrlDurationMinutes = presignedUrlDurationMinutes;
+        this.signedUrls = new SignedUrlCache("s3", this::presign, minRemainingFraction, refreshAheadFraction, maxCachedUrls);
 
         // SDK will automatically attempt to find credentials from the chain:
         // 1. Java system properties (aws.accessKeyId, aws.secretKey)
@@ -64,17 +97,43 @@ public class S3StorageServiceImpl implements CloudStorageService {
         // 3. Web Identity Token credentials
         // 4. Shared credentials and config files (~/.aws/credentials, ~/.aws/config)
         // 5. EC2 Instance Profile / ECS Task Role / EKS IAM Role for Service Account
-        this.s3Client = S3Client.builder()
-                .region(software.amazon.awssdk.regions.Region.of(region))
-                .credentialsProvider(DefaultCredentialsProvider.create()) // Uses default credential chain
-                .build();
+        AwsCredentialsProvider credentialsProvider = DefaultCredentialsProvider.create(); // Uses default credential chain
+        // aws.s3.endpoint points the clients at an S3-compatible store (MinIO, LocalStack) instead of AWS
+        URI endpointOverride = StringUtils.hasText(endpoint) ? URI.create(endpoint) : null;
+        this.s3Client = SingletonSupplier.of(() -> {
+            var builder = S3Client.builder()
+                    .region(software.amazon.awssdk.regions.Region.of(region))
+                    .credentialsProvider(credentialsProvider)
+                    .forcePathStyle(pathStyleAccess);
+            if (endpointOverride != null) {
+                builder.endpointOverride(endpointOverride);
+            }
+            return builder.build();
+        });
 
-        this.s3Presigner = S3Presigner.builder()
-                .region(software.amazon.awssdk.regions.Region.of(region))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+        this.s3Presigner = SingletonSupplier.of(() -> {
+            var builder = S3Presigner.builder()
+                    .region(software.amazon.awssdk.regions.Region.of(region))
+                    .credentialsProvider(credentialsProvider)
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyleAccess).build());
+            if (endpointOverride != null) {
+                builder.endpointOverride(endpointOverride);
+            }
+            return builder.build();
+        });
+
+        this.multipartThresholdBytes = Math.max(multipartThreshold.toBytes(), S3MultipartUploader.MIN_PART_SIZE);
+        this.multipartUploader = new S3MultipartUploader(s3Client, bucketName, multipartPartSize.toBytes(), multipartConcurrency, maxPartAttempts);
+        this.orphanedUploadMaxAge = orphanedUploadMaxAge;
 
-        logger.info("S3StorageService initialized for bucket: {} in region: {}", bucketName, region);
+        // Walking the credential chain can mean instance-metadata calls; do it off the startup thread
+        this.initialization = StorageInitialization.inBackground("s3", () -> {
+            credentialsProvider.resolveCredentials();
+            s3Client.obtain();
+            s3Presigner.obtain();
+        }, initInitialBackoff, initMaxBackoff);
+
+        logger.info("S3StorageService created for bucket: {} in region: {}, clients initializing in the background", bucketName, region);
     }
 
     @Override
@@ -82,28 +141,10 @@ public class S3StorageServiceImpl implements CloudStorageService {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Failed to store empty or null file.");
         }
-        if (desiredBaseName == null || desiredBaseName.trim().isEmpty()) {
-            desiredBaseName = "video";
-        }
-
         String originalFileName = StringUtils.cleanPath(Objects.requireNonNull(file.getOriginalFilename()));
-        String fileExtension = "";
-        int lastDot = originalFileName.lastIndexOf('.');
-        if (lastDot > 0 && lastDot < originalFileName.length() - 1) {
-            fileExtension = originalFileName.substring(lastDot).toLowerCase();
-        }
 
-        String sanitizedTitlePart = desiredBaseName.replaceAll("\\s+", "_")
-                .replaceAll("[^a-zA-Z0-9._-]", "");
-        if (sanitizedTitlePart.length() > 100) {
-            sanitizedTitlePart = sanitizedTitlePart.substring(0, 100);
-        }
-        if (sanitizedTitlePart.isEmpty()) {
-            sanitizedTitlePart = "file";
-        }
-        
         // S3 object keys often include "paths" for organization, e.g., "videos/"
-        String objectKey = "videos/" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8) + "_" + sanitizedTitlePart + fileExtension;
+        String objectKey = "videos/" + StorageKeys.uniqueFileName(desiredBaseName, originalFileName);
 
 
         // Determine Content-Type from the uploaded file
@@ -118,15 +159,7 @@ public class S3StorageServiceImpl implements CloudStorageService {
         }
         logger.info("Determined Content-Type for S3 upload: {}", contentType);
         try (InputStream inputStream = file.getInputStream()) {
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(objectKey)
-                    .contentType(contentType)
-                    // Optional: .contentDisposition("inline") if you want to strongly suggest inline playback
-                    //.contentType(file.getContentType()) // Optional: S3 can often infer or set it
-                    .build();
-
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(inputStream, file.getSize()));
+            upload(objectKey, inputStream, file.getSize(), contentType);
             logger.info("Successfully uploaded {} to S3 bucket {} with key {} and Content-Type {}", originalFileName, bucketName, objectKey, contentType);
             return objectKey; // Return the S3 object key
         } catch (SdkException e) { // Catch AWS SDK specific exceptions
@@ -135,6 +168,55 @@ public class S3StorageServiceImpl implements CloudStorageService {
         }
     }
 
+    @Override
+    public void storeObject(String storageKey, InputStream content, long size, String contentType) throws IOException {
+        try {
+            upload(storageKey, content, size, contentType);
+            logger.info("Uploaded {} bytes to S3 bucket {} with key {}", size, bucketName, storageKey);
+        } catch (SdkException e) {
+            logger.error("Error uploading object {} to S3: {}", storageKey, e.getMessage(), e);
+            throw new StorageException("Failed to store object " + storageKey + " to S3. " + e.getMessage(), e);
+        }
+    }
+
+    // Large objects go up as a parallel multipart upload; one PUT is cheaper for small ones
+    private void upload(String objectKey, InputStream content, long size, String contentType) throws IOException {
+        if (size >= multipartThresholdBytes) {
+            multipartUploader.upload(objectKey, content, size, contentType);
+            return;
+        }
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey)
+                .contentType(contentType)
+                // Optional: .contentDisposition("inline") if you want to strongly suggest inline playback
+                .build();
+        s3Client.obtain().putObject(putObjectRequest, RequestBody.fromInputStream(content, size));
+    }
+
+    /**
+     * Aborts multipart uploads that were never completed, e.g. because an instance died mid-upload;
+     * S3 bills for their parts until then. A bucket lifecycle rule (AbortIncompleteMultipartUpload)
+     * does the same on the S3 side and is worth configuring as well.
+     */
+    @Scheduled(fixedDelayString = "${aws.s3.multipart.orphan-sweep-interval-ms:3600000}",
+               initialDelayString = "${aws.s3.multipart.orphan-sweep-initial-delay-ms:600000}")
+    public void abortOrphanedMultipartUploads() {
+        if (!initialization.isReady()) {
+            return;
+        }
+        for (String prefix : UPLOAD_PREFIXES) {
+            try {
+                int aborted = multipartUploader.abortStaleUploads(prefix, orphanedUploadMaxAge);
+                if (aborted > 0) {
+                    logger.info("Aborted {} orphaned multipart upload(s) under {} in S3 bucket {}", aborted, prefix, bucketName);
+                }
+            } catch (SdkException e) {
+                logger.warn("Could not list multipart uploads under {} in S3 bucket {}: {}", prefix, bucketName, e.getMessage());
+            }
+        }
+    }
+
     @Override
     public Resource loadAsResource(String storageKey) {
         // For direct streaming through the backend (less efficient than pre-signed URLs for S3):
@@ -164,6 +246,10 @@ public class S3StorageServiceImpl implements CloudStorageService {
         if (storageKey == null || storageKey.trim().isEmpty()) {
             throw new IllegalArgumentException("Storage key cannot be null or empty for generating URL.");
         }
+        return signedUrls.get(storageKey);
+    }
+
+    private SignedUrlCache.SignedUrl presign(String storageKey) {
         try {
             GetObjectRequest getObjectRequest = GetObjectRequest.builder()
                     .bucket(bucketName)
@@ -175,10 +261,10 @@ public class S3StorageServiceImpl implements CloudStorageService {
                     .getObjectRequest(getObjectRequest)
                     .build();
 
-            PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
+            PresignedGetObjectRequest presignedRequest = s3Presigner.obtain().presignGetObject(presignRequest);
             String url = presignedRequest.url().toString();
             logger.debug("Generated pre-signed URL for {}: {}", storageKey, url);
-            return url;
+            return new SignedUrlCache.SignedUrl(url, presignedRequest.expiration());
         } catch (S3Exception e) {
             logger.error("Error generating pre-signed URL for key {}: {}", storageKey, e.getMessage(), e);
             throw new StorageException("Could not generate pre-signed URL for file: " + storageKey, e);
@@ -190,12 +276,13 @@ public class S3StorageServiceImpl implements CloudStorageService {
         if (storageKey == null || storageKey.trim().isEmpty()) {
             return false;
         }
+        signedUrls.invalidate(storageKey);
         try {
             DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
                     .bucket(bucketName)
                     .key(storageKey)
                     .build();
-            s3Client.deleteObject(deleteObjectRequest);
+            s3Client.obtain().deleteObject(deleteObjectRequest);
             logger.info("Successfully deleted {} from S3 bucket {}", storageKey, bucketName);
             return true;
         } catch (S3Exception e) {
@@ -206,6 +293,33 @@ public class S3StorageServiceImpl implements CloudStorageService {
         }
     }
 
+    // DeleteObjects takes up to 1000 keys per request; missing keys are reported as deleted
+    @Override
+    public Set<String> deleteBatch(Collection<String> storageKeys) {
+        Set<String> failed = new HashSet<>();
+        List<String> keys = new ArrayList<>(storageKeys);
+        keys.forEach(signedUrls::invalidate);
+        for (int from = 0; from < keys.size(); from += MAX_KEYS_PER_DELETE) {
+            List<String> chunk = keys.subList(from, Math.min(keys.size(), from + MAX_KEYS_PER_DELETE));
+            List<ObjectIdentifier> objects = new ArrayList<>(chunk.size());
+            chunk.forEach(key -> objects.add(ObjectIdentifier.builder().key(key).build()));
+            try {
+                DeleteObjectsResponse response = s3Client.obtain().deleteObjects(DeleteObjectsRequest.builder()
+                        .bucket(bucketName)
+                        .delete(Delete.builder().objects(objects).quiet(true).build())
+                        .build());
+                for (S3Error error : response.errors()) {
+                    logger.warn("Could not delete {} from S3 bucket {}: {} {}", error.key(), bucketName, error.code(), error.message());
+                    failed.add(error.key());
+                }
+            } catch (SdkException e) {
+                logger.warn("DeleteObjects for {} keys in S3 bucket {} failed: {}", chunk.size(), bucketName, e.getMessage());
+                failed.addAll(chunk);
+            }
+        }
+        return failed;
+    }
+
     @Override
     public Path getRootLocation() {
         // This concept is less relevant for S3. S3 doesn't have a "root path" in the same way.
@@ -213,6 +327,15 @@ public class S3StorageServiceImpl implements CloudStorageService {
         // For now, returning null as it's not directly used by S3 operations in the same way as local.
         return null;
     }
-    
-    
+
+    @Override
+    public StorageInitialization initialization() {
+        return initialization;
+    }
+
+    @Override
+    public void destroy() {
+        signedUrls.shutdown();
+        multipartUploader.shutdown();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+// src/main/java/com/cloudflix/backend/service/storage/SignedUrlCache.java
+package com.cloudflix.backend.service.storage;
+
+import com.cloudflix.backend.exception.StorageFileNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Signed (pre-signed / SAS) download URLs per storage key, reused while they are fresh enough.
+ *
+ * A cached URL is handed out only while more than minRemainingFraction of its lifetime is left, so a
+ * player always receives a URL that stays valid for a good part of the configured duration. Once less
+ * than refreshAheadFraction is left, the next caller still gets the cached URL but triggers a re-sign
+ * on a background thread, so steady traffic for a video never waits on signing. Concurrent misses for
+ * the same key are signed once. Entries must be invalidated when the object is deleted or replaced.
+ */
+final class SignedUrlCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignedUrlCache.class);
+
+    static final class SignedUrl {
+        final String url;
+        final Instant expiresAt;
+
+        SignedUrl(String url, Instant expiresAt) {
+            this.url = url;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    @FunctionalInterface
+    interface Signer {
+        SignedUrl sign(String storageKey);
+    }
+
+    private static final class Entry {
+        private final SignedUrl signed;
+        private final Instant issuedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private Entry(SignedUrl signed, Instant issuedAt) {
+            this.signed = signed;
+            this.issuedAt = issuedAt;
+        }
+
+        private double remainingFraction(Instant now) {
+            long lifetime = Duration.between(issuedAt, signed.expiresAt).toMillis();
+            if (lifetime <= 0) {
+                return 0;
+            }
+            return (double) Duration.between(now, signed.expiresAt).toMillis() / lifetime;
+        }
+    }
+
+    private final Signer signer;
+    private final double minRemainingFraction;
+    private final double refreshAheadFraction;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor refresher;
+
+    SignedUrlCache(String name, Signer signer, double minRemainingFraction, double refreshAheadFraction, int maxEntries) {
+        if (minRemainingFraction < 0 || minRemainingFraction >= 1 || refreshAheadFraction < minRemainingFraction) {
+            throw new IllegalArgumentException("Expected 0 <= min-remaining-fraction < 1 and refresh-ahead-fraction >= min-remaining-fraction");
+        }
+        this.signer = signer;
+        this.minRemainingFraction = minRemainingFraction;
+        this.refreshAheadFraction = refreshAheadFraction;
+        this.maxEntries = Math.max(1, maxEntries);
+        // One thread is plenty for re-signing; when it falls behind, callers simply sign inline later
+        this.refresher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1024), runnable -> {
+            Thread thread = new Thread(runnable, name + "-url-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    String get(String storageKey) {
+        Instant now = Instant.now();
+        Entry cached = entries.get(storageKey);
+        if (cached != null) {
+            double remaining = cached.remainingFraction(now);
+            if (remaining > minRemainingFraction) {
+                if (remaining < refreshAheadFraction) {
+                    refreshInBackground(storageKey, cached);
+                }
+                return cached.signed.url;
+            }
+        }
+        Entry entry = entries.compute(storageKey, (key, current) ->
+                current != null && current.remainingFraction(now) > minRemainingFraction
+                        ? current
+                        : new Entry(signer.sign(key), now));
+        if (entries.size() > maxEntries) {
+            trim(now);
+        }
+        return entry.signed.url;
+    }
+
+    void invalidate(String storageKey) {
+        entries.remove(storageKey);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void shutdown() {
+        refresher.shutdownNow();
+        entries.clear();
+    }
+
+    private void refreshInBackground(String storageKey, Entry stale) {
+        if (!stale.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    Entry fresh = new Entry(signer.sign(storageKey), Instant.now());
+                    entries.replace(storageKey, stale, fresh);
+                } catch (StorageFileNotFoundException e) {
+                    entries.remove(storageKey, stale); // deleted behind our back; let the next caller find out
+                } catch (RuntimeException e) {
+                    logger.debug("Background re-sign of {} failed, will retry on a later request: {}", storageKey, e.getMessage());
+                    stale.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stale.refreshing.set(false);
+        }
+    }
+
+    // Drops URLs that can no longer be handed out; if the cache is still full it starts over
+    private void trim(Instant now) {
+        entries.values().removeIf(entry -> entry.remainingFraction(now) <= minRemainingFraction);
+        if (entries.size() > maxEntries) {
+            entries.clear();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+// src/main/java/com/cloudflix/backend/service/storage/StorageDeletionService.java
+package com.cloudflix.backend.service.storage;
+
+import com.cloudflix.backend.entity.StorageDeletion;
+import com.cloudflix.backend.repository.StorageDeletionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox for storage deletions.
+ *
+ * Callers {@link #enqueue(String)} a key inside the transaction that removes the database row, so the
+ * object is deleted only if that transaction commits, and no storage round trip happens while it holds
+ * a connection. A scheduled worker claims due rows (SELECT ... FOR UPDATE SKIP LOCKED, so several
+ * instances can share the queue), deletes them with the backend's bulk API outside any transaction,
+ * then removes the rows that succeeded. Failures are retried with exponential backoff and parked as
+ * FAILED after storage.deletion.max-attempts.
+ */
+@Service
+public class StorageDeletionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageDeletionService.class);
+    private static final int MAX_BATCHES_PER_RUN = 20;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final StorageDeletionRepository storageDeletionRepository;
+    private final CloudStorageService cloudStorageService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimLease;
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public StorageDeletionService(StorageDeletionRepository storageDeletionRepository,
+                                  CloudStorageService cloudStorageService,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${storage.deletion.batch-size:500}") int batchSize,
+                                  @Value("${storage.deletion.max-attempts:10}") int maxAttempts,
+                                  @Value("${storage.deletion.initial-backoff:30s}") Duration initialBackoff,
+                                  @Value("${storage.deletion.max-backoff:6h}") Duration maxBackoff,
+                                  @Value("${storage.deletion.claim-lease:10m}") Duration claimLease) {
+        this.storageDeletionRepository = storageDeletionRepository;
+        this.cloudStorageService = cloudStorageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimLease = claimLease;
+
+        // Refreshed by the worker after every run rather than queried on each scrape
+        Gauge.builder("cloudflix.storage.deletion.queue", pendingCount, AtomicLong::get)
+                .description("Storage deletions waiting in the outbox")
+                .tag("status", "pending")
+                .register(meterRegistry);
+        Gauge.builder("cloudflix.storage.deletion.queue", failedCount, AtomicLong::get)
+                .description("Storage deletions waiting in the outbox")
+                .tag("status", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedules deletion of a storage object. Must run inside the transaction that makes the object
+     * unreachable, so the two commit or roll back together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String storageKey) {
+        if (storageKey != null && !storageKey.isBlank()) {
+            storageDeletionRepository.save(new StorageDeletion(storageKey));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${storage.deletion.initial-delay-ms:30000}",
+               fixedDelayString = "${storage.deletion.poll-interval-ms:10000}")
+    public void processDueDeletions() {
+        try {
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                if (processBatch() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Storage deletion run failed; will retry on the next run", e);
+        } finally {
+            refreshQueueGauges();
+        }
+    }
+
+    /** Claims, deletes and settles one batch of due rows; returns how many rows were claimed. */
+    int processBatch() {
+        List<StorageDeletion> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<StorageDeletion> due = storageDeletionRepository.claimDue(now, PageRequest.of(0, batchSize));
+            // The lease keeps other workers off these rows if this one dies before settling them
+            due.forEach(d -> d.setNextAttemptAt(now.plus(claimLease)));
+            return due;
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        claimed.forEach(d -> keys.add(d.getStorageKey()));
+        Set<String> failedKeys;
+        String error = "storage backend reported the object as not deleted";
+        try {
+            failedKeys = cloudStorageService.deleteBatch(keys);
+        } catch (RuntimeException e) {
+            failedKeys = keys;
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        settle(claimed, failedKeys, error);
+        return claimed.size();
+    }
+
+    private void settle(List<StorageDeletion> claimed, Set<String> failedKeys, String error) {
+        List<Long> doneIds = new ArrayList<>();
+        List<StorageDeletion> retries = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (StorageDeletion deletion : claimed) {
+            if (!failedKeys.contains(deletion.getStorageKey())) {
+                doneIds.add(deletion.getId());
+                continue;
+            }
+            int attempts = deletion.getAttempts() + 1;
+            deletion.setAttempts(attempts);
+            deletion.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (attempts >= maxAttempts) {
+                deletion.setStatus(StorageDeletion.STATUS_FAILED);
+                logger.error("Giving up deleting storage object {} after {} attempts: {}", deletion.getStorageKey(), attempts, error);
+            } else {
+                deletion.setNextAttemptAt(now.plus(backoff(attempts)));
+            }
+            retries.add(deletion);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!doneIds.isEmpty()) {
+                storageDeletionRepository.deleteAllByIdInBatch(doneIds);
+            }
+            storageDeletionRepository.saveAll(retries);
+        });
+        if (!retries.isEmpty()) {
+            logger.warn("{} of {} storage deletions failed and will be retried: {}", retries.size(), claimed.size(), error);
+        } else {
+            logger.debug("Deleted {} storage objects", doneIds.size());
+        }
+    }
+
+    // Exponential backoff with +/-20% jitter so a backend outage does not produce synchronized retry waves
+    private Duration backoff(int attempts) {
+        long base = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (capped * jitter));
+    }
+
+    private void refreshQueueGauges() {
+        try {
+            pendingCount.set(storageDeletionRepository.countByStatus(StorageDeletion.STATUS_PENDING));
+            failedCount.set(storageDeletionRepository.countByStatus(StorageDeletion.STATUS_FAILED));
+        } catch (RuntimeException e) {
+            logger.debug("Could not refresh storage deletion queue gauges: {}", e.getMessage());
+        }
+    }
+}
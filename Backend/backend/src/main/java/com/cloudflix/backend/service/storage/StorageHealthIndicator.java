@@ -0,0 +1,34 @@
+// src/main/java/com/cloudflix/backend/service/storage/StorageHealthIndicator.java
+package com.cloudflix.backend.service.storage;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the "storage" health component: OUT_OF_SERVICE while the storage backend is still
+ * initializing in the background, UP once it is ready. Included in the readiness group so a
+ * load balancer only routes traffic to instances that can reach their storage.
+ */
+@Component
+public class StorageHealthIndicator implements HealthIndicator {
+
+    private final CloudStorageService cloudStorageService;
+
+    public StorageHealthIndicator(CloudStorageService cloudStorageService) {
+        this.cloudStorageService = cloudStorageService;
+    }
+
+    @Override
+    public Health health() {
+        StorageInitialization initialization = cloudStorageService.initialization();
+        if (initialization.isReady()) {
+            return Health.up().build();
+        }
+        Health.Builder builder = Health.outOfService().withDetail("attempts", initialization.getAttempts());
+        if (initialization.getLastError() != null) {
+            builder.withDetail("lastError", initialization.getLastError());
+        }
+        return builder.build();
+    }
+}
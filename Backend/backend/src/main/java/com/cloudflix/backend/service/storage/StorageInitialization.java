@@ -0,0 +1,99 @@
+// src/main/java/com/cloudflix/backend/service/storage/StorageInitialization.java
+package com.cloudflix.backend.service.storage;
+
+import com.cloudflix.backend.exception.StorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tracks the initialization of a storage backend that talks to a remote service (credential discovery,
+ * container checks) off the startup thread. The work is retried with capped exponential backoff until
+ * it succeeds; until then the backend reports not ready through StorageHealthIndicator, and operations
+ * that cannot work without it call awaitReady().
+ */
+public final class StorageInitialization {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageInitialization.class);
+
+    static final StorageInitialization COMPLETED = new StorageInitialization();
+    static {
+        COMPLETED.ready.complete(null);
+    }
+
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    private volatile int attempts;
+    private volatile String lastError;
+
+    private StorageInitialization() {
+    }
+
+    /** Runs task on a daemon thread named after the backend, retrying failures until it succeeds. */
+    static StorageInitialization inBackground(String backend, Runnable task, Duration initialBackoff, Duration maxBackoff) {
+        StorageInitialization initialization = new StorageInitialization();
+        Thread thread = new Thread(() -> initialization.run(backend, task, initialBackoff, maxBackoff), backend + "-storage-init");
+        thread.setDaemon(true);
+        thread.start();
+        return initialization;
+    }
+
+    private void run(String backend, Runnable task, Duration initialBackoff, Duration maxBackoff) {
+        long started = System.nanoTime();
+        long backoffMs = Math.max(1, initialBackoff.toMillis());
+        while (true) {
+            attempts++;
+            try {
+                task.run();
+                lastError = null;
+                ready.complete(null);
+                logger.info("{} storage ready after {} ms ({} attempt(s))", backend, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), attempts);
+                return;
+            } catch (RuntimeException e) {
+                lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+                logger.warn("{} storage initialization failed (attempt {}), retrying in {} ms: {}", backend, attempts, backoffMs, lastError);
+            }
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ready.completeExceptionally(new StorageException(backend + " storage initialization was interrupted"));
+                return;
+            }
+            backoffMs = Math.max(1, Math.min(backoffMs * 2, maxBackoff.toMillis()));
+        }
+    }
+
+    public boolean isReady() {
+        return ready.isDone() && !ready.isCompletedExceptionally();
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /** Waits up to timeout for initialization; throws StorageException if the backend is still not ready. */
+    void awaitReady(Duration timeout) {
+        if (isReady()) {
+            return;
+        }
+        try {
+            ready.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new StorageException("Storage backend is not ready yet" + (lastError != null ? ": " + lastError : ""));
+        } catch (ExecutionException e) {
+            throw new StorageException("Storage backend failed to initialize", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while waiting for the storage backend", e);
+        }
+    }
+}
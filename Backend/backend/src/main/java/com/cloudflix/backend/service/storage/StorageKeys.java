@@ -0,0 +1,65 @@
+// src/main/java/com/cloudflix/backend/service/storage/StorageKeys.java
+package com.cloudflix.backend.service.storage;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Storage key naming shared by all CloudStorageService implementations:
+ * {@code <millis>_<8 hex chars>_<sanitized base name><.ext>} for named uploads,
+ * {@code cas/<2 hex>/<sha-256>/<8 hex chars><.ext>} for content-addressed ones and
+ * {@code thumbnails/<video id>/<width><.ext>} for generated thumbnails.
+ */
+public final class StorageKeys {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern UNSAFE_CHARS = Pattern.compile("[^a-zA-Z0-9._-]");
+    private static final int MAX_BASE_NAME_LENGTH = 100;
+
+    private StorageKeys() {}
+
+    /** Builds a new unique file name from the suggested base name and the uploaded file's name (for its extension). */
+    public static String uniqueFileName(String desiredBaseName, String originalFileName) {
+        return System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8) + "_"
+                + sanitizeBaseName(desiredBaseName) + fileExtension(originalFileName);
+    }
+
+    /**
+     * Key for content-addressed objects. The random suffix gives each stored copy of a hash its own key,
+     * so a copy being garbage-collected can never remove a newer upload of the same content.
+     */
+    public static String contentAddressedKey(String sha256Hex, String extension) {
+        return "cas/" + sha256Hex.substring(0, 2) + "/" + sha256Hex + "/"
+                + UUID.randomUUID().toString().substring(0, 8) + (extension == null ? "" : extension);
+    }
+
+    /** Key of a generated thumbnail; regenerating a video's thumbnails overwrites the same keys. */
+    public static String thumbnailKey(Long videoId, int width, String extension) {
+        return "thumbnails/" + videoId + "/" + width + extension;
+    }
+
+    /** Whitespace becomes '_', anything outside [a-zA-Z0-9._-] is dropped, and the result is capped at 100 chars. */
+    public static String sanitizeBaseName(String desiredBaseName) {
+        if (desiredBaseName == null || desiredBaseName.trim().isEmpty()) {
+            desiredBaseName = "video"; // Default base name if none provided
+        }
+        String sanitized = UNSAFE_CHARS.matcher(WHITESPACE.matcher(desiredBaseName).replaceAll("_")).replaceAll("");
+        if (sanitized.length() > MAX_BASE_NAME_LENGTH) {
+            sanitized = sanitized.substring(0, MAX_BASE_NAME_LENGTH);
+        }
+        return sanitized.isEmpty() ? "file" : sanitized;
+    }
+
+    /** Lower-cased extension including the dot (".mp4"), or "" if the name has none. */
+    public static String fileExtension(String originalFileName) {
+        if (originalFileName == null) {
+            return "";
+        }
+        int lastDot = originalFileName.lastIndexOf('.');
+        if (lastDot > 0 && lastDot < originalFileName.length() - 1) {
+            return originalFileName.substring(lastDot).toLowerCase(Locale.ROOT);
+        }
+        return "";
+    }
+}
@@ -0,0 +1,37 @@
+// src/main/java/com/cloudflix/backend/service/thumbnail/FakePosterFrameExtractor.java
+package com.cloudflix.backend.service.thumbnail;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Stand-in for environments without ffmpeg (tests, the load-test harness): draws a 1280x720 gradient
+ * whose colours are derived from the file name, so different videos still get distinguishable images.
+ */
+@Component
+@ConditionalOnProperty(name = "thumbnails.extractor", havingValue = "fake")
+public class FakePosterFrameExtractor implements PosterFrameExtractor {
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+
+    @Override
+    public BufferedImage extractPosterFrame(Resource video) {
+        int seed = String.valueOf(video.getFilename()).hashCode();
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setPaint(new GradientPaint(0, 0, new Color(seed & 0xFFFFFF), WIDTH, HEIGHT, new Color(~seed & 0xFFFFFF)));
+            graphics.fillRect(0, 0, WIDTH, HEIGHT);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+}
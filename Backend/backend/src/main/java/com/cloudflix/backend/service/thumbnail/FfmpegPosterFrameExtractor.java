@@ -0,0 +1,138 @@
+// src/main/java/com/cloudflix/backend/service/thumbnail/FfmpegPosterFrameExtractor.java
+package com.cloudflix.backend.service.thumbnail;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracts the poster frame with an external ffmpeg process.
+ *
+ * Local files are passed by path and pre-signed S3 / SAS URLs are handed to ffmpeg as-is, so it only
+ * fetches the byte ranges it needs around the seek point; anything else is copied to a temp file first.
+ * Videos shorter than thumbnails.poster-offset fall back to the first frame.
+ */
+@Component
+@ConditionalOnProperty(name = "thumbnails.extractor", havingValue = "ffmpeg", matchIfMissing = true)
+public class FfmpegPosterFrameExtractor implements PosterFrameExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(FfmpegPosterFrameExtractor.class);
+    private static final int MAX_ERROR_OUTPUT = 2000;
+
+    private final String ffmpegPath;
+    private final Duration posterOffset;
+    private final Duration timeout;
+
+    public FfmpegPosterFrameExtractor(@Value("${thumbnails.ffmpeg.path:ffmpeg}") String ffmpegPath,
+                                      @Value("${thumbnails.poster-offset:5s}") Duration posterOffset,
+                                      @Value("${thumbnails.ffmpeg.timeout:60s}") Duration timeout) {
+        this.ffmpegPath = ffmpegPath;
+        this.posterOffset = posterOffset;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public BufferedImage extractPosterFrame(Resource video) throws IOException {
+        Path spooled = null;
+        try {
+            String input = directInput(video);
+            if (input == null) {
+                spooled = Files.createTempFile("poster-source-", ".tmp");
+                try (InputStream in = video.getInputStream()) {
+                    Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+                }
+                input = spooled.toString();
+            }
+            BufferedImage frame = extractAt(input, posterOffset);
+            if (frame == null && !posterOffset.isZero()) {
+                frame = extractAt(input, Duration.ZERO); // seek point past the end of a short video
+            }
+            if (frame == null) {
+                throw new IOException("ffmpeg produced no frame for " + video.getDescription());
+            }
+            return frame;
+        } finally {
+            if (spooled != null) {
+                Files.deleteIfExists(spooled);
+            }
+        }
+    }
+
+    // A path or URL ffmpeg can open itself, or null if the resource has to be copied out first
+    private static String directInput(Resource video) {
+        try {
+            URI uri = video.getURI();
+            String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+            if (scheme.equals("file")) {
+                return Paths.get(uri).toString();
+            }
+            if (scheme.equals("http") || scheme.equals("https")) {
+                return uri.toString();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no usable URI
+        }
+        return null;
+    }
+
+    private BufferedImage extractAt(String input, Duration offset) throws IOException {
+        Path frameFile = Files.createTempFile("poster-", ".png");
+        Path logFile = Files.createTempFile("poster-", ".log");
+        try {
+            // -ss before -i seeks on the input (keyframe index), which is what keeps remote reads short
+            List<String> command = List.of(ffmpegPath, "-nostdin", "-hide_banner", "-v", "error", "-y",
+                    "-ss", String.format(Locale.ROOT, "%.3f", offset.toMillis() / 1000.0),
+                    "-i", input, "-frames:v", "1", frameFile.toString());
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile.toFile())
+                    .start();
+            boolean finished;
+            try {
+                finished = process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for ffmpeg", e);
+            }
+            if (!finished) {
+                process.destroyForcibly();
+                throw new IOException("ffmpeg did not finish within " + timeout);
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("ffmpeg exited with " + process.exitValue() + ": " + errorOutput(logFile));
+            }
+            if (Files.size(frameFile) == 0) {
+                logger.debug("ffmpeg wrote no frame at {} for {}", offset, input);
+                return null;
+            }
+            return ImageIO.read(frameFile.toFile());
+        } finally {
+            Files.deleteIfExists(frameFile);
+            Files.deleteIfExists(logFile);
+        }
+    }
+
+    private static String errorOutput(Path logFile) throws IOException {
+        String output = Files.readString(logFile, StandardCharsets.UTF_8).trim();
+        return output.length() > MAX_ERROR_OUTPUT ? output.substring(0, MAX_ERROR_OUTPUT) + "..." : output;
+    }
+}
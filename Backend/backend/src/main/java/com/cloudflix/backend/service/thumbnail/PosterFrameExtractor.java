@@ -0,0 +1,17 @@
+// src/main/java/com/cloudflix/backend/service/thumbnail/PosterFrameExtractor.java
+package com.cloudflix.backend.service.thumbnail;
+
+import org.springframework.core.io.Resource;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Pulls a single representative frame out of a stored video. Selected with thumbnails.extractor:
+ * "ffmpeg" (default) shells out to ffmpeg, "fake" draws a placeholder without decoding anything.
+ */
+public interface PosterFrameExtractor {
+
+    /** Decodes the poster frame of the video, or throws if no frame could be extracted. */
+    BufferedImage extractPosterFrame(Resource video) throws IOException;
+}
@@ -0,0 +1,42 @@
+// src/main/java/com/cloudflix/backend/service/thumbnail/Thumbnail.java
+package com.cloudflix.backend.service.thumbnail;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** Encoded thumbnail bytes with their content type and a strong ETag derived from the content. */
+public final class Thumbnail {
+
+    private final byte[] bytes;
+    private final String contentType;
+    private final String etag;
+
+    private Thumbnail(byte[] bytes, String contentType, String etag) {
+        this.bytes = bytes;
+        this.contentType = contentType;
+        this.etag = etag;
+    }
+
+    static Thumbnail of(byte[] bytes, String contentType) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return new Thumbnail(bytes, contentType, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /** Quoted strong validator, ready for the ETag header. */
+    public String getEtag() {
+        return etag;
+    }
+}
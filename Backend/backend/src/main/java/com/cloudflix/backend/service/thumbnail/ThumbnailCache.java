@@ -0,0 +1,221 @@
+// src/main/java/com/cloudflix/backend/service/thumbnail/ThumbnailCache.java
+package com.cloudflix.backend.service.thumbnail;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Two-level LRU for encoded thumbnails: a byte-bounded in-memory map in front of a byte-bounded
+ * directory on local disk. A disk hit is promoted to memory. The disk index is rebuilt from the
+ * directory on startup (oldest files first), so the cache survives restarts.
+ *
+ * Both indexes are guarded by this object's monitor; file reads and writes happen outside it.
+ */
+final class ThumbnailCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailCache.class);
+
+    enum Level { MEMORY, DISK, MISS }
+
+    private final long memoryMaxBytes;
+    private final Path diskRoot; // null when the disk level is disabled
+    private final long diskMaxBytes;
+
+    private final LinkedHashMap<String, Thumbnail> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+    // disk file name -> size
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(256, 0.75f, true);
+    private long diskBytes;
+
+    ThumbnailCache(long memoryMaxBytes, Path diskRoot, long diskMaxBytes) {
+        this.memoryMaxBytes = memoryMaxBytes;
+        this.diskMaxBytes = diskMaxBytes;
+        this.diskRoot = diskMaxBytes > 0 && diskRoot != null ? prepareDiskRoot(diskRoot) : null;
+    }
+
+    /** Cached thumbnail and the level it came from. */
+    Lookup get(String key, String contentType) {
+        synchronized (this) {
+            Thumbnail cached = memory.get(key);
+            if (cached != null) {
+                return new Lookup(cached, Level.MEMORY);
+            }
+            if (diskRoot == null || disk.get(fileName(key)) == null) {
+                return new Lookup(null, Level.MISS);
+            }
+        }
+        try {
+            Thumbnail thumbnail = Thumbnail.of(Files.readAllBytes(diskRoot.resolve(fileName(key))), contentType);
+            putInMemory(key, thumbnail);
+            return new Lookup(thumbnail, Level.DISK);
+        } catch (NoSuchFileException e) {
+            forgetOnDisk(fileName(key)); // evicted (or removed by hand) since the index was checked
+        } catch (IOException e) {
+            logger.warn("Could not read cached thumbnail {}: {}", key, e.getMessage());
+        }
+        return new Lookup(null, Level.MISS);
+    }
+
+    void put(String key, Thumbnail thumbnail) {
+        putInMemory(key, thumbnail);
+        if (diskRoot == null || thumbnail.getBytes().length > diskMaxBytes) {
+            return;
+        }
+        String name = fileName(key);
+        try {
+            Path temp = Files.createTempFile(diskRoot, ".thumb-", ".tmp");
+            try {
+                Files.write(temp, thumbnail.getBytes());
+                Files.move(temp, diskRoot.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write thumbnail {} to the disk cache: {}", key, e.getMessage());
+            return;
+        }
+        List<String> evicted;
+        synchronized (this) {
+            Long previous = disk.put(name, (long) thumbnail.getBytes().length);
+            diskBytes += thumbnail.getBytes().length - (previous == null ? 0 : previous);
+            evicted = evictFromDisk();
+        }
+        deleteFiles(evicted);
+    }
+
+    void invalidate(String key) {
+        String name = fileName(key);
+        boolean onDisk;
+        synchronized (this) {
+            Thumbnail removed = memory.remove(key);
+            if (removed != null) {
+                memoryBytes -= removed.getBytes().length;
+            }
+            Long size = disk.remove(name);
+            onDisk = size != null;
+            if (onDisk) {
+                diskBytes -= size;
+            }
+        }
+        if (onDisk) {
+            deleteFiles(List.of(name));
+        }
+    }
+
+    synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+
+    synchronized long diskBytes() {
+        return diskBytes;
+    }
+
+    private synchronized void putInMemory(String key, Thumbnail thumbnail) {
+        if (thumbnail.getBytes().length > memoryMaxBytes) {
+            return;
+        }
+        Thumbnail previous = memory.put(key, thumbnail);
+        memoryBytes += thumbnail.getBytes().length - (previous == null ? 0 : previous.getBytes().length);
+        Iterator<Thumbnail> eldest = memory.values().iterator();
+        while (memoryBytes > memoryMaxBytes && eldest.hasNext()) {
+            memoryBytes -= eldest.next().getBytes().length;
+            eldest.remove();
+        }
+    }
+
+    private synchronized void forgetOnDisk(String name) {
+        Long size = disk.remove(name);
+        if (size != null) {
+            diskBytes -= size;
+        }
+    }
+
+    // Caller holds the monitor; returns the file names to delete once it is released
+    private List<String> evictFromDisk() {
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> eldest = disk.entrySet().iterator();
+        while (diskBytes > diskMaxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            diskBytes -= entry.getValue();
+            evicted.add(entry.getKey());
+            eldest.remove();
+        }
+        return evicted;
+    }
+
+    private void deleteFiles(List<String> names) {
+        deleteAll(diskRoot, names);
+    }
+
+    private Path prepareDiskRoot(Path root) {
+        try {
+            Files.createDirectories(root);
+            try (Stream<Path> files = Files.list(root)) {
+                files.filter(Files::isRegularFile)
+                        .sorted(Comparator.comparingLong(ThumbnailCache::lastModified))
+                        .forEach(file -> {
+                            String name = file.getFileName().toString();
+                            if (name.startsWith(".")) {
+                                deleteQuietly(file); // temp file left by a crash mid-write
+                                return;
+                            }
+                            long size = file.toFile().length();
+                            disk.put(name, size);
+                            diskBytes += size;
+                        });
+            }
+            deleteAll(root, evictFromDisk());
+            logger.info("Thumbnail disk cache at {} holds {} files ({} bytes)", root, disk.size(), diskBytes);
+            return root;
+        } catch (IOException e) {
+            logger.warn("Thumbnail disk cache disabled, {} is not usable: {}", root, e.getMessage());
+            disk.clear();
+            diskBytes = 0;
+            return null;
+        }
+    }
+
+    private static void deleteAll(Path root, List<String> names) {
+        names.forEach(name -> deleteQuietly(root.resolve(name)));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("Could not delete cached thumbnail {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static long lastModified(Path file) {
+        return file.toFile().lastModified();
+    }
+
+    // Keys look like thumbnails/42/320.jpg; the cache directory is flat
+    private static String fileName(String key) {
+        return key.replace('/', '_');
+    }
+
+    static final class Lookup {
+        final Thumbnail thumbnail; // null on a miss
+        final Level level;
+
+        private Lookup(Thumbnail thumbnail, Level level) {
+            this.thumbnail = thumbnail;
+            this.level = level;
+        }
+    }
+}
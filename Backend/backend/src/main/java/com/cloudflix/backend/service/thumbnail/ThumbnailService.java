@@ -0,0 +1,344 @@
+// src/main/java/com/cloudflix/backend/service/thumbnail/ThumbnailService.java
+package com.cloudflix.backend.service.thumbnail;
+
+import com.cloudflix.backend.exception.ResourceNotFoundException;
+import com.cloudflix.backend.exception.StorageException;
+import com.cloudflix.backend.exception.StorageFileNotFoundException;
+import com.cloudflix.backend.repository.VideoRepository;
+import com.cloudflix.backend.service.CatalogVersionService;
+import com.cloudflix.backend.service.storage.CloudStorageService;
+import com.cloudflix.backend.service.storage.StorageDeletionService;
+import com.cloudflix.backend.service.storage.StorageKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Generates and serves video thumbnails.
+ *
+ * After an upload, a poster frame is extracted in the background (see {@link PosterFrameExtractor}),
+ * scaled to every width in thumbnails.widths and encoded in every format in thumbnails.formats that has
+ * an ImageIO writer, and each variant is stored through CloudStorageService under
+ * {@link StorageKeys#thumbnailKey}. Reads go through a memory + disk LRU ({@link ThumbnailCache}) in
+ * front of storage and never touch the database.
+ */
+@Service
+public class ThumbnailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailService.class);
+    private static final String FALLBACK_FORMAT = "jpeg";
+
+    private final CloudStorageService cloudStorageService;
+    private final PosterFrameExtractor posterFrameExtractor;
+    private final StorageDeletionService storageDeletionService;
+    private final VideoRepository videoRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final int[] widths; // ascending
+    private final List<String> formats; // preference order, always ending with the JPEG fallback
+    private final float quality;
+    private final String publicBaseUrl;
+    private final ThumbnailCache cache;
+    private final ExecutorService generator;
+
+    private final Map<ThumbnailCache.Level, Counter> cacheLookups = new EnumMap<>(ThumbnailCache.Level.class);
+    private final Counter generationFailures;
+    private final Timer generationTimer;
+
+    public ThumbnailService(CloudStorageService cloudStorageService,
+                            PosterFrameExtractor posterFrameExtractor,
+                            StorageDeletionService storageDeletionService,
+                            VideoRepository videoRepository,
+                            CatalogVersionService catalogVersionService,
+                            MeterRegistry meterRegistry,
+                            @Value("${thumbnails.widths:160,320,640}") int[] widths,
+                            @Value("${thumbnails.formats:webp,jpeg}") List<String> formats,
+                            @Value("${thumbnails.quality:0.82}") float quality,
+                            @Value("${thumbnails.public-base-url:}") String publicBaseUrl,
+                            @Value("${thumbnails.generator-threads:1}") int generatorThreads,
+                            @Value("${thumbnails.queue-capacity:200}") int queueCapacity,
+                            @Value("${thumbnails.cache.memory-max-size:32MB}") DataSize memoryMaxSize,
+                            @Value("${thumbnails.cache.disk-path:${java.io.tmpdir}/cloudflix-thumbnails}") String diskPath,
+                            @Value("${thumbnails.cache.disk-max-size:512MB}") DataSize diskMaxSize) {
+        this.cloudStorageService = cloudStorageService;
+        this.posterFrameExtractor = posterFrameExtractor;
+        this.storageDeletionService = storageDeletionService;
+        this.videoRepository = videoRepository;
+        this.catalogVersionService = catalogVersionService;
+        this.widths = IntStream.of(widths).filter(w -> w > 0).distinct().sorted().toArray();
+        if (this.widths.length == 0) {
+            throw new IllegalArgumentException("thumbnails.widths must list at least one width");
+        }
+        this.formats = writableFormats(formats);
+        this.quality = quality;
+        this.publicBaseUrl = publicBaseUrl;
+        this.cache = new ThumbnailCache(memoryMaxSize.toBytes(), diskPath.isBlank() ? null : Paths.get(diskPath), diskMaxSize.toBytes());
+
+        // Bounded queue: a burst of uploads is shed (the admin endpoint can regenerate) rather than queued without limit
+        AtomicInteger threadCount = new AtomicInteger();
+        this.generator = ExecutorServiceMetrics.monitor(meterRegistry,
+                new ThreadPoolExecutor(Math.max(1, generatorThreads), Math.max(1, generatorThreads), 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                            Thread thread = new Thread(runnable, "thumbnail-generator-" + threadCount.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }),
+                "thumbnail-generator");
+
+        for (ThumbnailCache.Level level : ThumbnailCache.Level.values()) {
+            cacheLookups.put(level, Counter.builder("cloudflix.thumbnails.lookups")
+                    .description("Thumbnail reads by the level that served them")
+                    .tag("level", level.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.generationFailures = Counter.builder("cloudflix.thumbnails.generation.failures")
+                .description("Videos whose thumbnails could not be generated")
+                .register(meterRegistry);
+        this.generationTimer = Timer.builder("cloudflix.thumbnails.generation")
+                .description("Poster frame extraction, scaling, encoding and storing of all variants")
+                .register(meterRegistry);
+        Gauge.builder("cloudflix.thumbnails.cache.bytes", cache, ThumbnailCache::memoryBytes)
+                .tag("level", "memory").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("cloudflix.thumbnails.cache.bytes", cache, ThumbnailCache::diskBytes)
+                .tag("level", "disk").baseUnit("bytes").register(meterRegistry);
+
+        logger.info("Thumbnails: widths {}, formats {}, extractor {}", Arrays.toString(this.widths), this.formats,
+                posterFrameExtractor.getClass().getSimpleName());
+    }
+
+    /**
+     * Queues thumbnail generation for a stored video. With useAsThumbnailUrl the video's thumbnailUrl
+     * is pointed at the thumbnail endpoint once generation succeeds, unless one was set meanwhile.
+     */
+    public void generateAsync(Long videoId, String storageKey, boolean useAsThumbnailUrl) {
+        try {
+            generator.execute(() -> {
+                try {
+                    generate(videoId, storageKey, useAsThumbnailUrl);
+                } catch (Exception e) {
+                    generationFailures.increment();
+                    logger.warn("Thumbnail generation failed for video {} ({}): {}", videoId, storageKey, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            generationFailures.increment();
+            logger.warn("Thumbnail queue full, skipping generation for video {}", videoId);
+        }
+    }
+
+    /** Extracts, scales, encodes and stores every thumbnail variant of the video, on the calling thread. */
+    public void generate(Long videoId, String storageKey, boolean useAsThumbnailUrl) throws IOException {
+        long started = System.nanoTime();
+        Resource video = cloudStorageService.loadAsResource(storageKey);
+        BufferedImage frame = posterFrameExtractor.extractPosterFrame(video);
+        List<String> keys = new ArrayList<>(widths.length * formats.size());
+        for (int width : widths) {
+            BufferedImage scaled = scaleToWidth(frame, width);
+            for (String format : formats) {
+                byte[] encoded = encode(scaled, format);
+                String key = StorageKeys.thumbnailKey(videoId, width, extension(format));
+                cloudStorageService.storeObject(key, new ByteArrayInputStream(encoded), encoded.length, contentType(format));
+                cache.put(key, Thumbnail.of(encoded, contentType(format)));
+                keys.add(key);
+            }
+        }
+        // A delete committed while this ran queued its deletions before these variants existed
+        if (!videoRepository.existsById(videoId)) {
+            keys.forEach(cache::invalidate);
+            Set<String> failed = cloudStorageService.deleteBatch(keys);
+            logger.info("Video {} was deleted during thumbnail generation; removed its thumbnails ({} failed)", videoId, failed.size());
+            return;
+        }
+        // Bumped after the update commits: an early bump could tag the old thumbnailUrl with the new version
+        if (useAsThumbnailUrl && videoRepository.setThumbnailUrlIfEmpty(videoId, thumbnailUrl(videoId)) > 0) {
+            catalogVersionService.bump(CatalogVersionService.VIDEOS);
+        }
+        generationTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        logger.info("Generated {} thumbnails for video {} from {}", widths.length * formats.size(), videoId, storageKey);
+    }
+
+    /**
+     * The thumbnail closest to the requested width (the smallest generated width that is at least as
+     * wide, or the widest one), in the first configured format the Accept header names explicitly.
+     */
+    public Thumbnail load(Long videoId, Integer requestedWidth, String acceptHeader) {
+        String format = negotiateFormat(acceptHeader);
+        String key = StorageKeys.thumbnailKey(videoId, pickWidth(requestedWidth), extension(format));
+        ThumbnailCache.Lookup lookup = cache.get(key, contentType(format));
+        cacheLookups.get(lookup.level).increment();
+        if (lookup.thumbnail != null) {
+            return lookup.thumbnail;
+        }
+        Thumbnail thumbnail;
+        try (InputStream in = cloudStorageService.loadAsResource(key).getInputStream()) {
+            thumbnail = Thumbnail.of(in.readAllBytes(), contentType(format));
+        } catch (StorageFileNotFoundException | FileNotFoundException e) {
+            throw new ResourceNotFoundException("Thumbnail", "video id", videoId);
+        } catch (IOException e) {
+            throw new StorageException("Could not read thumbnail " + key, e);
+        }
+        cache.put(key, thumbnail);
+        return thumbnail;
+    }
+
+    /**
+     * Queues every configured variant for deletion; call inside the transaction that deletes the video.
+     * Variants that were never generated (skipped, failed, or still in progress) cost one storage call
+     * each, which reports them as already deleted; generate() cleans up after itself if the video is gone.
+     */
+    public void deleteThumbnails(Long videoId) {
+        for (int width : widths) {
+            for (String format : formats) {
+                String key = StorageKeys.thumbnailKey(videoId, width, extension(format));
+                cache.invalidate(key);
+                storageDeletionService.enqueue(key);
+            }
+        }
+    }
+
+    public String thumbnailUrl(Long videoId) {
+        return publicBaseUrl + "/api/videos/" + videoId + "/thumbnail";
+    }
+
+    private int pickWidth(Integer requestedWidth) {
+        if (requestedWidth != null) {
+            for (int width : widths) {
+                if (width >= requestedWidth) {
+                    return width;
+                }
+            }
+        }
+        return widths[widths.length - 1];
+    }
+
+    // Wildcards do not count: browsers send */* for images whether or not they can decode WebP
+    private String negotiateFormat(String acceptHeader) {
+        if (acceptHeader != null) {
+            for (int i = 0; i < formats.size() - 1; i++) {
+                if (acceptHeader.contains(contentType(formats.get(i)))) {
+                    return formats.get(i);
+                }
+            }
+        }
+        return formats.get(formats.size() - 1);
+    }
+
+    // Halves with bilinear filtering until the last step is under 2x; one big bilinear step would alias
+    static BufferedImage scaleToWidth(BufferedImage source, int targetWidth) {
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * (double) targetWidth / source.getWidth()));
+        if (source.getWidth() <= targetWidth) {
+            return drawRgb(source, source.getWidth(), source.getHeight()); // never upscale
+        }
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = drawRgb(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // Also drops any alpha channel, which the JPEG writer rejects
+    private static BufferedImage drawRgb(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]); // lossy first for JPEG and the WebP plugins
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // The JDK has no WebP writer; WebP is only produced when an ImageIO plugin for it is on the classpath
+    private static List<String> writableFormats(List<String> configured) {
+        List<String> usable = new ArrayList<>();
+        for (String format : configured) {
+            String name = format.trim().toLowerCase(Locale.ROOT);
+            if (name.equals(FALLBACK_FORMAT) || usable.contains(name)) {
+                continue; // JPEG always goes last, as the format every client accepts
+            }
+            if (ImageIO.getImageWritersByFormatName(name).hasNext()) {
+                usable.add(name);
+            } else if (!name.isEmpty()) {
+                logger.info("No ImageIO writer for thumbnail format '{}', skipping it", name);
+            }
+        }
+        usable.add(FALLBACK_FORMAT);
+        return List.copyOf(usable);
+    }
+
+    private static String contentType(String format) {
+        return "image/" + format;
+    }
+
+    private static String extension(String format) {
+        return format.equals("jpeg") ? ".jpg" : "." + format;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        generator.shutdownNow();
+    }
+}
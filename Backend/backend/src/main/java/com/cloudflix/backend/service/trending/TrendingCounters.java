@@ -0,0 +1,158 @@
+// src/main/java/com/cloudflix/backend/service/trending/TrendingCounters.java
+package com.cloudflix.backend.service.trending;
+
+import java.time.Duration;
+
+/**
+ * Exponentially decayed per-video scores, with forward decay: an event of weight w at time t adds
+ * w * e^(lambda * (t - landmark)) to the video's counter, and the score at time now is the counter times
+ * e^(-lambda * (now - landmark)). Nothing has to be decayed as time passes; only the landmark is moved
+ * forward now and then (on every sweep) so the exponent stays small.
+ *
+ * Counters are split into shards by video id, each an open-addressing long -> double table behind its own
+ * lock with its own landmark, so concurrent events for different videos rarely wait for each other.
+ */
+final class TrendingCounters {
+
+    // e^40 is about 2e17: far from overflowing a double, small enough to keep its precision
+    private static final double MAX_EXPONENT = 40.0;
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final double lambdaPerMilli;
+
+    TrendingCounters(int shardCount, Duration halfLife) {
+        int count = 1;
+        while (count < shardCount && count < (1 << 16)) {
+            count <<= 1;
+        }
+        this.shards = new Shard[count];
+        this.shardMask = shards.length - 1;
+        this.lambdaPerMilli = Math.log(2) / Math.max(1, halfLife.toMillis());
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(now);
+        }
+    }
+
+    void add(long videoId, double weight, long nowMillis) {
+        long hash = mix(videoId);
+        shards[(int) (hash >>> 48) & shardMask].add(videoId, hash, weight, nowMillis);
+    }
+
+    int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Hands every video's score as of nowMillis to the visitor and forgets videos whose score has decayed
+     * below minScore. Each shard is locked while it is visited, so the visitor must be quick.
+     */
+    void sweep(long nowMillis, double minScore, ScoreVisitor visitor) {
+        for (Shard shard : shards) {
+            shard.sweep(nowMillis, minScore, visitor);
+        }
+    }
+
+    interface ScoreVisitor {
+        void accept(long videoId, double score);
+    }
+
+    private static long mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private final class Shard {
+        private long landmark;
+        private long[] keys;    // 0 marks an empty slot; video ids start at 1
+        private double[] values;
+        private int size;
+
+        Shard(long landmark) {
+            this.landmark = landmark;
+            allocate(16);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void add(long videoId, long hash, double weight, long nowMillis) {
+            double exponent = lambdaPerMilli * (nowMillis - landmark);
+            if (exponent > MAX_EXPONENT) {
+                rebase(nowMillis); // no sweep for a long time
+                exponent = 0.0;
+            }
+            double increment = weight * Math.exp(exponent);
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != 0L) {
+                if (keys[slot] == videoId) {
+                    values[slot] += increment;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = videoId;
+            values[slot] = increment;
+            if (++size * 2 > keys.length) {
+                rehash(keys.length * 2, 1.0, 0.0, null);
+            }
+        }
+
+        synchronized void sweep(long nowMillis, double minScore, ScoreVisitor visitor) {
+            double factor = Math.exp(-lambdaPerMilli * (nowMillis - landmark));
+            landmark = nowMillis;
+            int capacity = 16;
+            while (capacity < size * 2) {
+                capacity <<= 1;
+            }
+            rehash(capacity, factor, minScore, visitor);
+        }
+
+        private void rebase(long nowMillis) {
+            double factor = Math.exp(-lambdaPerMilli * (nowMillis - landmark));
+            landmark = nowMillis;
+            rehash(keys.length, factor, 0.0, null);
+        }
+
+        // Rebuilds the table with every value scaled by factor, dropping those below minScore
+        private void rehash(int capacity, double factor, double minScore, ScoreVisitor visitor) {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            allocate(capacity);
+            int mask = capacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                long videoId = oldKeys[i];
+                if (videoId == 0L) {
+                    continue;
+                }
+                double value = oldValues[i] * factor;
+                if (value < minScore) {
+                    continue;
+                }
+                int slot = (int) mix(videoId) & mask;
+                while (keys[slot] != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = videoId;
+                values[slot] = value;
+                size++;
+                if (visitor != null) {
+                    visitor.accept(videoId, value);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new double[capacity];
+            size = 0;
+        }
+    }
+}
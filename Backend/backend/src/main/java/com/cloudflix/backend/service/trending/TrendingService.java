@@ -0,0 +1,366 @@
+// src/main/java/com/cloudflix/backend/service/trending/TrendingService.java
+package com.cloudflix.backend.service.trending;
+
+import com.cloudflix.backend.dto.response.TrendingVideoResponse;
+import com.cloudflix.backend.repository.VideoRepository;
+import com.cloudflix.backend.repository.projection.VideoCardView;
+import com.cloudflix.backend.service.CatalogVersionService;
+import com.cloudflix.backend.service.event.DomainEvent;
+import com.cloudflix.backend.service.event.DomainEventConsumer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * "Trending now": videos ranked by recent activity (views, watch progress, ratings, comments), each event
+ * weighted by trending.weights.* and decaying with a half-life of trending.half-life.
+ *
+ * Events arrive from the DomainEventBus and only touch the in-memory {@link TrendingCounters}. Every
+ * trending.refresh-interval-ms the counters are swept into a top-K list overall and per genre, with the
+ * video cards resolved in one batch query, and published as an immutable snapshot; GET /api/videos/trending
+ * reads that snapshot and runs no SQL. Cards are re-read after any catalog change.
+ *
+ * Scores are written to trending_scores every trending.snapshot-interval-ms and on shutdown, and read back
+ * on startup. Each instance counts the events it handles itself; with several instances the stored
+ * snapshot is that of whichever wrote last.
+ */
+@Service
+public class TrendingService implements DomainEventConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+    private static final int CARD_BATCH_SIZE = 1000;
+    private static final Card UNAVAILABLE = new Card(null, null, null, null, null);
+
+    private static final String SELECT_SNAPSHOT_SQL = "SELECT video_id, score, scored_at FROM trending_scores";
+    private static final String DELETE_SNAPSHOT_SQL = "DELETE FROM trending_scores";
+    private static final String INSERT_SNAPSHOT_SQL = "INSERT INTO trending_scores (video_id, score, scored_at) VALUES (?, ?, ?)";
+
+    private final VideoRepository videoRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TrendingCounters counters;
+    private final Duration halfLife;
+    private final int topK;
+    private final double minScore;
+    private final double viewWeight;
+    private final double progressWeight;
+    private final double ratingWeight;
+    private final double commentWeight;
+    private final Timer refreshTimer;
+
+    // Guarded by this: refresh() runs from the scheduler and once from restore()
+    private final Map<Long, Card> cards = new HashMap<>();
+    private long cardsCatalogVersion = -1;
+
+    private volatile Scores lastScores = new Scores(new long[0], new double[0], 0, System.currentTimeMillis());
+    private volatile Rankings rankings = new Rankings(List.of(), Map.of());
+    private final Object snapshotLock = new Object();
+    private Scores lastWritten; // guarded by snapshotLock
+
+    public TrendingService(VideoRepository videoRepository,
+                           CatalogVersionService catalogVersionService,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${trending.half-life:6h}") Duration halfLife,
+                           @Value("${trending.shards:0}") int shards,
+                           @Value("${trending.top-k:100}") int topK,
+                           @Value("${trending.min-score:0.01}") double minScore,
+                           @Value("${trending.weights.view:1.0}") double viewWeight,
+                           @Value("${trending.weights.progress:0.25}") double progressWeight,
+                           @Value("${trending.weights.rating:0.5}") double ratingWeight,
+                           @Value("${trending.weights.comment:3.0}") double commentWeight) {
+        this.videoRepository = videoRepository;
+        this.catalogVersionService = catalogVersionService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.halfLife = halfLife;
+        this.counters = new TrendingCounters(shards > 0 ? shards : Runtime.getRuntime().availableProcessors() * 4, halfLife);
+        this.topK = Math.max(1, topK);
+        this.minScore = minScore;
+        this.viewWeight = viewWeight;
+        this.progressWeight = progressWeight;
+        this.ratingWeight = ratingWeight;
+        this.commentWeight = commentWeight;
+
+        this.refreshTimer = Timer.builder("cloudflix.trending.refresh")
+                .description("Time to sweep the trending counters and rank them")
+                .register(meterRegistry);
+        Gauge.builder("cloudflix.trending.videos", counters, TrendingCounters::size)
+                .description("Videos with a trending score above trending.min-score")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return "trending";
+    }
+
+    // Weighted by event type and counted at the time the event happened, so redelivered events decay correctly
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            double weight = switch (event.getType()) {
+                case VIDEO_VIEWED -> viewWeight;
+                case WATCH_PROGRESS, VIDEO_COMPLETED -> progressWeight;
+                case VIDEO_RATED -> ratingWeight * event.getValue(); // a 5 counts five times as much as a 1
+                case COMMENT_CREATED -> commentWeight;
+            };
+            if (event.getVideoId() != null && weight > 0) {
+                counters.add(event.getVideoId(), weight, event.getOccurredAtMillis());
+            }
+        }
+    }
+
+    /** Top trending videos, overall or within one genre (case-insensitive); at most trending.top-k. */
+    public List<TrendingVideoResponse> getTrending(String genre, int limit) {
+        Rankings current = rankings;
+        List<TrendingVideoResponse> ranked = genre == null || genre.isBlank()
+                ? current.overall
+                : current.byGenre.getOrDefault(genre.trim().toLowerCase(Locale.ROOT), List.of());
+        return ranked.subList(0, Math.min(Math.max(0, limit), ranked.size()));
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    @Scheduled(initialDelayString = "${trending.refresh-interval-ms:10000}",
+               fixedDelayString = "${trending.refresh-interval-ms:10000}")
+    public synchronized void refresh() {
+        long started = System.nanoTime();
+        try {
+            Scores scores = sweep();
+            resolveCards(scores);
+            rankings = rank(scores);
+        } catch (RuntimeException e) {
+            logger.error("Trending refresh failed; serving the previous ranking", e);
+        } finally {
+            refreshTimer.record(Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${trending.snapshot-interval-ms:300000}",
+               fixedDelayString = "${trending.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        try {
+            writeSnapshot(lastScores);
+        } catch (RuntimeException e) {
+            logger.warn("Could not save trending scores: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long now = System.currentTimeMillis();
+        double lambdaPerMilli = Math.log(2) / Math.max(1, halfLife.toMillis());
+        int[] restored = {0};
+        try {
+            jdbcTemplate.query(SELECT_SNAPSHOT_SQL, rs -> {
+                long age = Math.max(0, now - rs.getTimestamp(3).getTime());
+                counters.add(rs.getLong(1), rs.getDouble(2) * Math.exp(-lambdaPerMilli * age), now);
+                restored[0]++;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not restore trending scores, starting empty: {}", e.getMessage());
+            return;
+        }
+        if (restored[0] > 0) {
+            logger.info("Restored trending scores of {} videos", restored[0]);
+            refresh();
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        try {
+            writeSnapshot(sweep());
+        } catch (RuntimeException e) {
+            logger.warn("Could not save trending scores on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private Scores sweep() {
+        long now = System.currentTimeMillis();
+        long[][] ids = {new long[Math.max(16, lastScores.count)]};
+        double[][] values = {new double[ids[0].length]};
+        int[] count = {0};
+        counters.sweep(now, minScore, (videoId, score) -> {
+            if (count[0] == ids[0].length) {
+                ids[0] = Arrays.copyOf(ids[0], count[0] * 2);
+                values[0] = Arrays.copyOf(values[0], count[0] * 2);
+            }
+            ids[0][count[0]] = videoId;
+            values[0][count[0]] = score;
+            count[0]++;
+        });
+        Scores scores = new Scores(ids[0], values[0], count[0], now);
+        lastScores = scores;
+        return scores;
+    }
+
+    // Card fields (and genre) for every scored video; ids the query does not return are not available
+    private void resolveCards(Scores scores) {
+        long catalogVersion = catalogVersionService.current(CatalogVersionService.VIDEOS);
+        if (catalogVersion != cardsCatalogVersion) {
+            cards.clear();
+            cardsCatalogVersion = catalogVersion;
+        }
+        Map<Long, Card> kept = new HashMap<>(scores.count * 2);
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < scores.count; i++) {
+            Card card = cards.get(scores.videoIds[i]);
+            if (card == null) {
+                missing.add(scores.videoIds[i]);
+            } else {
+                kept.put(scores.videoIds[i], card);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += CARD_BATCH_SIZE) {
+            List<Long> batch = missing.subList(from, Math.min(missing.size(), from + CARD_BATCH_SIZE));
+            for (Long videoId : batch) {
+                kept.put(videoId, UNAVAILABLE);
+            }
+            for (VideoCardView view : videoRepository.findAvailableCardsByIdIn(batch)) {
+                kept.put(view.getId(), new Card(view.getId(), view.getTitle(), view.getThumbnailUrl(),
+                        view.getDurationSeconds(), view.getGenre()));
+            }
+        }
+        cards.clear();
+        cards.putAll(kept); // drops videos that stopped trending
+    }
+
+    private Rankings rank(Scores scores) {
+        Comparator<Ranked> byScore = Comparator.comparingDouble(r -> r.score);
+        PriorityQueue<Ranked> overall = new PriorityQueue<>(topK + 1, byScore);
+        Map<String, PriorityQueue<Ranked>> byGenre = new HashMap<>();
+        for (int i = 0; i < scores.count; i++) {
+            Card card = cards.get(scores.videoIds[i]);
+            if (card == null || card == UNAVAILABLE) {
+                continue;
+            }
+            Ranked ranked = new Ranked(card, scores.scores[i]);
+            offer(overall, ranked);
+            if (card.genre != null && !card.genre.isBlank()) {
+                offer(byGenre.computeIfAbsent(card.genre.trim().toLowerCase(Locale.ROOT),
+                        g -> new PriorityQueue<>(topK + 1, byScore)), ranked);
+            }
+        }
+        Map<String, List<TrendingVideoResponse>> genreLists = new HashMap<>(byGenre.size() * 2);
+        byGenre.forEach((genre, heap) -> genreLists.put(genre, drain(heap)));
+        return new Rankings(drain(overall), Map.copyOf(genreLists));
+    }
+
+    // Bounded min-heap: the root is the weakest of the best K seen so far
+    private void offer(PriorityQueue<Ranked> heap, Ranked ranked) {
+        if (heap.size() < topK) {
+            heap.add(ranked);
+        } else if (heap.peek().score < ranked.score) {
+            heap.poll();
+            heap.add(ranked);
+        }
+    }
+
+    private static List<TrendingVideoResponse> drain(PriorityQueue<Ranked> heap) {
+        TrendingVideoResponse[] best = new TrendingVideoResponse[heap.size()];
+        for (int i = best.length - 1; i >= 0; i--) {
+            Ranked ranked = heap.poll();
+            Card card = ranked.card;
+            best[i] = new TrendingVideoResponse(card.id, card.title, card.thumbnailUrl, card.durationSeconds,
+                    card.genre, ranked.score);
+        }
+        return List.of(best);
+    }
+
+    private void writeSnapshot(Scores scores) {
+        synchronized (snapshotLock) {
+            if (scores == lastWritten) {
+                return;
+            }
+            LocalDateTime scoredAt = new Timestamp(scores.atMillis).toLocalDateTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(DELETE_SNAPSHOT_SQL);
+                List<Object[]> rows = new ArrayList<>(scores.count);
+                for (int i = 0; i < scores.count; i++) {
+                    rows.add(new Object[]{scores.videoIds[i], scores.scores[i], scoredAt});
+                }
+                jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_SQL, rows);
+            });
+            lastWritten = scores;
+        }
+    }
+
+    private static final class Scores {
+        final long[] videoIds;
+        final double[] scores;
+        final int count;
+        final long atMillis;
+
+        Scores(long[] videoIds, double[] scores, int count, long atMillis) {
+            this.videoIds = videoIds;
+            this.scores = scores;
+            this.count = count;
+            this.atMillis = atMillis;
+        }
+    }
+
+    private static final class Rankings {
+        final List<TrendingVideoResponse> overall;
+        final Map<String, List<TrendingVideoResponse>> byGenre; // keyed by lower-cased genre
+
+        Rankings(List<TrendingVideoResponse> overall, Map<String, List<TrendingVideoResponse>> byGenre) {
+            this.overall = overall;
+            this.byGenre = byGenre;
+        }
+    }
+
+    private static final class Card {
+        final Long id;
+        final String title;
+        final String thumbnailUrl;
+        final Integer durationSeconds;
+        final String genre;
+
+        Card(Long id, String title, String thumbnailUrl, Integer durationSeconds, String genre) {
+            this.id = id;
+            this.title = title;
+            this.thumbnailUrl = thumbnailUrl;
+            this.durationSeconds = durationSeconds;
+            this.genre = genre;
+        }
+    }
+
+    private static final class Ranked {
+        final Card card;
+        final double score;
+
+        Ranked(Card card, double score) {
+            this.card = card;
+            this.score = score;
+        }
+    }
+}
@@ -154,9 +154,60 @@ CREATE TABLE notifications (
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+-- Storage objects waiting to be deleted (transactional outbox, see StorageDeletionService)
+CREATE TABLE storage_deletion_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    storage_key VARCHAR(1024) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(1000),
+    created_at DATETIME(6) NOT NULL,
+    INDEX idx_storage_deletion_due (status, next_attempt_at)
+);
+
+CREATE TABLE content_blobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    sha256 CHAR(64) NOT NULL UNIQUE,
+    storage_key VARCHAR(512) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    content_type VARCHAR(100),
+    ref_count INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    INDEX idx_content_blobs_storage_key (storage_key)
+);
+
+-- Change counters behind the catalog ETags (CatalogVersionService)
+CREATE TABLE catalog_versions (
+    version_key VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+-- Last snapshot of the in-memory trending scores, restored on startup (TrendingService). Rewritten as a
+-- whole on each snapshot, one row per video
+CREATE TABLE trending_scores (
+    video_id BIGINT PRIMARY KEY,
+    score DOUBLE NOT NULL,
+    scored_at DATETIME(6) NOT NULL
+);
+
+-- Domain events not yet handled by every consumer (transactional outbox, see DomainEventBus)
+CREATE TABLE domain_event_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(40) NOT NULL,
+    video_id BIGINT,
+    user_id BIGINT,
+    event_value INT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    INDEX idx_domain_event_due (next_attempt_at)
+);
+
 -- Indexes for performance
 CREATE INDEX idx_users_email ON users(email);
 CREATE INDEX idx_videos_title ON videos(title);
+CREATE INDEX idx_videos_storage_key ON videos(storage_object_key(255));
 CREATE INDEX idx_watch_history_user_video ON watch_history(user_id, video_id);
 CREATE INDEX idx_comments_video_id ON comments(video_id);
 CREATE INDEX idx_ratings_video_id ON ratings(video_id);
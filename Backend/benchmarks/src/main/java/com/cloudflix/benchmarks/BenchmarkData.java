@@ -0,0 +1,67 @@
+// src/main/java/com/cloudflix/benchmarks/BenchmarkData.java
+package com.cloudflix.benchmarks;
+
+import com.cloudflix.backend.entity.Comment;
+import com.cloudflix.backend.entity.Tag;
+import com.cloudflix.backend.entity.User;
+import com.cloudflix.backend.entity.Video;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+// Detached entities shaped like typical catalog rows, shared by the benchmarks
+final class BenchmarkData {
+
+    private BenchmarkData() {}
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setFirstName("User" + id);
+        user.setLastName("Benchmark");
+        user.setEmail("user" + id + "@cloudflix.test");
+        return user;
+    }
+
+    static Video video(long id, int tagCount) {
+        Video video = new Video();
+        video.setId(id);
+        video.setTitle("Benchmark video " + id);
+        video.setDescription("A moderately long description used to give the mapper and serializer realistic "
+                + "string sizes to copy around. ".repeat(4));
+        video.setDurationSeconds(5400);
+        video.setGenre("Drama");
+        video.setStorageObjectKey("videos/1717000000000_abcd1234_benchmark_video_" + id + ".mp4");
+        video.setThumbnailUrl("https://cdn.cloudflix.test/thumbnails/" + id + ".jpg");
+        video.setStatus("AVAILABLE");
+        video.setViewCount(12_345L);
+        video.setUploadTimestamp(LocalDateTime.of(2024, 5, 1, 12, 0));
+        video.setUploader(user(1));
+        Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i < tagCount; i++) {
+            Tag tag = new Tag("tag-" + i);
+            tag.setId((long) i + 1);
+            tags.add(tag);
+        }
+        video.setTags(tags);
+        return video;
+    }
+
+    static Comment comment(long id, Video video, int replyCount) {
+        Comment comment = new Comment(video, user(id % 50 + 1), "Comment text number " + id + ", with a few words in it.");
+        comment.setId(id);
+        comment.setCreatedAt(LocalDateTime.of(2024, 5, 2, 8, 0).plusMinutes(id));
+        comment.setUpdatedAt(comment.getCreatedAt());
+        Set<Comment> replies = new HashSet<>();
+        for (int i = 0; i < replyCount; i++) {
+            Comment reply = new Comment(video, user(i + 2), "Reply " + i, comment);
+            reply.setId(id * 100 + i);
+            reply.setCreatedAt(comment.getCreatedAt().plusMinutes(i + 1));
+            reply.setUpdatedAt(reply.getCreatedAt());
+            replies.add(reply);
+        }
+        comment.setReplies(replies);
+        return comment;
+    }
+}
@@ -0,0 +1,58 @@
+// src/main/java/com/cloudflix/benchmarks/JwtBenchmark.java
+package com.cloudflix.benchmarks;
+
+import com.cloudflix.backend.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+// AuthTokenFilter validates and parses the bearer token on every authenticated request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        // Same values as application.properties; JwtUtils normally gets them through @Value
+        setField(jwtUtils, "jwtSecretString", "YourSuperSecretKeyForJWTsWhichIsAtLeast256BitsLongAndVerySecureDontUseThisOneInProd");
+        setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        token = jwtUtils.generateTokenFromUsername("user1@cloudflix.test");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateTokenFromUsername("user1@cloudflix.test");
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String parseSubject() {
+        return jwtUtils.getEmailFromJwtToken(token);
+    }
+
+    // What the filter does per request today: validate, then parse again for the subject
+    @Benchmark
+    public String validateThenParse() {
+        return jwtUtils.validateJwtToken(token) ? jwtUtils.getEmailFromJwtToken(token) : null;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,80 @@
+// src/main/java/com/cloudflix/benchmarks/LocalStorageReadBenchmark.java
+package com.cloudflix.benchmarks;
+
+import com.cloudflix.backend.service.storage.LocalStorageServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One Range request against local storage: resolve the file, read its length, copy a region
+// (what ResourceRegionHttpMessageConverter does). The file stays in the page cache, so this measures
+// per-request overhead, not disk speed.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LocalStorageReadBenchmark {
+
+    private static final String KEY = "benchmark-video.mp4";
+    private static final int FILE_SIZE = 64 * 1024 * 1024;
+
+    @Param({"65536", "1048576"})
+    public int regionBytes;
+
+    @Param({"65536", "262144"})
+    public int readAheadBytes;
+
+    private Path root;
+    private LocalStorageServiceImpl storage;
+    private long regionStart;
+
+    @Setup
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("cloudflix-read-bench");
+        byte[] content = new byte[FILE_SIZE];
+        new Random(42).nextBytes(content);
+        Files.write(root.resolve(KEY), content);
+        storage = new LocalStorageServiceImpl(root.toString(), "/api/files", 256, 2000, readAheadBytes);
+        regionStart = FILE_SIZE / 2;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        storage.destroy();
+        Files.deleteIfExists(root.resolve(KEY));
+        Files.deleteIfExists(root);
+    }
+
+    @Benchmark
+    public long urlResource() throws IOException {
+        Resource resource = new UrlResource(root.resolve(KEY).toUri()); // the previous loadAsResource
+        return copyRegion(resource);
+    }
+
+    @Benchmark
+    public long cachedChannel() throws IOException {
+        return copyRegion(storage.loadAsResource(KEY));
+    }
+
+    private long copyRegion(Resource resource) throws IOException {
+        if (!resource.exists() || !resource.isReadable()) {
+            throw new IllegalStateException("missing " + KEY);
+        }
+        long length = resource.contentLength();
+        long end = Math.min(regionStart + regionBytes, length) - 1;
+        try (InputStream in = resource.getInputStream()) {
+            return StreamUtils.copyRange(in, OutputStream.nullOutputStream(), regionStart, end);
+        }
+    }
+}
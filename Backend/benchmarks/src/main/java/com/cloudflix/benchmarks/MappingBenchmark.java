@@ -0,0 +1,54 @@
+// src/main/java/com/cloudflix/benchmarks/MappingBenchmark.java
+package com.cloudflix.benchmarks;
+
+import com.cloudflix.backend.dto.response.CommentResponse;
+import com.cloudflix.backend.dto.response.VideoResponse;
+import com.cloudflix.backend.entity.Comment;
+import com.cloudflix.backend.entity.Video;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Entity -> response DTO mapping done for every row of every listing
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MappingBenchmark {
+
+    @Param({"0", "5", "20"})
+    public int tagCount;
+
+    private Video video;
+    private Comment comment;
+    private VideoResponse.UploaderInfo uploader;
+
+    @Setup
+    public void setUp() {
+        video = BenchmarkData.video(42, tagCount);
+        comment = BenchmarkData.comment(7, video, 10);
+        uploader = new VideoResponse.UploaderInfo(1L, "User1");
+    }
+
+    @Benchmark
+    public VideoResponse videoFromEntity() {
+        return VideoResponse.fromEntity(video);
+    }
+
+    @Benchmark
+    public VideoResponse videoFromEntityWithResolvedUploader() {
+        return VideoResponse.fromEntity(video, uploader);
+    }
+
+    @Benchmark
+    public CommentResponse commentFromEntity() {
+        return CommentResponse.fromEntity(comment);
+    }
+
+    @Benchmark
+    public CommentResponse commentFromEntityWithReplies() {
+        return CommentResponse.fromEntity(comment, true, 3);
+    }
+}
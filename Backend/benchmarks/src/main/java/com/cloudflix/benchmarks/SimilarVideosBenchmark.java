@@ -0,0 +1,83 @@
+// src/main/java/com/cloudflix/benchmarks/SimilarVideosBenchmark.java
+package com.cloudflix.benchmarks;
+
+import com.cloudflix.backend.service.recommendation.InteractionMatrix;
+import com.cloudflix.backend.service.recommendation.ItemSimilarity;
+import com.cloudflix.backend.service.recommendation.SimilarityTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// The similar-videos table: a lookup as GET /api/videos/{videoId}/similar does it, and a full rebuild
+// over a synthetic catalogue where video popularity is skewed (a few titles are watched by most users).
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimilarVideosBenchmark {
+
+    @Param({"20000"})
+    public int users;
+
+    @Param({"5000"})
+    public int videos;
+
+    @Param({"40"})
+    public int videosPerUser;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private InteractionMatrix matrix;
+    private SimilarityTable table;
+    private ForkJoinPool pool;
+    private final long[] neighbourIds = new long[20];
+    private final float[] scores = new float[20];
+    private long[] lookupIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        InteractionMatrix.Builder builder = new InteractionMatrix.Builder(500);
+        for (int user = 1; user <= users; user++) {
+            for (int i = 0; i < videosPerUser; i++) {
+                // Squaring a uniform draw favours low ids: a long-tailed popularity curve
+                double draw = random.nextDouble();
+                long videoId = 1 + (long) (draw * draw * videos);
+                builder.add(user, videoId, random.nextBoolean() ? 1.0f : 0.5f);
+            }
+        }
+        matrix = builder.build();
+        pool = new ForkJoinPool(parallelism);
+        table = ItemSimilarity.computeAll(matrix, neighbourIds.length, 2, pool);
+        lookupIds = new long[1024];
+        for (int i = 0; i < lookupIds.length; i++) {
+            lookupIds[i] = 1 + random.nextInt(videos);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int lookup() {
+        long videoId = lookupIds[next++ & (lookupIds.length - 1)];
+        return table.neighbours(videoId, neighbourIds, scores);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public SimilarityTable rebuild() {
+        return ItemSimilarity.computeAll(matrix, neighbourIds.length, 2, pool);
+    }
+}
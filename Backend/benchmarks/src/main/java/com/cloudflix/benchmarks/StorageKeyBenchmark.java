@@ -0,0 +1,34 @@
+// src/main/java/com/cloudflix/benchmarks/StorageKeyBenchmark.java
+package com.cloudflix.benchmarks;
+
+import com.cloudflix.backend.service.storage.StorageKeys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Key generation done by every CloudStorageService.store call
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StorageKeyBenchmark {
+
+    @Param({
+            "Short",
+            "The Quick Brown Fox Jumps Over The Lazy Dog (Director's Cut) [2024]",
+            "Ünïcödé tïtlé wïth àccents and émojis 🎬🎬🎬 that mostly get stripped out of the key entirely"
+    })
+    public String title;
+
+    @Benchmark
+    public String sanitizeBaseName() {
+        return StorageKeys.sanitizeBaseName(title);
+    }
+
+    @Benchmark
+    public String uniqueFileName() {
+        return StorageKeys.uniqueFileName(title, "upload.MP4");
+    }
+}
@@ -0,0 +1,222 @@
+// src/main/java/com/cloudflix/benchmarks/listing/ListingPayloadBenchmark.java
+package com.cloudflix.benchmarks.listing;
+
+import com.cloudflix.backend.BackendApplication;
+import com.cloudflix.backend.entity.ERole;
+import com.cloudflix.backend.entity.Role;
+import com.cloudflix.backend.entity.Tag;
+import com.cloudflix.backend.entity.User;
+import com.cloudflix.backend.entity.Video;
+import com.cloudflix.backend.repository.RoleRepository;
+import com.cloudflix.backend.repository.TagRepository;
+import com.cloudflix.backend.repository.UserRepository;
+import com.cloudflix.backend.repository.VideoRepository;
+import com.cloudflix.backend.security.jwt.JwtUtils;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wire size and server memory of one large listing page, buffered vs. streamed.
+ *
+ * Boots the backend on H2, seeds listing.rows videos with realistic descriptions and tags, then fetches
+ * the same page from GET /api/videos (a Page built in memory, then serialized) and GET /api/admin/videos
+ * (written from a cursor by StreamingPageWriter), plus the sparse ?view=card listing that selects only the
+ * grid columns, each with and without Accept-Encoding: gzip.
+ * Reports bytes on the wire, mean latency, bytes allocated by all threads and the peak heap above the
+ * post-GC baseline (sampled every millisecond, so only indicative).
+ *
+ * mvn -P listing-benchmark -pl benchmarks -am verify -Dlisting.rows=2000 -Dlisting.description-kb=1 -Dlisting.iterations=5
+ */
+public final class ListingPayloadBenchmark {
+
+    private static final String DESCRIPTION_SENTENCE =
+            "A long-form description as written by uploaders, with cast, synopsis and production notes. ";
+
+    private ListingPayloadBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("listing.rows", 2000);
+        int iterations = Math.max(1, Integer.getInteger("listing.iterations", 5));
+        int descriptionKb = Math.max(1, Integer.getInteger("listing.description-kb", 1));
+        Path storageRoot = Files.createTempDirectory("cloudflix-listing-");
+        ConfigurableApplicationContext context = startBackend(storageRoot);
+        try {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            String adminToken = seed(context, rows, descriptionKb);
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            String query = "?page=0&size=" + rows + "&sort=uploadTimestamp,desc";
+            System.out.printf("%nrows=%d, description=%dKB, iterations=%d%n", rows, descriptionKb, iterations);
+            System.out.printf("%-28s %-9s %12s %10s %14s %14s%n",
+                    "endpoint", "encoding", "wire bytes", "mean ms", "alloc MB/req", "peak heap MB");
+            for (String encoding : new String[]{"identity", "gzip"}) {
+                measure(client, baseUrl + "/api/videos" + query, adminToken, encoding, iterations, "buffered /api/videos");
+                measure(client, baseUrl + "/api/admin/videos" + query, adminToken, encoding, iterations, "streamed /api/admin/videos");
+                measure(client, baseUrl + "/api/videos" + query + "&view=card", adminToken, encoding, iterations, "card /api/videos");
+            }
+        } finally {
+            context.close();
+            FileSystemUtils.deleteRecursively(storageRoot);
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startBackend(Path storageRoot) {
+        String[] overrides = {
+                "--server.port=0",
+                "--spring.profiles.active=local",
+                "--spring.datasource.url=jdbc:h2:mem:cloudflix_listing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--storage.local.root-path=" + storageRoot.toAbsolutePath(),
+                "--thumbnails.extractor=fake",
+                "--logging.level.root=WARN",
+                "--spring.main.banner-mode=off"
+        };
+        return new SpringApplicationBuilder(BackendApplication.class).run(overrides);
+    }
+
+    private static String seed(ConfigurableApplicationContext context, int rows, int descriptionKb) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        TagRepository tagRepository = context.getBean(TagRepository.class);
+        VideoRepository videoRepository = context.getBean(VideoRepository.class);
+
+        User admin = transactionTemplate.execute(status -> {
+            Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
+                    .orElseThrow(() -> new IllegalStateException("ROLE_ADMIN missing; roles are created on startup"));
+            User user = new User();
+            user.setFirstName("Listing");
+            user.setLastName("Admin");
+            user.setEmail("listing-admin@cloudflix.test");
+            user.setPassword(context.getBean(PasswordEncoder.class).encode("listing-benchmark"));
+            user.getRoles().add(adminRole);
+            return userRepository.save(user);
+        });
+        List<Tag> tags = transactionTemplate.execute(status -> {
+            List<Tag> created = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                created.add(new Tag("tag-" + i));
+            }
+            return tagRepository.saveAll(created);
+        });
+
+        String description = DESCRIPTION_SENTENCE.repeat(Math.max(1, descriptionKb * 1024 / DESCRIPTION_SENTENCE.length()));
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < rows; from += 500) {
+            int start = from;
+            int end = Math.min(rows, from + 500);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Video> batch = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    Video video = new Video("Listing video " + i, description + i, "listing-" + i + ".mp4",
+                            userRepository.getReferenceById(admin.getId()), "Drama");
+                    video.setStatus("AVAILABLE");
+                    video.setDurationSeconds(600 + i);
+                    video.setUploadTimestamp(now.minusMinutes(i));
+                    for (int t = 0; t < 3; t++) {
+                        video.getTags().add(tagRepository.getReferenceById(tags.get((i + t * 7) % tags.size()).getId()));
+                    }
+                    batch.add(video);
+                }
+                videoRepository.saveAll(batch);
+            });
+        }
+        return context.getBean(JwtUtils.class).generateTokenFromUsername(admin.getEmail());
+    }
+
+    private static void measure(HttpClient client, String url, String token, String encoding, int iterations,
+                                String label) throws Exception {
+        fetch(client, url, token, encoding); // warm-up
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long wireBytes = 0;
+        long totalNanos = 0;
+        long totalAllocated = 0;
+        long peakAboveBaseline = 0;
+        for (int i = 0; i < iterations; i++) {
+            System.gc();
+            long baseline = memory.getHeapMemoryUsage().getUsed();
+            AtomicLong peak = new AtomicLong(baseline);
+            AtomicBoolean sampling = new AtomicBoolean(true);
+            Thread sampler = new Thread(() -> {
+                while (sampling.get()) {
+                    peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "heap-sampler");
+            sampler.setDaemon(true);
+            sampler.start();
+
+            long allocatedBefore = allocatedBytes();
+            long started = System.nanoTime();
+            wireBytes = fetch(client, url, token, encoding);
+            totalNanos += System.nanoTime() - started;
+            totalAllocated += allocatedBytes() - allocatedBefore;
+
+            sampling.set(false);
+            sampler.join();
+            peakAboveBaseline = Math.max(peakAboveBaseline, peak.get() - baseline);
+        }
+        System.out.printf("%-28s %-9s %12d %10.1f %14.1f %14.1f%n", label, encoding, wireBytes,
+                totalNanos / 1e6 / iterations, totalAllocated / 1048576.0 / iterations, peakAboveBaseline / 1048576.0);
+    }
+
+    private static long fetch(HttpClient client, String url, String token, String encoding) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", encoding)
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(url + " returned " + response.statusCode());
+        }
+        long bytes = 0;
+        byte[] buffer = new byte[16384];
+        try (InputStream body = response.body()) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                bytes += read;
+            }
+        }
+        return bytes;
+    }
+
+    // Summed over every live thread, so it covers the Tomcat and async workers as well as this client
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0, allocated);
+        }
+        return total;
+    }
+}
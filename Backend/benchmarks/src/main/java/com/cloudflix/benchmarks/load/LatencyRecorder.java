@@ -0,0 +1,56 @@
+// src/main/java/com/cloudflix/benchmarks/load/LatencyRecorder.java
+package com.cloudflix.benchmarks.load;
+
+import java.util.Arrays;
+
+/**
+ * Raw latency samples for one scenario. Each worker thread owns its recorders, so recording is
+ * a plain array append; recorders are merged once the run is over.
+ */
+final class LatencyRecorder {
+
+    private long[] samplesNanos = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long latencyNanos, boolean success) {
+        if (!success) {
+            errors++;
+        }
+        if (count == samplesNanos.length) {
+            samplesNanos = Arrays.copyOf(samplesNanos, count * 2);
+        }
+        samplesNanos[count++] = latencyNanos;
+    }
+
+    void mergeFrom(LatencyRecorder other) {
+        if (count + other.count > samplesNanos.length) {
+            samplesNanos = Arrays.copyOf(samplesNanos, Math.max(samplesNanos.length * 2, count + other.count));
+        }
+        System.arraycopy(other.samplesNanos, 0, samplesNanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /** Sorts the samples; call once before reading percentiles. */
+    void seal() {
+        Arrays.sort(samplesNanos, 0, count);
+    }
+
+    /** Nearest-rank percentile in milliseconds (p in 0..100). */
+    double percentileMillis(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * count);
+        return samplesNanos[Math.min(count, Math.max(1, rank)) - 1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,59 @@
+// src/main/java/com/cloudflix/benchmarks/load/LoadTestConfig.java
+package com.cloudflix.benchmarks.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load-test settings, read from system properties (-Dload.concurrency=64 ...).
+ * The mix is a comma-separated list of scenario=weight pairs, e.g. "browse=50,stream=50".
+ */
+final class LoadTestConfig {
+
+    static final String DEFAULT_MIX =
+            "browse=30,detail=15,stream=20,comments=10,comment-post=3,rating-summary=7,rating-put=5,history-put=7,history-list=3";
+
+    final int users = intProperty("load.users", 200);
+    final int videos = intProperty("load.videos", 2000);
+    final int commentsPerVideo = intProperty("load.comments-per-video", 5);
+    final int concurrency = intProperty("load.concurrency", 32);
+    final int warmupSeconds = intProperty("load.warmup-seconds", 10);
+    final int durationSeconds = intProperty("load.duration-seconds", 60);
+    final int mediaSizeMb = intProperty("load.media-size-mb", 16);
+    final int rangeChunkKb = intProperty("load.range-chunk-kb", 1024);
+    final long randomSeed = Long.getLong("load.seed", 42L);
+    final String resultFile = System.getProperty("load.result-file", "target/load-test-result.json");
+    final Map<Scenario, Integer> mix = parseMix(System.getProperty("load.mix", DEFAULT_MIX));
+
+    private static int intProperty(String name, int defaultValue) {
+        int value = Integer.getInteger(name, defaultValue);
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
+        return value;
+    }
+
+    private static Map<Scenario, Integer> parseMix(String spec) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry '" + part + "', expected scenario=weight");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Scenario.byName(pair[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix selects no scenarios");
+        }
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", videos=" + videos + ", concurrency=" + concurrency
+                + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds + "s, mix=" + mix;
+    }
+}
@@ -0,0 +1,211 @@
+// src/main/java/com/cloudflix/benchmarks/load/LoadTestRunner.java
+package com.cloudflix.benchmarks.load;
+
+import com.cloudflix.backend.BackendApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * End-to-end load test: boots the full backend on a random port against an in-memory H2 database
+ * (MySQL mode) with local storage on a temp directory, seeds it, then drives a weighted mix of
+ * API calls from a closed pool of simulated users and reports latency percentiles and throughput.
+ *
+ * mvn -P load-test -pl benchmarks -am verify -Dload.concurrency=64 -Dload.duration-seconds=120
+ *
+ * Settings are listed in {@link LoadTestConfig}. Results are printed and written as JSON to
+ * load.result-file (target/load-test-result.json by default) so runs can be compared.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        Path storageRoot = Files.createTempDirectory("cloudflix-load-");
+        ConfigurableApplicationContext context = startBackend(storageRoot);
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.out.println("Backend started on port " + port + "; seeding (" + config + ")");
+
+            LoadTestSeeder.SeededData data = new LoadTestSeeder(context).seed(config, storageRoot);
+            Map<Scenario, LatencyRecorder> results = drive(config, data, "http://localhost:" + port);
+            report(config, results);
+        } finally {
+            context.close();
+            FileSystemUtils.deleteRecursively(storageRoot);
+        }
+    }
+
+    private static ConfigurableApplicationContext startBackend(Path storageRoot) {
+        // Command-line style arguments win over application.properties, which points at MySQL
+        String[] overrides = {
+                "--server.port=0",
+                "--spring.profiles.active=local",
+                "--spring.datasource.url=jdbc:h2:mem:cloudflix_load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--storage.local.root-path=" + storageRoot.toAbsolutePath(),
+                "--thumbnails.extractor=fake", // no ffmpeg needed; the seeded media key is not a real video
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--spring.main.banner-mode=off"
+        };
+        return new SpringApplicationBuilder(BackendApplication.class).run(overrides);
+    }
+
+    private static Map<Scenario, LatencyRecorder> drive(LoadTestConfig config, LoadTestSeeder.SeededData data,
+                                                        String baseUrl) throws InterruptedException {
+        int workers = Math.max(1, config.concurrency);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Scenario[] wheel = weightedWheel(config.mix);
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(config.warmupSeconds).toNanos();
+        long stopAt = measureFrom + Duration.ofSeconds(config.durationSeconds).toNanos();
+
+        List<Map<Scenario, LatencyRecorder>> perWorker = new ArrayList<>(workers);
+        CountDownLatch done = new CountDownLatch(workers);
+        for (int w = 0; w < workers; w++) {
+            int workerIndex = w;
+            Map<Scenario, LatencyRecorder> recorders = new EnumMap<>(Scenario.class);
+            perWorker.add(recorders);
+            Thread thread = new Thread(() -> {
+                try {
+                    runWorker(workerIndex, workers, client, wheel, config, data, baseUrl, measureFrom, stopAt, recorders);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-worker-" + w);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        Map<Scenario, LatencyRecorder> merged = new EnumMap<>(Scenario.class);
+        for (Map<Scenario, LatencyRecorder> recorders : perWorker) {
+            recorders.forEach((scenario, recorder) ->
+                    merged.computeIfAbsent(scenario, s -> new LatencyRecorder()).mergeFrom(recorder));
+        }
+        return merged;
+    }
+
+    // Worker w plays users w, w + workers, w + 2*workers ... so no two workers act as the same user at
+    // once (ratings and watch history are unique per user and video)
+    private static void runWorker(int workerIndex, int workers, HttpClient client, Scenario[] wheel,
+                                  LoadTestConfig config, LoadTestSeeder.SeededData data, String baseUrl,
+                                  long measureFrom, long stopAt, Map<Scenario, LatencyRecorder> recorders) {
+        SplittableRandom random = new SplittableRandom(config.randomSeed * 31 + workerIndex);
+        int userCount = data.tokens.size();
+        long rangeChunk = Math.max(1, config.rangeChunkKb) * 1024L;
+        int iteration = 0;
+        while (System.nanoTime() < stopAt) {
+            int userIndex = (workerIndex + (iteration++ % Math.max(1, userCount / workers)) * workers) % userCount;
+            Scenario scenario = wheel[random.nextInt(wheel.length)];
+            Scenario.Target target = new Scenario.Target(baseUrl, data.tokens.get(userIndex),
+                    data.videoIds[random.nextInt(data.videoIds.length)], data.videoIds.length,
+                    data.mediaBytes, rangeChunk, random);
+            HttpRequest request = scenario.build(target);
+
+            long sent = System.nanoTime();
+            boolean success;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() < 400;
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long finished = System.nanoTime();
+            if (sent >= measureFrom && finished <= stopAt) {
+                recorders.computeIfAbsent(scenario, s -> new LatencyRecorder()).record(finished - sent, success);
+            }
+        }
+    }
+
+    private static Scenario[] weightedWheel(Map<Scenario, Integer> mix) {
+        List<Scenario> wheel = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(scenario);
+            }
+        });
+        return wheel.toArray(new Scenario[0]);
+    }
+
+    private static void report(LoadTestConfig config, Map<Scenario, LatencyRecorder> results) throws IOException {
+        double seconds = Math.max(1, config.durationSeconds);
+        LatencyRecorder overall = new LatencyRecorder();
+        results.values().forEach(overall::mergeFrom);
+
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        System.out.printf("%n%-16s %9s %7s %10s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Map.Entry<Scenario, LatencyRecorder> entry : results.entrySet()) {
+            scenarios.put(entry.getKey().label, summarize(entry.getKey().label, entry.getValue(), seconds));
+        }
+        Map<String, Object> total = summarize("TOTAL", overall, seconds);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("finishedAt", Instant.now().toString());
+        json.put("users", config.users);
+        json.put("videos", config.videos);
+        json.put("concurrency", config.concurrency);
+        json.put("warmupSeconds", config.warmupSeconds);
+        json.put("durationSeconds", config.durationSeconds);
+        json.put("mix", config.mix.entrySet().stream()
+                .collect(LinkedHashMap::new, (m, e) -> m.put(e.getKey().label, e.getValue()), Map::putAll));
+        json.put("total", total);
+        json.put("scenarios", scenarios);
+
+        Path resultFile = Path.of(config.resultFile);
+        if (resultFile.getParent() != null) {
+            Files.createDirectories(resultFile.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile.toFile(), json);
+        System.out.println("\nResults written to " + resultFile.toAbsolutePath());
+    }
+
+    private static Map<String, Object> summarize(String label, LatencyRecorder recorder, double seconds) {
+        recorder.seal();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", recorder.count());
+        summary.put("errors", recorder.errors());
+        summary.put("throughputPerSecond", recorder.count() / seconds);
+        summary.put("p50Ms", recorder.percentileMillis(50));
+        summary.put("p90Ms", recorder.percentileMillis(90));
+        summary.put("p99Ms", recorder.percentileMillis(99));
+        summary.put("maxMs", recorder.percentileMillis(100));
+        System.out.printf("%-16s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", label, recorder.count(), recorder.errors(),
+                recorder.count() / seconds, recorder.percentileMillis(50), recorder.percentileMillis(90),
+                recorder.percentileMillis(99), recorder.percentileMillis(100));
+        return summary;
+    }
+}
@@ -0,0 +1,169 @@
+// src/main/java/com/cloudflix/benchmarks/load/LoadTestSeeder.java
+package com.cloudflix.benchmarks.load;
+
+import com.cloudflix.backend.entity.Comment;
+import com.cloudflix.backend.entity.ERole;
+import com.cloudflix.backend.entity.Role;
+import com.cloudflix.backend.entity.User;
+import com.cloudflix.backend.entity.Video;
+import com.cloudflix.backend.repository.CommentRepository;
+import com.cloudflix.backend.repository.RoleRepository;
+import com.cloudflix.backend.repository.UserRepository;
+import com.cloudflix.backend.repository.VideoRepository;
+import com.cloudflix.backend.security.jwt.JwtUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the embedded database with users, videos and comments through the application's own
+ * repositories, and writes one sample media file that every seeded video points at.
+ */
+final class LoadTestSeeder {
+
+    static final String MEDIA_KEY = "load-test-sample.mp4";
+    private static final int CHUNK = 500;
+    private static final String[] GENRES = {"Drama", "Comedy", "Action", "Documentary", "Animation", "Thriller"};
+
+    /** What the driver needs to know about the seeded data. */
+    static final class SeededData {
+        final List<String> tokens;
+        final long[] videoIds;
+        final long mediaBytes;
+
+        SeededData(List<String> tokens, long[] videoIds, long mediaBytes) {
+            this.tokens = tokens;
+            this.videoIds = videoIds;
+            this.mediaBytes = mediaBytes;
+        }
+    }
+
+    private final ApplicationContext context;
+    private final TransactionTemplate transactionTemplate;
+
+    LoadTestSeeder(ApplicationContext context) {
+        this.context = context;
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    SeededData seed(LoadTestConfig config, Path storageRoot) throws IOException {
+        long mediaBytes = writeSampleMedia(storageRoot.resolve(MEDIA_KEY), config.mediaSizeMb, config.randomSeed);
+        List<User> users = seedUsers(Math.max(1, config.users));
+        long[] videoIds = seedVideos(Math.max(1, config.videos), users.get(0));
+        seedComments(videoIds, users, config.commentsPerVideo, new SplittableRandom(config.randomSeed));
+
+        JwtUtils jwtUtils = context.getBean(JwtUtils.class);
+        List<String> tokens = new ArrayList<>(users.size());
+        users.forEach(user -> tokens.add(jwtUtils.generateTokenFromUsername(user.getEmail())));
+        return new SeededData(tokens, videoIds, mediaBytes);
+    }
+
+    private List<User> seedUsers(int count) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        // BCrypt is deliberately slow; one hash shared by every user keeps seeding fast
+        String passwordHash = context.getBean(PasswordEncoder.class).encode("load-test-password");
+
+        List<User> users = new ArrayList<>(count);
+        for (int from = 0; from < count; from += CHUNK) {
+            int start = from;
+            int end = Math.min(count, from + CHUNK);
+            users.addAll(transactionTemplate.execute(status -> {
+                Role userRole = roleRepository.findByName(ERole.ROLE_USER)
+                        .orElseThrow(() -> new IllegalStateException("ROLE_USER missing; roles are created on startup"));
+                List<User> batch = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    User user = new User();
+                    user.setFirstName("Load" + i);
+                    user.setLastName("Tester");
+                    user.setEmail("load" + i + "@cloudflix.test");
+                    user.setPassword(passwordHash);
+                    user.getRoles().add(userRole);
+                    batch.add(user);
+                }
+                return userRepository.saveAll(batch);
+            }));
+        }
+        return users;
+    }
+
+    private long[] seedVideos(int count, User uploader) {
+        VideoRepository videoRepository = context.getBean(VideoRepository.class);
+        long[] ids = new long[count];
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < count; from += CHUNK) {
+            int start = from;
+            int end = Math.min(count, from + CHUNK);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Video> batch = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    Video video = new Video("Load test video " + i, "Seeded for the load-test harness.",
+                            MEDIA_KEY, uploader, GENRES[i % GENRES.length]);
+                    video.setDurationSeconds(600 + i % 5400);
+                    video.setStatus("AVAILABLE");
+                    video.setUploadTimestamp(now.minusMinutes(i));
+                    batch.add(video);
+                }
+                List<Video> saved = videoRepository.saveAll(batch);
+                for (int i = 0; i < saved.size(); i++) {
+                    ids[start + i] = saved.get(i).getId();
+                }
+            });
+        }
+        return ids;
+    }
+
+    private void seedComments(long[] videoIds, List<User> users, int perVideo, SplittableRandom random) {
+        if (perVideo <= 0) {
+            return;
+        }
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+        VideoRepository videoRepository = context.getBean(VideoRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        int videosPerChunk = Math.max(1, CHUNK / perVideo);
+        for (int from = 0; from < videoIds.length; from += videosPerChunk) {
+            int start = from;
+            int end = Math.min(videoIds.length, from + videosPerChunk);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Comment> batch = new ArrayList<>();
+                for (int v = start; v < end; v++) {
+                    Video video = videoRepository.getReferenceById(videoIds[v]);
+                    for (int c = 0; c < perVideo; c++) {
+                        User author = userRepository.getReferenceById(users.get(random.nextInt(users.size())).getId());
+                        batch.add(new Comment(video, author, "Seeded comment " + c + " on video " + videoIds[v]));
+                    }
+                }
+                commentRepository.saveAll(batch);
+            });
+        }
+    }
+
+    // Random bytes so nothing along the way (compression, page dedupe) makes streaming artificially cheap
+    private static long writeSampleMedia(Path target, int sizeMb, long seed) throws IOException {
+        Files.createDirectories(target.getParent());
+        byte[] block = new byte[1024 * 1024];
+        SplittableRandom random = new SplittableRandom(seed);
+        try (OutputStream out = Files.newOutputStream(target)) {
+            for (int i = 0; i < Math.max(1, sizeMb); i++) {
+                for (int b = 0; b < block.length; b += 8) {
+                    long value = random.nextLong();
+                    for (int k = 0; k < 8; k++) {
+                        block[b + k] = (byte) (value >>> (k * 8));
+                    }
+                }
+                out.write(block);
+            }
+        }
+        return Files.size(target);
+    }
+}
@@ -0,0 +1,127 @@
+// src/main/java/com/cloudflix/benchmarks/load/Scenario.java
+package com.cloudflix.benchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+
+/** One kind of request in the load mix, roughly what a player UI does against the API. */
+enum Scenario {
+
+    BROWSE("browse") {
+        @Override
+        HttpRequest build(Target t) {
+            int page = t.random.nextInt(Math.max(1, t.videoCount / 20));
+            return t.get("/api/videos?page=" + page + "&size=20").build();
+        }
+    },
+    DETAIL("detail") {
+        @Override
+        HttpRequest build(Target t) {
+            return t.get("/api/videos/" + t.videoId).build();
+        }
+    },
+    STREAM("stream") {
+        @Override
+        HttpRequest build(Target t) {
+            // Bounded ranges, as issued by players buffering ahead chunk by chunk
+            long chunk = t.rangeChunkBytes;
+            long chunks = Math.max(1, t.mediaBytes / chunk);
+            long start = t.random.nextLong(chunks) * chunk;
+            long end = Math.min(start + chunk, t.mediaBytes) - 1;
+            return t.get("/api/videos/stream/" + t.videoId).header("Range", "bytes=" + start + "-" + end).build();
+        }
+    },
+    COMMENTS("comments") {
+        @Override
+        HttpRequest build(Target t) {
+            return t.get("/api/videos/" + t.videoId + "/comments?page=0&size=10&sort=createdAt,desc").build();
+        }
+    },
+    COMMENT_POST("comment-post") {
+        @Override
+        HttpRequest build(Target t) {
+            return t.json("POST", "/api/videos/" + t.videoId + "/comments",
+                    "{\"text\":\"Load test comment " + t.random.nextInt(1_000_000) + "\"}");
+        }
+    },
+    RATING_SUMMARY("rating-summary") {
+        @Override
+        HttpRequest build(Target t) {
+            return t.get("/api/videos/" + t.videoId + "/ratings/summary").build();
+        }
+    },
+    RATING_PUT("rating-put") {
+        @Override
+        HttpRequest build(Target t) {
+            return t.json("PUT", "/api/videos/" + t.videoId + "/ratings", "{\"ratingValue\":" + (1 + t.random.nextInt(5)) + "}");
+        }
+    },
+    HISTORY_PUT("history-put") {
+        @Override
+        HttpRequest build(Target t) {
+            return t.json("PUT", "/api/history/video/" + t.videoId,
+                    "{\"resumePositionSeconds\":" + t.random.nextInt(5400) + ",\"completed\":false}");
+        }
+    },
+    HISTORY_LIST("history-list") {
+        @Override
+        HttpRequest build(Target t) {
+            return t.get("/api/history/user?page=0&size=12&sort=watchedAt,desc").build();
+        }
+    };
+
+    final String label;
+
+    Scenario(String label) {
+        this.label = label;
+    }
+
+    abstract HttpRequest build(Target target);
+
+    static Scenario byName(String label) {
+        for (Scenario scenario : values()) {
+            if (scenario.label.equals(label)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario '" + label + "'");
+    }
+
+    /** Everything a scenario needs to build one request for one simulated user. */
+    static final class Target {
+        final String baseUrl;
+        final String bearerToken;
+        final long videoId;
+        final int videoCount;
+        final long mediaBytes;
+        final long rangeChunkBytes;
+        final SplittableRandom random;
+
+        Target(String baseUrl, String bearerToken, long videoId, int videoCount, long mediaBytes,
+               long rangeChunkBytes, SplittableRandom random) {
+            this.baseUrl = baseUrl;
+            this.bearerToken = bearerToken;
+            this.videoId = videoId;
+            this.videoCount = videoCount;
+            this.mediaBytes = mediaBytes;
+            this.rangeChunkBytes = rangeChunkBytes;
+            this.random = random;
+        }
+
+        HttpRequest.Builder get(String path) {
+            return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+        }
+
+        HttpRequest json(String method, String path, String body) {
+            return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body)))
+                    .build();
+        }
+
+        private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+            return builder.header("Authorization", "Bearer " + bearerToken);
+        }
+    }
+}
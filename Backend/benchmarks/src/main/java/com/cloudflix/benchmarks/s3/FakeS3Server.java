@@ -0,0 +1,182 @@
+// src/main/java/com/cloudflix/benchmarks/s3/FakeS3Server.java
+package com.cloudflix.benchmarks.s3;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Just enough of the S3 REST API (path-style PutObject and the multipart upload calls) to measure
+ * upload throughput without a real object store. Bodies are counted and discarded.
+ *
+ * Each request body is read no faster than bytesPerSecondPerConnection and every request waits
+ * requestLatencyMs first, which is what makes a single stream slow against real S3 and what
+ * parallel part uploads get around.
+ */
+final class FakeS3Server implements AutoCloseable {
+
+    private static final String XMLNS = "http://s3.amazonaws.com/doc/2006-03-01/";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fake-s3");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long bytesPerSecondPerConnection;
+    private final long requestLatencyMs;
+    // uploadId -> bytes received across its parts
+    private final Map<String, AtomicLong> uploads = new ConcurrentHashMap<>();
+    private final Map<String, Long> storedSizes = new ConcurrentHashMap<>();
+
+    FakeS3Server(long bytesPerSecondPerConnection, long requestLatencyMs) throws IOException {
+        this.bytesPerSecondPerConnection = bytesPerSecondPerConnection;
+        this.requestLatencyMs = requestLatencyMs;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    /** Size of the object stored under bucket/key, or -1 if there is none. */
+    long storedSize(String bucket, String key) {
+        return storedSizes.getOrDefault(bucket + "/" + key, -1L);
+    }
+
+    int openUploads() {
+        return uploads.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            sleep(requestLatencyMs);
+            String path = exchange.getRequestURI().getRawPath().substring(1);
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String method = exchange.getRequestMethod();
+            int slash = path.indexOf('/');
+            String bucket = slash < 0 ? path : path.substring(0, slash);
+            String key = slash < 0 ? "" : path.substring(slash + 1);
+
+            if (method.equals("POST") && query.containsKey("uploads")) {
+                String uploadId = UUID.randomUUID().toString();
+                uploads.put(uploadId, new AtomicLong());
+                xml(exchange, "<InitiateMultipartUploadResult xmlns=\"" + XMLNS + "\"><Bucket>" + bucket + "</Bucket><Key>" + key
+                        + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+            } else if (method.equals("PUT") && query.containsKey("uploadId")) {
+                AtomicLong received = uploads.get(query.get("uploadId"));
+                if (received == null) {
+                    error(exchange, 404, "NoSuchUpload");
+                    return;
+                }
+                received.addAndGet(payloadSize(exchange));
+                exchange.getResponseHeaders().set("ETag", "\"part-" + query.get("partNumber") + "\"");
+                exchange.sendResponseHeaders(200, -1);
+            } else if (method.equals("POST") && query.containsKey("uploadId")) {
+                drain(exchange.getRequestBody());
+                AtomicLong received = uploads.remove(query.get("uploadId"));
+                if (received == null) {
+                    error(exchange, 404, "NoSuchUpload");
+                    return;
+                }
+                storedSizes.put(bucket + "/" + key, received.get());
+                xml(exchange, "<CompleteMultipartUploadResult xmlns=\"" + XMLNS + "\"><Bucket>" + bucket + "</Bucket><Key>" + key
+                        + "</Key><ETag>\"multipart\"</ETag></CompleteMultipartUploadResult>");
+            } else if (method.equals("DELETE") && query.containsKey("uploadId")) {
+                uploads.remove(query.get("uploadId"));
+                exchange.sendResponseHeaders(204, -1);
+            } else if (method.equals("PUT") && !key.isEmpty()) {
+                storedSizes.put(bucket + "/" + key, payloadSize(exchange));
+                exchange.getResponseHeaders().set("ETag", "\"single\"");
+                exchange.sendResponseHeaders(200, -1);
+            } else {
+                error(exchange, 501, "NotImplemented");
+            }
+        }
+    }
+
+    // Over plain http the SDK signs the body in aws-chunked frames and declares the real payload size
+    // separately; the frames are still read (and throttled) but the declared size is what gets stored.
+    private long payloadSize(HttpExchange exchange) throws IOException {
+        long read = drain(exchange.getRequestBody());
+        String decoded = exchange.getRequestHeaders().getFirst("x-amz-decoded-content-length");
+        return decoded != null ? Long.parseLong(decoded) : read;
+    }
+
+    // Reads the whole body, throttled to the per-connection bandwidth
+    private long drain(InputStream body) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        long started = System.nanoTime();
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            total += read;
+            long dueNanos = total * 1_000_000_000L / bytesPerSecondPerConnection;
+            long aheadMs = (dueNanos - (System.nanoTime() - started)) / 1_000_000;
+            if (aheadMs > 0) {
+                sleep(aheadMs);
+            }
+        }
+        return total;
+    }
+
+    private static void xml(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void error(HttpExchange exchange, int status, String code) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>" + code + "</Code><Message>" + code
+                + "</Message></Error>").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                query.put(eq < 0 ? pair : pair.substring(0, eq), eq < 0 ? "" : pair.substring(eq + 1));
+            }
+        }
+        return query;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
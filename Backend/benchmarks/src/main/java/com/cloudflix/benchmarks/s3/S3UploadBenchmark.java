@@ -0,0 +1,117 @@
+// src/main/java/com/cloudflix/benchmarks/s3/S3UploadBenchmark.java
+package com.cloudflix.benchmarks.s3;
+
+import com.cloudflix.backend.service.storage.S3MultipartUploader;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Upload throughput of one large object: a single PutObject against S3MultipartUploader with
+ * different part sizes and concurrency levels.
+ *
+ * By default it runs against FakeS3Server, an in-process stand-in that caps bandwidth per connection
+ * (s3bench.connection-mbps, default 32 MB/s) and adds per-request latency (s3bench.latency-ms). Set
+ * s3bench.endpoint (plus s3bench.bucket, s3bench.access-key, s3bench.secret-key) to run against
+ * MinIO or another S3-compatible store instead; the bucket must exist.
+ *
+ *   mvn -P s3-upload-benchmark -pl benchmarks -am verify -Ds3bench.size-mb=256 -Ds3bench.concurrency=1,4,8
+ */
+public final class S3UploadBenchmark {
+
+    private static final long MB = 1024 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        int sizeMb = Integer.getInteger("s3bench.size-mb", 128);
+        List<Integer> partSizesMb = intList(System.getProperty("s3bench.part-size-mb", "8,16"));
+        List<Integer> concurrencies = intList(System.getProperty("s3bench.concurrency", "1,4,8"));
+        int repetitions = Integer.getInteger("s3bench.repetitions", 2);
+        String endpoint = System.getProperty("s3bench.endpoint");
+        String bucket = System.getProperty("s3bench.bucket", "cloudflix-bench");
+
+        FakeS3Server fake = null;
+        URI endpointUri;
+        if (endpoint == null || endpoint.isBlank()) {
+            fake = new FakeS3Server(Integer.getInteger("s3bench.connection-mbps", 32) * MB, Long.getLong("s3bench.latency-ms", 20L));
+            endpointUri = fake.endpoint();
+            System.out.printf("Using in-process S3 stand-in at %s (%d MB/s per connection, %d ms per request)%n", endpointUri,
+                    Integer.getInteger("s3bench.connection-mbps", 32), Long.getLong("s3bench.latency-ms", 20L));
+        } else {
+            endpointUri = URI.create(endpoint);
+            System.out.println("Using S3-compatible endpoint " + endpointUri + ", bucket " + bucket);
+        }
+
+        byte[] payload = new byte[(int) (sizeMb * MB)];
+        new Random(42).nextBytes(payload);
+
+        try (S3Client client = S3Client.builder()
+                .endpointOverride(endpointUri)
+                .region(Region.US_EAST_1)
+                .forcePathStyle(true)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(
+                        System.getProperty("s3bench.access-key", "bench"), System.getProperty("s3bench.secret-key", "bench-secret"))))
+                // The stand-in does not return MD5 ETags
+                .serviceConfiguration(S3Configuration.builder().checksumValidationEnabled(fake == null).build())
+                .build()) {
+
+            System.out.printf("%-28s %10s %10s%n", "upload of " + sizeMb + " MB", "best s", "MB/s");
+            report("single PutObject", sizeMb, repetitions, () -> client.putObject(
+                    PutObjectRequest.builder().bucket(bucket).key("bench/single").build(),
+                    RequestBody.fromInputStream(new ByteArrayInputStream(payload), payload.length)));
+
+            for (int partSizeMb : partSizesMb) {
+                for (int concurrency : concurrencies) {
+                    S3MultipartUploader uploader = new S3MultipartUploader(() -> client, bucket, partSizeMb * MB, concurrency, 3);
+                    String key = "bench/multipart-" + partSizeMb + "-" + concurrency;
+                    try {
+                        report("multipart " + partSizeMb + " MB x " + concurrency, sizeMb, repetitions,
+                                () -> uploader.upload(key, new ByteArrayInputStream(payload), payload.length, "video/mp4"));
+                    } finally {
+                        uploader.shutdown();
+                    }
+                    if (fake != null && fake.storedSize(bucket, key) != payload.length) {
+                        throw new IllegalStateException(key + ": stand-in stored " + fake.storedSize(bucket, key) + " bytes, expected " + payload.length);
+                    }
+                }
+            }
+        } finally {
+            if (fake != null) {
+                fake.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Upload {
+        void run() throws Exception;
+    }
+
+    private static void report(String label, int sizeMb, int repetitions, Upload upload) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < repetitions; i++) {
+            long started = System.nanoTime();
+            upload.run();
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        double seconds = best / 1e9;
+        System.out.printf("%-28s %10.2f %10.1f%n", label, seconds, sizeMb / seconds);
+    }
+
+    private static List<Integer> intList(String spec) {
+        List<Integer> values = new ArrayList<>();
+        for (String value : spec.split(",")) {
+            values.add(Integer.parseInt(value.trim()));
+        }
+        return values;
+    }
+}
@@ -41,7 +41,7 @@ const GenrePage = () => {
 
     try {
       // *** CRITICAL CHANGE: Use getVideosByGenre ***
-      const response = await VideoService.getVideosByGenre(genreApiName, pageNum, 24); // Fetch 24 per page
+      const response = await VideoService.getVideosByGenre(genreApiName, pageNum, 24, 'card'); // Fetch 24 per page
 
       if (pageNum === 0) {
         setVideos(response.data.content);
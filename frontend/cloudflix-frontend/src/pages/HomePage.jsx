@@ -9,6 +9,9 @@ import BannerSkeleton from '../components/skeletons/BannerSkeleton';
 import VideoRowSkeleton from '../components/skeletons/VideoRowSkeleton';
 import { PREDEFINED_GENRE_ROWS, slugify } from '../config/genres'; // Ensure slugify is here or imported correctly
 
+// The rows are fetched as cards (no description), so the banner's video is fetched again with these
+const BANNER_FIELDS = 'id,title,description,thumbnailUrl';
+
 const HomePage = () => {
   const { currentUser } = useAuth();
   const [featuredVideo, setFeaturedVideo] = useState(null);
@@ -27,7 +30,7 @@ const HomePage = () => {
           try {
             // Use getVideosByGenre and use rowConfig.tag AS THE GENRE NAME
             // Assuming rowConfig.tag stores the actual genre name like "Hollywood", "SciFi"
-            const videosResponse = await VideoService.getVideosByGenre(rowConfig.tag, 0, 10);
+            const videosResponse = await VideoService.getVideosByGenre(rowConfig.tag, 0, 10, 'card');
             return {
               title: rowConfig.title,
               videos: videosResponse.data.content,
@@ -48,7 +51,14 @@ const HomePage = () => {
         // Determine featured video from the first populated row among all fetched
         const firstPopulatedRow = fetchedRows.find(row => row.videos && row.videos.length > 0);
         if (firstPopulatedRow && firstPopulatedRow.videos.length > 0) {
-          setFeaturedVideo(firstPopulatedRow.videos[0]);
+          // Not getVideoById: that endpoint counts a view
+          try {
+            const featuredResponse = await VideoService.getVideosByGenre(firstPopulatedRow.genreName, 0, 1, undefined, BANNER_FIELDS);
+            setFeaturedVideo(featuredResponse.data.content?.[0] || firstPopulatedRow.videos[0]);
+          } catch (featuredError) {
+            console.error("Error fetching featured video details:", featuredError);
+            setFeaturedVideo(firstPopulatedRow.videos[0]);
+          }
         } else {
           // Fallback if no predefined rows have videos
           try {
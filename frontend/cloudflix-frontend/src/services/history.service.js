@@ -28,6 +28,18 @@ const getUserWatchHistory = (page = 0, size = 12, sort = 'watchedAt,desc') => {
   });
 };
 
+/**
+ * Fetches the "continue watching" rail: unfinished videos, most recently watched first,
+ * each with the video card fields and resume position.
+ * @param {number} [limit=10] - Maximum number of entries (at most the server's rail size).
+ * @returns {Promise<AxiosResponse<any>>}
+ */
+const getContinueWatching = (limit = 10) => {
+  return apiClient.get(`${API_HISTORY_URL}/continue-watching`, {
+    params: { limit }
+  });
+};
+
 /**
  * Fetches the watch progress (resume time, completed status) for a specific video.
  * @param {string|number} videoId - The ID of the video.
@@ -67,6 +79,7 @@ const clearUserWatchHistory = () => {
 const HistoryService = {
   recordOrUpdateProgress,
   getUserWatchHistory,
+  getContinueWatching,
   getWatchProgressForVideo,
   markVideoAsCompleted,       // Optional, include if you built this endpoint
   deleteWatchHistoryEntry,  // Optional
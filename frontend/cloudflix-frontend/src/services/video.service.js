@@ -21,17 +21,21 @@ const getVideoById = (videoId) => {
   return apiClient.get(`${API_VIDEO_URL}/${videoId}`);
 };
 
+// Listings take an optional view: 'card' returns only what a VideoCard shows (id, title, thumbnailUrl,
+// durationSeconds, genre) and skips the description column; leave it out for full VideoResponse objects.
+// getVideosByGenre also takes fields, a comma-separated list of VideoResponse properties, instead of a view.
+
 // Fetch videos by genre (paginated)
-const getVideosByGenre = (genreName, page = 0, size = 20) => {
+const getVideosByGenre = (genreName, page = 0, size = 20, view, fields) => {
   return apiClient.get(`${API_VIDEO_URL}/genre/${genreName}`, {
-    params: { page, size }
+    params: { page, size, view, fields }
   });
 };
 
 // Fetch videos by tag (paginated)
-const getVideosByTag = (tagName, page = 0, size = 20) => {
+const getVideosByTag = (tagName, page = 0, size = 20, view) => {
   return apiClient.get(`${API_VIDEO_URL}/tag/${tagName}`, {
-    params: { page, size }
+    params: { page, size, view }
   });
 };
 
@@ -41,9 +45,23 @@ const getDistinctGenres = () => {
 };
 
 // Search videos by title (paginated)
-const searchVideosByTitle = (title, page = 0, size = 20) => {
+const searchVideosByTitle = (title, page = 0, size = 20, view) => {
   return apiClient.get(`${API_VIDEO_URL}/search`, {
-    params: { title, page, size }
+    params: { title, page, size, view }
+  });
+};
+
+// "More like this": videos watched or rated highly by the same users, best match first (card fields + score)
+const getSimilarVideos = (videoId, limit = 10) => {
+  return apiClient.get(`${API_VIDEO_URL}/${videoId}/similar`, {
+    params: { limit }
+  });
+};
+
+// Most active videos right now (views, progress, ratings, comments), overall or within one genre
+const getTrendingVideos = (genre, limit = 20) => {
+  return apiClient.get(`${API_VIDEO_URL}/trending`, {
+    params: genre ? { genre, limit } : { limit }
   });
 };
 
@@ -119,6 +137,8 @@ const VideoService = {
   getVideosByTag,
   getDistinctGenres,
   searchVideosByTitle,
+  getSimilarVideos,
+  getTrendingVideos,
   uploadVideoWithMetadata,
   getSecureStreamUrl,
 